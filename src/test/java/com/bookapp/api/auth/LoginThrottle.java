@@ -0,0 +1,41 @@
+package com.bookapp.api.auth;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces out calls to the bcrypt-backed /signup and /login endpoints. Each caller
+ * is handed the next free slot on a fixed-interval timeline, plus a little jitter,
+ * and sleeps until it arrives, so a burst of logins becomes a steady trickle.
+ */
+public class LoginThrottle {
+
+    private final long intervalNanos;
+    private final long jitterNanos;
+    private long nextSlotNanos;
+
+    public LoginThrottle(double callsPerSecond) {
+        if (callsPerSecond <= 0) {
+            throw new IllegalArgumentException("callsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / callsPerSecond);
+        this.jitterNanos = intervalNanos / 4;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    public void acquire() {
+        long slot;
+        synchronized (this) {
+            slot = Math.max(System.nanoTime(), nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+        }
+        if (jitterNanos > 0) {
+            slot += ThreadLocalRandom.current().nextLong(jitterNanos);
+        }
+        long remaining;
+        while ((remaining = slot - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
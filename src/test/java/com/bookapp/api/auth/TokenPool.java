@@ -0,0 +1,278 @@
+package com.bookapp.api.auth;
+
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.api.utility.TransientFailures;
+import com.bookapp.model.user.User;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool of signed-up users, each holding its own JWT.
+ * <p>
+ * Sessions are created up front and refreshed in the background well before the
+ * server-side expiry (30 minutes for the book service), with refresh times
+ * staggered so they never line up. All /signup and /login traffic goes through a
+ * {@link LoginThrottle}, which keeps the bcrypt cost out of request latencies
+ * and off the server's critical path. A request that still hits an expired token
+ * (clock skew, a refresh that kept failing, a laptop resumed from sleep) can call
+ * {@link #reauthenticate} to log in again on the spot.
+ */
+public class TokenPool implements AutoCloseable {
+
+    private static final int SIGNUP_ATTEMPTS = 3;
+
+    /** One pooled identity. The token is replaced in place on refresh. */
+    public static class Session {
+        private final User user;
+        private volatile String token;
+        private volatile long expiresAtMillis;
+        private ScheduledFuture<?> pendingRefresh;
+
+        Session(User user) {
+            this.user = user;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+
+    private final BookApiServiceHelper bookApiServiceHelper;
+    private final Supplier<User> userSupplier;
+    private final int size;
+    private final Duration tokenTtl;
+    private final Duration refreshMargin;
+    private final LoginThrottle loginThrottle;
+    private final List<Session> sessions = new ArrayList<>();
+    private final AtomicInteger nextSession = new AtomicInteger();
+    private final ThreadLocal<Session> threadSession = new ThreadLocal<>();
+    private final ScheduledExecutorService refresher;
+    private final LongAdder scheduledRefreshes = new LongAdder();
+    private final LongAdder reauthentications = new LongAdder();
+
+    public TokenPool(BookApiServiceHelper bookApiServiceHelper, Supplier<User> userSupplier, int size,
+                     Duration tokenTtl, Duration refreshMargin, double loginsPerSecond) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Token pool size must be positive");
+        }
+        if (refreshMargin.compareTo(tokenTtl) >= 0) {
+            throw new IllegalArgumentException("Refresh margin must be shorter than the token lifetime");
+        }
+        this.bookApiServiceHelper = bookApiServiceHelper;
+        this.userSupplier = userSupplier;
+        this.size = size;
+        this.tokenTtl = tokenTtl;
+        this.refreshMargin = refreshMargin;
+        this.loginThrottle = new LoginThrottle(loginsPerSecond);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-pool-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static TokenPool fromConfig(BookApiServiceHelper bookApiServiceHelper, Supplier<User> userSupplier) {
+        return new TokenPool(bookApiServiceHelper, userSupplier,
+                ConfigLoader.getIntegerProperty("auth.pool.size", 10),
+                Duration.ofMinutes(ConfigLoader.getLongProperty("auth.token.ttl.minutes", 30)),
+                Duration.ofMinutes(ConfigLoader.getLongProperty("auth.token.refresh.margin.minutes", 5)),
+                ConfigLoader.getDoubleProperty("auth.login.rate", 5));
+    }
+
+    /** Signs up and logs in every pooled user. Blocks until the pool is full. */
+    public TokenPool initialize() {
+        System.out.println("Token pool: signing up and logging in " + size + " users...");
+        for (int i = 0; i < size; i++) {
+            Session session = new Session(signup());
+            refresh(session);
+            sessions.add(session);
+        }
+        System.out.println("Token pool ready with " + sessions.size() + " sessions.");
+        return this;
+    }
+
+    public List<Session> getSessions() {
+        return Collections.unmodifiableList(sessions);
+    }
+
+    /** Hands out sessions round-robin, for callers that manage their own binding. */
+    public Session next() {
+        if (sessions.isEmpty()) {
+            throw new IllegalStateException("Token pool is empty. Call initialize() first.");
+        }
+        return sessions.get(Math.floorMod(nextSession.getAndIncrement(), sessions.size()));
+    }
+
+    /**
+     * Gives the calling thread a sticky session and binds its token in
+     * {@link RequestHelper}. Subsequent calls on the same thread reuse it, picking
+     * up any token the background refresher has rotated in since.
+     */
+    public Session bindToCurrentThread() {
+        Session session = threadSession.get();
+        if (session == null) {
+            session = next();
+            threadSession.set(session);
+        }
+        RequestHelper.bindAccessToken(session.getToken());
+        return session;
+    }
+
+    public void unbindFromCurrentThread() {
+        threadSession.remove();
+        RequestHelper.unbindAccessToken();
+    }
+
+    /**
+     * Runs {@code call} on the calling thread with the session's token bound. If the
+     * service rejects the token (403), the session logs in again and the call is
+     * retried once with the new token.
+     */
+    public <T> T callAs(Session session, Supplier<T> call) {
+        String token = session.getToken();
+        RequestHelper.bindAccessToken(token);
+        try {
+            return call.get();
+        } catch (AssertionError e) {
+            if (TransientFailures.statusOf(e) != 403) {
+                throw e;
+            }
+            RequestHelper.bindAccessToken(reauthenticate(session, token));
+            return call.get();
+        } finally {
+            RequestHelper.unbindAccessToken();
+        }
+    }
+
+    /**
+     * Logs the session in again after a request was rejected with {@code staleToken}.
+     * Concurrent callers holding the same stale token share one login; a caller whose
+     * token has already been replaced just gets the current one.
+     *
+     * @return the token to retry with
+     */
+    public String reauthenticate(Session session, String staleToken) {
+        synchronized (session) {
+            if (staleToken != null && !staleToken.equals(session.token)) {
+                return session.token;
+            }
+            refresh(session);
+            reauthentications.increment();
+            System.out.println("Token pool: re-authenticated " + session.getUser().getEmail() + " after a rejected token");
+            return session.token;
+        }
+    }
+
+    /** Background refreshes completed ahead of expiry. */
+    public long getScheduledRefreshes() {
+        return scheduledRefreshes.sum();
+    }
+
+    /** Logins forced by a rejected token, see {@link #reauthenticate}. */
+    public long getReauthentications() {
+        return reauthentications.sum();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private User signup() {
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= SIGNUP_ATTEMPTS; attempt++) {
+            User user = userSupplier.get();
+            loginThrottle.acquire();
+            try {
+                bookApiServiceHelper.signupUser(user);
+                return user;
+            } catch (AssertionError | RuntimeException e) {
+                // Usually "Email already registered"; try again with a fresh user
+                lastFailure = new IllegalStateException("Signup failed for " + user.getEmail() + ": " + e.getMessage(), e);
+            }
+        }
+        throw lastFailure;
+    }
+
+    private void refresh(Session session) {
+        loginThrottle.acquire();
+        String token = bookApiServiceHelper.login(session.getUser()).getAccessToken();
+        synchronized (session) {
+            session.token = token;
+            session.expiresAtMillis = expiryOf(token);
+            scheduleRefresh(session);
+        }
+    }
+
+    private void scheduleRefresh(Session session) {
+        long lifetimeMillis = session.expiresAtMillis - System.currentTimeMillis();
+        long marginMillis = refreshMargin.toMillis();
+        // Stagger within the margin so sessions created together don't all refresh together
+        long delayMillis = Math.max(0, lifetimeMillis - marginMillis + ThreadLocalRandom.current().nextLong(marginMillis / 2 + 1));
+        scheduleRefresh(session, delayMillis);
+    }
+
+    // Replaces any refresh already pending for the session, so forced logins don't pile up extra refresh chains
+    private void scheduleRefresh(Session session, long delayMillis) {
+        if (refresher.isShutdown()) {
+            return;
+        }
+        synchronized (session) {
+            if (session.pendingRefresh != null) {
+                session.pendingRefresh.cancel(false);
+            }
+            session.pendingRefresh = refresher.schedule(() -> refreshScheduled(session), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshScheduled(Session session) {
+        try {
+            refresh(session);
+            scheduledRefreshes.increment();
+        } catch (AssertionError | RuntimeException e) {
+            System.err.println("Token pool: refresh failed for " + session.getUser().getEmail() + ", retrying: " + e.getMessage());
+            scheduleRefresh(session, TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Reads the exp claim from the token, falling back to the configured lifetime
+    private long expiryOf(String token) {
+        long fallback = System.currentTimeMillis() + tokenTtl.toMillis();
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return fallback;
+        }
+        try {
+            JsonNode claims = SharedObjectMapper.get().readTree(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+            JsonNode exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong() ? TimeUnit.SECONDS.toMillis(exp.asLong()) : fallback;
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+}
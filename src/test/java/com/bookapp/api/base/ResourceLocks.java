@@ -0,0 +1,17 @@
+package com.bookapp.api.base;
+
+/**
+ * Shared resource keys for JUnit {@code @ResourceLock} when tests run in parallel.
+ */
+public final class ResourceLocks {
+
+    /**
+     * Book IDs. SQLite hands the highest deleted rowid to the next insert, so a
+     * test that deletes a book and then expects 404 for its ID must not overlap
+     * with tests that create books. Creators take READ, delete verifiers READ_WRITE.
+     */
+    public static final String BOOK_IDS = "book-service.book-ids";
+
+    private ResourceLocks() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookapp.api.base;
+
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.model.user.User;
+import lombok.Getter;
+
+/**
+ * One signed-up, logged-in user for a whole test class. Signup and login each cost
+ * the service a bcrypt hash, so a class sets this up once in {@code @BeforeAll}
+ * rather than per test.
+ */
+@Getter
+public class SharedTestUser {
+
+    private final BookApiFactory bookApiFactory;
+    private final User user;
+    private volatile String accessToken;
+
+    private SharedTestUser(BookApiFactory bookApiFactory, User user) {
+        this.bookApiFactory = bookApiFactory;
+        this.user = user;
+    }
+
+    /** Signs up a unique user and logs it in; the token becomes the default for threads that have not bound their own. */
+    public static SharedTestUser signUp() {
+        BookApiFactory bookApiFactory = new BookApiFactory();
+        SharedTestUser sharedUser = new SharedTestUser(bookApiFactory, bookApiFactory.signupUniqueUser());
+        sharedUser.login();
+        return sharedUser;
+    }
+
+    /** Logs in again, e.g. once a long run has outlived the token, and returns the new token. */
+    public String login() {
+        accessToken = bookApiFactory.loginAndGetToken(user);
+        return accessToken;
+    }
+
+    /** For tests that may run on any worker thread of a parallel run. */
+    public void bindToCurrentThread() {
+        RequestHelper.bindAccessToken(accessToken);
+    }
+
+    public void cleanup() {
+        bookApiFactory.cleanupUser(user);
+    }
+}
@@ -1,31 +1,30 @@
 package com.bookapp.api.base;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bookapp.api.logging.ExchangeLogExtension;
+import com.bookapp.api.utility.HttpConnectionPool;
+import com.bookapp.api.utility.SharedObjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.parsing.Parser;
-import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.awaitility.Awaitility; // Import Awaitility
 import java.time.Duration; // Import Duration
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+@ExtendWith(ExchangeLogExtension.class)
 public abstract class TestBaseSimplified {
 
     static {
         RestAssured.defaultParser = Parser.JSON;
 
         RestAssured.config = RestAssuredConfig.config()
+                .httpClient(HttpConnectionPool.httpClientConfig())
                 .objectMapperConfig(new ObjectMapperConfig().jackson2ObjectMapperFactory(
-                        (cls, charset) -> {
-                            ObjectMapper om = new DefaultJackson2ObjectMapperFactory().create(cls, charset);
-                            om.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                            return om;
-                        }
+                        (cls, charset) -> SharedObjectMapper.get()
                 ));
         Awaitility.setDefaultPollDelay(100, MILLISECONDS);
         Awaitility.setDefaultPollInterval(1, SECONDS);
@@ -0,0 +1,55 @@
+package com.bookapp.api.capacity;
+
+/**
+ * A concurrency limit that can move while calls are in flight. Lowering it never
+ * interrupts a call; new calls simply wait until the in-flight count drops below
+ * the new limit.
+ */
+class AdaptiveLimit {
+
+    private int limit;
+    private int inFlight;
+    private long inFlightIntegral;
+    private long lastChangeNanos = System.nanoTime();
+
+    AdaptiveLimit(int initialLimit) {
+        this.limit = initialLimit;
+    }
+
+    synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        accumulate();
+        inFlight++;
+    }
+
+    synchronized void release() {
+        accumulate();
+        inFlight--;
+        notifyAll();
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    synchronized void setLimit(int limit) {
+        this.limit = limit;
+        notifyAll();
+    }
+
+    /** Time-weighted mean in-flight count since the previous call. */
+    synchronized double takeMeanInFlight(long windowNanos) {
+        accumulate();
+        double mean = windowNanos > 0 ? (double) inFlightIntegral / windowNanos : inFlight;
+        inFlightIntegral = 0;
+        return mean;
+    }
+
+    private void accumulate() {
+        long now = System.nanoTime();
+        inFlightIntegral += inFlight * (now - lastChangeNanos);
+        lastChangeNanos = now;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bookapp.api.capacity;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.BookOperation;
+import com.bookapp.api.load.BookOperationRunner;
+import com.bookapp.api.load.OperationMix;
+import com.bookapp.api.load.VirtualThreads;
+import com.bookapp.model.book.Book;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Finds the book service's maximum sustainable throughput by letting the client's
+ * concurrency adapt instead of fixing an arrival rate.
+ * <p>
+ * A closed loop of {@code capacity.max.limit} workers issues the operation mix, but
+ * only {@link AdaptiveLimit} calls may be in flight at once. After each window
+ * the limit moves AIMD style: up (doubling during slow start, then additively)
+ * while the window's p99 and error rate stay within the SLO, and multiplied down
+ * when they do not. The limit ends up oscillating around the concurrency where
+ * latency starts to climb, and the best throughput seen within the SLO is the knee.
+ * <p>
+ * Being a closed loop, the service is never offered more than it can take, so the
+ * latencies are service times at the current concurrency; use the open-model
+ * {@link com.bookapp.api.load.LoadEngine} to check behaviour beyond the knee.
+ */
+public class CapacityFinder {
+
+    // A window is stretched until it has enough samples, but never beyond this many configured windows
+    private static final int MAX_WINDOW_STRETCH = 5;
+
+    private final BookOperationRunner operations;
+    private final CapacitySettings settings;
+    private TokenPool tokenPool;
+    private volatile boolean running;
+
+    public CapacityFinder(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloadSupplier, CapacitySettings settings) {
+        this.operations = new BookOperationRunner(bookApiServiceHelper, payloadSupplier);
+        this.settings = settings;
+    }
+
+    public CapacityFinder withTokenPool(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+        return this;
+    }
+
+    public CapacityReport run(OperationMix mix) {
+        System.out.println("Starting capacity search: " + settings.describe() + ", mix " + mix);
+        Recorder latencies = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        ExecutorService workers = VirtualThreads.newExecutor("capacity", settings.getMaxLimit());
+        AdaptiveLimit limit = new AdaptiveLimit(settings.getInitialLimit());
+        long start = System.nanoTime();
+        running = true;
+        for (int i = 0; i < settings.getMaxLimit(); i++) {
+            TokenPool.Session session = tokenPool != null ? tokenPool.next() : null;
+            workers.execute(() -> work(mix, limit, latencies, errors, session));
+        }
+
+        List<CapacityWindow> windows = new ArrayList<>();
+        long end = start + settings.getDuration().toNanos();
+        long windowNanos = settings.getWindow().toNanos();
+        boolean slowStart = settings.isSlowStart();
+        Histogram window = new Histogram(3);
+        long windowErrors = 0;
+        long windowStart = start;
+        try {
+            while (System.nanoTime() < end) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(windowNanos, end - System.nanoTime()));
+                window.add(latencies.getIntervalHistogram());
+                windowErrors += errors.sumThenReset();
+                long now = System.nanoTime();
+                boolean enoughSamples = window.getTotalCount() >= settings.getMinSamplesPerWindow();
+                if (!enoughSamples && now - windowStart < MAX_WINDOW_STRETCH * windowNanos && now < end) {
+                    continue;
+                }
+
+                int current = limit.getLimit();
+                Boolean meetsSlo = null;
+                int next = current;
+                if (enoughSamples) {
+                    meetsSlo = window.getValueAtPercentile(99) / 1000.0 <= settings.getSloP99Millis()
+                            && (double) windowErrors / window.getTotalCount() <= settings.getMaxErrorRate();
+                    if (meetsSlo) {
+                        next = Math.min(settings.getMaxLimit(), slowStart ? current * 2 : current + settings.getAdditiveIncrease());
+                    } else {
+                        slowStart = false;
+                        next = Math.max(settings.getMinLimit(), (int) (current * settings.getDecreaseFactor()));
+                    }
+                }
+                double seconds = (now - windowStart) / 1e9;
+                CapacityWindow sample = new CapacityWindow((now - start) / 1e9, current, limit.takeMeanInFlight(now - windowStart),
+                        window.getTotalCount(), windowErrors, window.getTotalCount() / seconds,
+                        window.getValueAtPercentile(50) / 1000.0, window.getValueAtPercentile(99) / 1000.0, meetsSlo, next);
+                windows.add(sample);
+                System.out.println("Capacity: " + sample.format());
+                limit.setLimit(next);
+                window.reset();
+                windowErrors = 0;
+                windowStart = now;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            limit.setLimit(settings.getMaxLimit()); // wakes waiting workers so they see the run is over
+            workers.shutdown();
+            try {
+                if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+                    System.err.println("Capacity search: in-flight requests did not drain within 60s");
+                    workers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new CapacityReport(settings, mix, windows);
+    }
+
+    /** Deletes every book the search created and still holds. Returns how many were removed. */
+    public int cleanup() {
+        return operations.cleanup();
+    }
+
+    private void work(OperationMix mix, AdaptiveLimit limit, Recorder latencies, LongAdder errors, TokenPool.Session session) {
+        while (running) {
+            try {
+                limit.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!running) {
+                limit.release();
+                return;
+            }
+            BookOperation operation = mix.next();
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                if (session != null) {
+                    tokenPool.callAs(session, () -> operations.execute(operation));
+                } else {
+                    operations.execute(operation);
+                }
+                success = true;
+            } catch (AssertionError | RuntimeException e) {
+                // Status mismatches surface as AssertionError from logAndExtractResponse
+            } finally {
+                limit.release();
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                if (!success) {
+                    errors.increment();
+                }
+            }
+        }
+    }
+}
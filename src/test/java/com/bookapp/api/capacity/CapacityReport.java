@@ -0,0 +1,92 @@
+package com.bookapp.api.capacity;
+
+import com.bookapp.api.load.OperationMix;
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a {@link CapacityFinder} run. The knee is the window with the highest
+ * throughput that still met the SLO; the steady state averages the windows that met
+ * it once the limit first had to back off, i.e. while it was oscillating around the knee.
+ */
+@Getter
+@AllArgsConstructor
+public class CapacityReport {
+
+    private final CapacitySettings settings;
+    private final OperationMix mix;
+    private final List<CapacityWindow> windows;
+
+    public Optional<CapacityWindow> getKnee() {
+        return windows.stream()
+                .filter(window -> Boolean.TRUE.equals(window.getMeetsSlo()))
+                .max(Comparator.comparingDouble(CapacityWindow::getThroughput));
+    }
+
+    /** The limit of the first window that missed the SLO, if the search got that far. */
+    public Optional<Integer> getFirstMissLimit() {
+        return windows.stream().filter(window -> Boolean.FALSE.equals(window.getMeetsSlo()))
+                .map(CapacityWindow::getLimit).findFirst();
+    }
+
+    public double getSteadyStateThroughput() {
+        int firstMiss = windows.indexOf(windows.stream()
+                .filter(window -> Boolean.FALSE.equals(window.getMeetsSlo())).findFirst().orElse(null));
+        List<CapacityWindow> settled = (firstMiss < 0 ? windows : windows.subList(firstMiss, windows.size())).stream()
+                .filter(window -> Boolean.TRUE.equals(window.getMeetsSlo()))
+                .collect(Collectors.toList());
+        return settled.stream().mapToDouble(CapacityWindow::getThroughput).average().orElse(0);
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Capacity search: %s%nMix: %s%n", settings.describe(), mix));
+        Optional<CapacityWindow> knee = getKnee();
+        if (knee.isPresent()) {
+            CapacityWindow best = knee.get();
+            sb.append(String.format("Knee: %.1f req/s at concurrency %d (p99 %.1f ms, p50 %.1f ms, errors %.2f%%)%n",
+                    best.getThroughput(), best.getLimit(), best.getP99Millis(), best.getP50Millis(), best.getErrorRate() * 100));
+        } else {
+            sb.append(String.format("Knee: none, no window met the p99 SLO of %.0f ms%n", settings.getSloP99Millis()));
+        }
+        sb.append(String.format("Steady state within SLO: %.1f req/s; SLO first missed at concurrency %s%n",
+                getSteadyStateThroughput(), getFirstMissLimit().map(String::valueOf)
+                        .orElse("- (never; raise capacity.max.limit or the run length)")));
+        for (CapacityWindow window : windows) {
+            sb.append(window.format()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(CapacityWindow.CSV_HEADER).append('\n');
+        windows.forEach(window -> sb.append(window.toCsv()).append('\n'));
+        return sb.toString();
+    }
+
+    public void writeCsv(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, toCsv());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write capacity windows to " + file, e);
+        }
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Capacity search", "text/plain", format());
+        Allure.addAttachment("Capacity windows", "text/csv", toCsv(), ".csv");
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookapp.api.capacity;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Tuning for a {@link CapacityFinder}, read from the capacity.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class CapacitySettings {
+
+    // A window meets the SLO when its p99 is at most this and its error rate at most maxErrorRate
+    private final double sloP99Millis;
+    private final double maxErrorRate;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    // Added to the limit after each window that meets the SLO
+    private final int additiveIncrease;
+    // The limit is multiplied by this after each window that misses it
+    private final double decreaseFactor;
+    // Double the limit per window until the first miss, then switch to additive increase
+    private final boolean slowStart;
+    private final Duration window;
+    // Windows with fewer completed calls are too noisy for a p99 and do not move the limit
+    private final int minSamplesPerWindow;
+    private final Duration duration;
+
+    public static CapacitySettings fromConfig() {
+        CapacitySettings settings = new CapacitySettings(
+                ConfigLoader.getDoubleProperty("capacity.slo.p99.ms", 500),
+                ConfigLoader.getDoubleProperty("capacity.max.error.rate", 0.01),
+                ConfigLoader.getIntegerProperty("capacity.initial.limit", 4),
+                ConfigLoader.getIntegerProperty("capacity.min.limit", 1),
+                ConfigLoader.getIntegerProperty("capacity.max.limit", 256),
+                ConfigLoader.getIntegerProperty("capacity.additive.increase", 2),
+                ConfigLoader.getDoubleProperty("capacity.decrease.factor", 0.7),
+                ConfigLoader.getBooleanProperty("capacity.slow.start", true),
+                Duration.ofMillis(ConfigLoader.getLongProperty("capacity.window.ms", 2000)),
+                ConfigLoader.getIntegerProperty("capacity.min.samples.per.window", 100),
+                Duration.ofSeconds(ConfigLoader.getLongProperty("capacity.duration.seconds", 120)));
+        if (settings.minLimit < 1 || settings.initialLimit < settings.minLimit || settings.maxLimit < settings.initialLimit) {
+            throw new RuntimeException("capacity limits must satisfy 1 <= min <= initial <= max, were "
+                    + settings.minLimit + " / " + settings.initialLimit + " / " + settings.maxLimit);
+        }
+        if (settings.decreaseFactor <= 0 || settings.decreaseFactor >= 1) {
+            throw new RuntimeException("Property 'capacity.decrease.factor' must be between 0 and 1, was " + settings.decreaseFactor);
+        }
+        return settings;
+    }
+
+    public String describe() {
+        return String.format("p99 SLO %.0f ms, error budget %.1f%%, limit %d..%d (start %d%s), +%d / x%.2f per %d ms window",
+                sloP99Millis, maxErrorRate * 100, minLimit, maxLimit, initialLimit, slowStart ? ", slow start" : "",
+                additiveIncrease, decreaseFactor, window.toMillis());
+    }
+}
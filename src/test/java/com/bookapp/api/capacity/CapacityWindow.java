@@ -0,0 +1,45 @@
+package com.bookapp.api.capacity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * One measurement window of a {@link CapacityFinder} run and what the limit did
+ * afterwards.
+ */
+@Getter
+@AllArgsConstructor
+public class CapacityWindow {
+
+    static final String CSV_HEADER = "elapsed_s,limit,mean_in_flight,completed,errors,throughput_per_s,p50_ms,p99_ms,"
+            + "meets_slo,next_limit";
+
+    private final double elapsedSeconds;
+    private final int limit;
+    private final double meanInFlight;
+    private final long completed;
+    private final long errors;
+    private final double throughput;
+    private final double p50Millis;
+    private final double p99Millis;
+    // Null when the window had too few samples to judge
+    private final Boolean meetsSlo;
+    private final int nextLimit;
+
+    public double getErrorRate() {
+        return completed == 0 ? 0 : (double) errors / completed;
+    }
+
+    String format() {
+        return String.format("%7.1fs  limit %4d  in flight %6.1f  %8.1f req/s  p50 %8.1f ms  p99 %8.1f ms  errors %5.2f%%  %s -> %d",
+                elapsedSeconds, limit, meanInFlight, throughput, p50Millis, p99Millis, getErrorRate() * 100,
+                meetsSlo == null ? "too few samples" : meetsSlo ? "within SLO" : "SLO missed", nextLimit);
+    }
+
+    String toCsv() {
+        return String.format(Locale.ROOT, "%.1f,%d,%.2f,%d,%d,%.2f,%.3f,%.3f,%s,%d", elapsedSeconds, limit, meanInFlight,
+                completed, errors, throughput, p50Millis, p99Millis, meetsSlo == null ? "" : meetsSlo, nextLimit);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookapp.api.consistency;
+
+import java.util.List;
+
+/**
+ * A book whose history has no valid sequential explanation, with the minimal
+ * interleaving that shows it.
+ */
+public record Anomaly(int key, Kind kind, String initialValue, List<Operation> interleaving) {
+
+    public enum Kind {
+        /** An acknowledged write was overwritten by an older value and never seen again. */
+        LOST_UPDATE,
+        /** A read returned a value already overwritten by a write that completed before the read began. */
+        STALE_READ,
+        /** A read found the book after a delete of it had been acknowledged. */
+        RESURRECTED_DELETE,
+        /** Not linearizable, but not one of the patterns above. */
+        NOT_LINEARIZABLE
+    }
+
+    /**
+     * Names the violation shown by {@code minimal}; the full key history tells a lost
+     * update (no later read sees the newer value) from a stale read (a later one does).
+     */
+    static Kind classify(String initialValue, List<Operation> minimal, List<Operation> fullHistory) {
+        for (Operation read : minimal) {
+            if (read.kind() != Operation.Kind.READ || read.outcome() != Operation.Outcome.OK) {
+                continue;
+            }
+            for (Operation other : minimal) {
+                if (other.completeNanos() >= read.invokeNanos() || other.outcome() != Operation.Outcome.OK) {
+                    continue;
+                }
+                if (other.kind() == Operation.Kind.DELETE) {
+                    return Kind.RESURRECTED_DELETE;
+                }
+                if (other.kind() == Operation.Kind.WRITE && !other.value().equals(read.value())
+                        && writtenBefore(read.value(), other, initialValue, minimal)) {
+                    boolean newerSeenLater = fullHistory.stream().anyMatch(later -> later.kind() == Operation.Kind.READ
+                            && later.invokeNanos() > read.completeNanos() && other.value().equals(later.value()));
+                    return newerSeenLater ? Kind.STALE_READ : Kind.LOST_UPDATE;
+                }
+            }
+        }
+        return Kind.NOT_LINEARIZABLE;
+    }
+
+    // True if the value read was in place before the overwriting write started
+    private static boolean writtenBefore(String value, Operation overwrite, String initialValue, List<Operation> operations) {
+        if (value.equals(initialValue)) {
+            return true;
+        }
+        return operations.stream().anyMatch(write -> write.kind() == Operation.Kind.WRITE && value.equals(write.value())
+                && write.completeNanos() < overwrite.invokeNanos());
+    }
+
+    public String format(long originNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Book %d: %s (initial value \"%s\")%n", key, kind, initialValue));
+        for (Operation operation : interleaving) {
+            sb.append("  ").append(operation.describe(originNanos)).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookapp.api.consistency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks every book's history independently (linearizability is compositional, so the
+ * whole history is linearizable iff each per-book history is) and collects anomalies.
+ */
+public final class ConsistencyChecker {
+
+    private ConsistencyChecker() {
+    }
+
+    /** @param initialValues book ID -> name before the workers started */
+    public static ConsistencyReport check(HistoryRecorder history, Map<Integer, String> initialValues) {
+        long start = System.nanoTime();
+        List<Operation> operations = history.operations();
+        long origin = operations.stream().mapToLong(Operation::invokeNanos).min().orElse(0);
+        List<Anomaly> anomalies = Collections.synchronizedList(new ArrayList<>());
+
+        history.byKey().entrySet().parallelStream().forEach(entry -> {
+            String initialValue = initialValues.get(entry.getKey());
+            List<Operation> keyHistory = entry.getValue();
+            if (!LinearizabilityChecker.isLinearizable(initialValue, keyHistory)) {
+                List<Operation> minimal = LinearizabilityChecker.shrink(initialValue, keyHistory);
+                anomalies.add(new Anomaly(entry.getKey(), Anomaly.classify(initialValue, minimal, keyHistory),
+                        initialValue, minimal));
+            }
+        });
+
+        anomalies.sort((a, b) -> Integer.compare(a.key(), b.key()));
+        long unknown = operations.stream().filter(op -> op.outcome() == Operation.Outcome.UNKNOWN).count();
+        return new ConsistencyReport(operations.size(), initialValues.size(), unknown, anomalies, origin,
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookapp.api.consistency;
+
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of checking a recorded history.
+ */
+@Getter
+@AllArgsConstructor
+public class ConsistencyReport {
+
+    private final int operations;
+    private final int keys;
+    private final long unknownOutcomes;
+    private final List<Anomaly> anomalies;
+    private final long originNanos;
+    private final double checkSeconds;
+
+    public boolean isConsistent() {
+        return anomalies.isEmpty();
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Checked %d operations on %d books (%d with unknown outcome) in %.2fs: %s%n",
+                operations, keys, unknownOutcomes, checkSeconds,
+                anomalies.isEmpty() ? "linearizable" : anomalies.size() + " book(s) violate the register model"));
+        for (Anomaly anomaly : anomalies) {
+            sb.append(anomaly.format(originNanos));
+        }
+        return sb.toString();
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Consistency check", "text/plain", format());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bookapp.api.consistency;
+
+import com.bookapp.api.helper.AsyncBookApiServiceHelper;
+import com.bookapp.api.helper.UnexpectedStatusError;
+import com.bookapp.api.load.VirtualThreads;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.model.book.Book;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Drives many workers at a small, shared set of books so that GET, PUT and DELETE on
+ * the same IDs overlap, recording every operation into a {@link HistoryRecorder}.
+ * Each worker is one sequential "process" in the history; every PUT writes a name that
+ * is unique across the run so a read identifies exactly which write it observed.
+ */
+public class ConsistencyWorkload {
+
+    @Getter
+    private final Map<Integer, String> initialValues = new LinkedHashMap<>();
+    @Getter
+    private final HistoryRecorder history = new HistoryRecorder();
+
+    private final AsyncBookApiServiceHelper bookApi;
+    private final Supplier<Book> payloads;
+    private final int keys;
+    private final int workers;
+    private final int operationsPerWorker;
+    private final int readWeight;
+    private final int writeWeight;
+    private final int deleteWeight;
+
+    /** @param bookApi helper pinned to a valid token, see {@link AsyncBookApiServiceHelper#withAccessToken} */
+    public ConsistencyWorkload(AsyncBookApiServiceHelper bookApi, Supplier<Book> payloads, int keys, int workers,
+                               int operationsPerWorker, int readWeight, int writeWeight, int deleteWeight) {
+        this.bookApi = bookApi;
+        this.payloads = payloads;
+        this.keys = keys;
+        this.workers = workers;
+        this.operationsPerWorker = operationsPerWorker;
+        this.readWeight = readWeight;
+        this.writeWeight = writeWeight;
+        this.deleteWeight = deleteWeight;
+    }
+
+    public static ConsistencyWorkload fromConfig(AsyncBookApiServiceHelper bookApi, Supplier<Book> payloads) {
+        return new ConsistencyWorkload(bookApi, payloads,
+                ConfigLoader.getIntegerProperty("consistency.keys", 5),
+                ConfigLoader.getIntegerProperty("consistency.workers", 16),
+                ConfigLoader.getIntegerProperty("consistency.operations.per.worker", 50),
+                ConfigLoader.getIntegerProperty("consistency.read.weight", 60),
+                ConfigLoader.getIntegerProperty("consistency.write.weight", 35),
+                ConfigLoader.getIntegerProperty("consistency.delete.weight", 5));
+    }
+
+    public HistoryRecorder run() throws InterruptedException {
+        for (int i = 0; i < keys; i++) {
+            Book created = bookApi.createBookAndRead(payloads.get()).join();
+            initialValues.put(created.getId(), created.getName());
+        }
+        List<Integer> ids = new ArrayList<>(initialValues.keySet());
+        System.out.println("Consistency run: " + workers + " workers x " + operationsPerWorker + " operations on books " + ids);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = VirtualThreads.newExecutor("consistency-worker", workers);
+        for (int process = 0; process < workers; process++) {
+            final int worker = process;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int seq = 0; seq < operationsPerWorker; seq++) {
+                    perform(worker, seq, ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Consistency workers did not finish within 10 minutes");
+        }
+        return history;
+    }
+
+    /** Deletes whichever of the books survived the run. */
+    public void cleanup() {
+        for (Integer bookId : initialValues.keySet()) {
+            try {
+                bookApi.deleteBook(bookId).join();
+            } catch (CompletionException e) {
+                // Already deleted by a worker
+            }
+        }
+    }
+
+    private void perform(int process, int seq, int bookId) {
+        int roll = ThreadLocalRandom.current().nextInt(readWeight + writeWeight + deleteWeight);
+        Operation.Kind kind = roll < readWeight ? Operation.Kind.READ
+                : roll < readWeight + writeWeight ? Operation.Kind.WRITE
+                : Operation.Kind.DELETE;
+        String value = null;
+        Book payload = null;
+        if (kind == Operation.Kind.WRITE) {
+            payload = payloads.get();
+            payload.setId(bookId);
+            value = "w" + process + "." + seq + " " + payload.getName();
+            payload.setName(value);
+        }
+
+        long invoke = System.nanoTime();
+        Operation.Outcome outcome;
+        try {
+            switch (kind) {
+                case READ -> value = bookApi.getBookByIdAndRead(bookId).join().getName();
+                case WRITE -> bookApi.updateBook(bookId, payload).join();
+                case DELETE -> bookApi.deleteBook(bookId).join();
+            }
+            outcome = Operation.Outcome.OK;
+        } catch (CompletionException e) {
+            boolean notFound = e.getCause() instanceof UnexpectedStatusError
+                    && ((UnexpectedStatusError) e.getCause()).getActualStatus() == 404;
+            outcome = notFound ? Operation.Outcome.NOT_FOUND : Operation.Outcome.UNKNOWN;
+            if (kind == Operation.Kind.READ) {
+                value = null;
+            }
+        }
+        history.record(process, kind, bookId, value, outcome, invoke, System.nanoTime());
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookapp.api.consistency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe, append-only history of operations. Each worker ("process") issues one
+ * operation at a time: it takes the invoke timestamp, performs the call and records
+ * the completed operation.
+ */
+public class HistoryRecorder {
+
+    private final ConcurrentLinkedQueue<Operation> operations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ids = new AtomicInteger();
+
+    public void record(int process, Operation.Kind kind, int key, String value, Operation.Outcome outcome,
+                       long invokeNanos, long completeNanos) {
+        operations.add(new Operation(ids.getAndIncrement(), process, kind, key, value, outcome, invokeNanos,
+                outcome == Operation.Outcome.UNKNOWN ? Operation.NEVER : completeNanos));
+    }
+
+    public List<Operation> operations() {
+        return new ArrayList<>(operations);
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    /** Books are independent registers, so the history is checked one key at a time. */
+    public Map<Integer, List<Operation>> byKey() {
+        return operations.stream().collect(Collectors.groupingBy(Operation::key));
+    }
+}
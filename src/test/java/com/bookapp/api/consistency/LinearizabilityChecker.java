@@ -0,0 +1,180 @@
+package com.bookapp.api.consistency;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a single book's history against {@link RegisterModel} with the Wing-Gong /
+ * Lowe search: repeatedly try to linearize a pending call that is minimal in real time,
+ * backtrack when a return is reached whose call has not been linearized, and memoize
+ * (linearized set, model state) pairs already explored. Per-key histories stay small,
+ * so the search is cheap even though it is exponential in the worst case.
+ * <p>
+ * When a history is not linearizable, {@link #shrink} greedily removes operations while
+ * the violation persists, leaving a 1-minimal interleaving that still shows it. Writes
+ * whose value is still read by a remaining operation are never removed, so the result
+ * cannot degenerate into "read a value nobody wrote".
+ */
+public final class LinearizabilityChecker {
+
+    private LinearizabilityChecker() {
+    }
+
+    public static boolean isLinearizable(String initialValue, List<Operation> operations) {
+        if (operations.isEmpty()) {
+            return true;
+        }
+        Entry head = buildList(operations);
+        Set<String> initial = new HashSet<>();
+        initial.add(initialValue);
+
+        Set<String> state = initial;
+        BitSet linearized = new BitSet(operations.size());
+        Map<BitSet, List<Set<String>>> cache = new HashMap<>();
+        List<Frame> stack = new ArrayList<>();
+        Entry entry = head.next;
+
+        while (head.next != null) {
+            if (entry.call) {
+                Set<String> next = RegisterModel.step(state, entry.operation);
+                if (!next.isEmpty()) {
+                    BitSet candidate = (BitSet) linearized.clone();
+                    candidate.set(entry.index);
+                    if (remember(cache, candidate, next)) {
+                        stack.add(new Frame(entry, state));
+                        state = next;
+                        linearized = candidate;
+                        lift(entry);
+                        entry = head.next;
+                        continue;
+                    }
+                }
+                entry = entry.next;
+            } else {
+                if (stack.isEmpty()) {
+                    return false;
+                }
+                Frame frame = stack.remove(stack.size() - 1);
+                state = frame.state;
+                linearized.clear(frame.call.index);
+                unlift(frame.call);
+                entry = frame.call.next;
+            }
+        }
+        return true;
+    }
+
+    /** Smallest (1-minimal) sub-history that is still not linearizable. */
+    public static List<Operation> shrink(String initialValue, List<Operation> operations) {
+        List<Operation> current = new ArrayList<>(operations);
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            // Later operations first: they are usually the noise after the violation
+            for (int i = current.size() - 1; i >= 0; i--) {
+                Operation candidate = current.get(i);
+                if (isReadByOthers(candidate, current)) {
+                    continue;
+                }
+                List<Operation> without = new ArrayList<>(current);
+                without.remove(i);
+                if (!isLinearizable(initialValue, without)) {
+                    current = without;
+                    removed = true;
+                }
+            }
+        }
+        current.sort(Comparator.comparingLong(Operation::invokeNanos));
+        return current;
+    }
+
+    private static boolean isReadByOthers(Operation operation, List<Operation> operations) {
+        if (operation.kind() != Operation.Kind.WRITE) {
+            return false;
+        }
+        for (Operation other : operations) {
+            if (other != operation && other.kind() == Operation.Kind.READ && operation.value().equals(other.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean remember(Map<BitSet, List<Set<String>>> cache, BitSet linearized, Set<String> state) {
+        // The caller keeps mutating its BitSet while backtracking, so the cache holds its own copy
+        List<Set<String>> seen = cache.computeIfAbsent((BitSet) linearized.clone(), key -> new ArrayList<>());
+        if (seen.contains(state)) {
+            return false;
+        }
+        seen.add(state);
+        return true;
+    }
+
+    // Doubly linked list of call/return events in time order; a call before a return at the same instant
+    private static Entry buildList(List<Operation> operations) {
+        List<Entry> events = new ArrayList<>(operations.size() * 2);
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            Entry call = new Entry(operation, i, true, operation.invokeNanos());
+            Entry ret = new Entry(operation, i, false, operation.completeNanos());
+            call.match = ret;
+            events.add(call);
+            events.add(ret);
+        }
+        events.sort(Comparator.comparingLong((Entry e) -> e.time).thenComparing(e -> !e.call));
+        Entry head = new Entry(null, -1, false, Long.MIN_VALUE);
+        Entry previous = head;
+        for (Entry event : events) {
+            previous.next = event;
+            event.previous = previous;
+            previous = event;
+        }
+        return head;
+    }
+
+    private static void lift(Entry call) {
+        call.previous.next = call.next;
+        call.next.previous = call.previous;
+        Entry ret = call.match;
+        ret.previous.next = ret.next;
+        if (ret.next != null) {
+            ret.next.previous = ret.previous;
+        }
+    }
+
+    private static void unlift(Entry call) {
+        Entry ret = call.match;
+        ret.previous.next = ret;
+        if (ret.next != null) {
+            ret.next.previous = ret;
+        }
+        call.previous.next = call;
+        call.next.previous = call;
+    }
+
+    private static final class Entry {
+        private final Operation operation;
+        private final int index;
+        private final boolean call;
+        private final long time;
+        private Entry match;
+        private Entry previous;
+        private Entry next;
+
+        private Entry(Operation operation, int index, boolean call, long time) {
+            this.operation = operation;
+            this.index = index;
+            this.call = call;
+            this.time = time;
+        }
+    }
+
+    private record Frame(Entry call, Set<String> state) {
+    }
+}
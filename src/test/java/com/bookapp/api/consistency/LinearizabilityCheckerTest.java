@@ -0,0 +1,141 @@
+package com.bookapp.api.consistency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.bookapp.api.consistency.Operation.Kind.DELETE;
+import static com.bookapp.api.consistency.Operation.Kind.READ;
+import static com.bookapp.api.consistency.Operation.Kind.WRITE;
+import static com.bookapp.api.consistency.Operation.Outcome.NOT_FOUND;
+import static com.bookapp.api.consistency.Operation.Outcome.OK;
+import static com.bookapp.api.consistency.Operation.Outcome.UNKNOWN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hand-built single-book histories; times are in arbitrary units and every book
+ * starts out named "a".
+ */
+class LinearizabilityCheckerTest {
+
+    private static final String INITIAL = "a";
+
+    private int nextId;
+
+    @Test
+    @DisplayName("Overlapping reads may see the old or the new name of a concurrent write")
+    void concurrentHistoryIsLinearizable() {
+        List<Operation> history = List.of(
+                op(1, WRITE, "b", OK, 0, 10),
+                op(2, READ, "a", OK, 1, 5),
+                op(3, READ, "b", OK, 2, 12),
+                op(2, READ, "b", OK, 6, 14),
+                op(4, WRITE, "c", OK, 11, 20),
+                op(3, READ, "c", OK, 13, 25),
+                op(1, DELETE, null, OK, 21, 30),
+                op(2, READ, null, NOT_FOUND, 31, 35));
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, history)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A read that starts after a write completed may not return the old name")
+    void staleReadAfterCompletedWrite() {
+        List<Operation> history = List.of(
+                op(2, READ, "a", OK, 0, 5),
+                op(1, WRITE, "b", OK, 10, 20),
+                op(3, READ, "b", OK, 25, 30),
+                op(2, READ, "a", OK, 40, 50));
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, history)).isFalse();
+
+        List<Operation> shrunk = LinearizabilityChecker.shrink(INITIAL, history);
+        assertThat(shrunk).containsExactly(history.get(1), history.get(3));
+        assertOneMinimal(shrunk);
+    }
+
+    @Test
+    @DisplayName("A book deleted before the read started may not be returned")
+    void readOfDeletedBook() {
+        List<Operation> history = List.of(
+                op(1, DELETE, null, OK, 0, 10),
+                op(2, READ, null, NOT_FOUND, 5, 15),
+                op(3, READ, "a", OK, 20, 30),
+                op(2, WRITE, "z", NOT_FOUND, 35, 40));
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, history)).isFalse();
+
+        List<Operation> shrunk = LinearizabilityChecker.shrink(INITIAL, history);
+        assertThat(shrunk).containsExactly(history.get(0), history.get(2));
+        assertOneMinimal(shrunk);
+    }
+
+    @Test
+    @DisplayName("A write with an unknown outcome may take effect at any point after it started, or never")
+    void unknownWrite() {
+        Operation write = op(1, WRITE, "b", UNKNOWN, 0, Operation.NEVER);
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(write,
+                op(2, READ, "a", OK, 10, 20), op(2, READ, "b", OK, 30, 40)))).isTrue();
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(write,
+                op(2, READ, "a", OK, 10, 20), op(2, READ, "a", OK, 30, 40)))).as("never applied").isTrue();
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(write,
+                op(2, READ, "b", OK, 10, 20), op(2, READ, "a", OK, 30, 40)))).as("applied, then undone").isFalse();
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(
+                op(2, READ, "b", OK, 0, 5), op(1, WRITE, "b", UNKNOWN, 10, Operation.NEVER))))
+                .as("read before the write started").isFalse();
+    }
+
+    @Test
+    @DisplayName("A delete with an unknown outcome may remove the book later, but never bring it back")
+    void unknownDelete() {
+        Operation delete = op(1, DELETE, null, UNKNOWN, 0, Operation.NEVER);
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(delete,
+                op(2, READ, "a", OK, 10, 20), op(2, READ, null, NOT_FOUND, 30, 40)))).isTrue();
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(delete,
+                op(2, READ, null, NOT_FOUND, 10, 20), op(2, READ, "a", OK, 30, 40)))).isFalse();
+        // PUT answers 404 on an absent book, so an unknown write cannot resurrect it either
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, List.of(
+                op(1, DELETE, null, OK, 0, 10),
+                op(2, WRITE, "b", UNKNOWN, 20, Operation.NEVER),
+                op(3, READ, "b", OK, 30, 40)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("The register model keeps every state an unknown outcome allows")
+    void registerModelBranchesOnUnknownOutcomes() {
+        Set<String> present = states("a");
+        assertThat(RegisterModel.step(present, op(1, WRITE, "b", UNKNOWN, 0, Operation.NEVER))).containsExactlyInAnyOrder("a", "b");
+        assertThat(RegisterModel.step(present, op(1, DELETE, null, UNKNOWN, 0, Operation.NEVER))).containsExactlyInAnyOrder("a", null);
+        assertThat(RegisterModel.step(present, op(1, READ, null, UNKNOWN, 0, Operation.NEVER))).containsExactly("a");
+        assertThat(RegisterModel.step(states((String) null), op(1, WRITE, "b", UNKNOWN, 0, Operation.NEVER))).containsExactly((String) null);
+        assertThat(RegisterModel.step(present, op(1, READ, null, NOT_FOUND, 0, 1))).isEmpty();
+        assertThat(RegisterModel.step(states("a", null), op(1, WRITE, "b", NOT_FOUND, 0, 1))).containsExactly((String) null);
+    }
+
+    // Removing any one operation makes the history linearizable, except writes a remaining read depends on
+    private static void assertOneMinimal(List<Operation> shrunk) {
+        assertThat(LinearizabilityChecker.isLinearizable(INITIAL, shrunk)).isFalse();
+        for (Operation operation : shrunk) {
+            boolean readByOthers = operation.kind() == WRITE && shrunk.stream()
+                    .anyMatch(other -> other.kind() == READ && operation.value().equals(other.value()));
+            if (readByOthers) {
+                continue;
+            }
+            List<Operation> without = new ArrayList<>(shrunk);
+            without.remove(operation);
+            assertThat(LinearizabilityChecker.isLinearizable(INITIAL, without))
+                    .as("Still not linearizable without %s", operation)
+                    .isTrue();
+        }
+    }
+
+    private Operation op(int process, Operation.Kind kind, String value, Operation.Outcome outcome, long invoke, long complete) {
+        return new Operation(nextId++, process, kind, 1, value, outcome, invoke, complete);
+    }
+
+    private static Set<String> states(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookapp.api.consistency;
+
+/**
+ * One client operation on one book, as recorded in the history.
+ * <p>
+ * {@code value} is the name written by a WRITE, or the name returned by a successful
+ * READ. An operation whose outcome is {@link Outcome#UNKNOWN} (timeout, 5xx, I/O error)
+ * may or may not have taken effect; it is treated as completing at the end of time.
+ */
+public record Operation(int id, int process, Kind kind, int key, String value, Outcome outcome,
+                        long invokeNanos, long completeNanos) {
+
+    public enum Kind {READ, WRITE, DELETE}
+
+    public enum Outcome {OK, NOT_FOUND, UNKNOWN}
+
+    public static final long NEVER = Long.MAX_VALUE;
+
+    public String describe(long originNanos) {
+        String end = completeNanos == NEVER ? "?" : String.format("%.3f", (completeNanos - originNanos) / 1e6);
+        String what = switch (kind) {
+            case READ -> outcome == Outcome.OK ? "READ -> \"" + value + "\"" : "READ -> " + outcome;
+            case WRITE -> "WRITE \"" + value + "\" -> " + outcome;
+            case DELETE -> "DELETE -> " + outcome;
+        };
+        return String.format("[%9.3f .. %9s ms] p%-3d book %d: %s", (invokeNanos - originNanos) / 1e6, end, process, key, what);
+    }
+}
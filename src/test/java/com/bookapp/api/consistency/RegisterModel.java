@@ -0,0 +1,53 @@
+package com.bookapp.api.consistency;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sequential specification of a single book as a register: absent ({@code null}) or
+ * holding the last name written. GET, PUT and DELETE answer 404 exactly when the book
+ * is absent. Operations with an unknown outcome are nondeterministic (applied or not),
+ * so the checker tracks the set of states the register could be in.
+ */
+final class RegisterModel {
+
+    private RegisterModel() {
+    }
+
+    /** Possible states after applying {@code operation}; empty if it cannot be explained from any of them. */
+    static Set<String> step(Set<String> states, Operation operation) {
+        Set<String> next = new HashSet<>();
+        for (String state : states) {
+            switch (operation.kind()) {
+                case READ -> {
+                    if (operation.outcome() == Operation.Outcome.UNKNOWN) {
+                        next.add(state);
+                    } else if (operation.outcome() == Operation.Outcome.NOT_FOUND ? state == null : operation.value().equals(state)) {
+                        next.add(state);
+                    }
+                }
+                case WRITE -> {
+                    if (operation.outcome() == Operation.Outcome.OK && state != null) {
+                        next.add(operation.value());
+                    } else if (operation.outcome() == Operation.Outcome.NOT_FOUND && state == null) {
+                        next.add(null);
+                    } else if (operation.outcome() == Operation.Outcome.UNKNOWN) {
+                        next.add(state);
+                        next.add(state == null ? null : operation.value());
+                    }
+                }
+                case DELETE -> {
+                    if (operation.outcome() == Operation.Outcome.OK && state != null) {
+                        next.add(null);
+                    } else if (operation.outcome() == Operation.Outcome.NOT_FOUND && state == null) {
+                        next.add(null);
+                    } else if (operation.outcome() == Operation.Outcome.UNKNOWN) {
+                        next.add(state);
+                        next.add(null);
+                    }
+                }
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,194 @@
+package com.bookapp.api.contract;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON schema turned into a flat list of checks on a Jackson tree. It covers
+ * only the draft-04 keywords our schemas use (type, required, properties, items,
+ * minItems, minimum, minLength, ECMA-262 patterns and classpath $refs), and answers only
+ * "valid or not", at a fraction of the cost of the general validator. Any other
+ * keyword makes {@link #compile} fail, and the caller then uses the general
+ * validator for that contract.
+ */
+final class CompiledSchema {
+
+    private static final String CLASSPATH_REF = "resource:";
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "title", "description");
+
+    private final List<Predicate<JsonNode>> checks;
+
+    private CompiledSchema(List<Predicate<JsonNode>> checks) {
+        this.checks = checks;
+    }
+
+    boolean accepts(JsonNode instance) {
+        for (Predicate<JsonNode> check : checks) {
+            if (!check.test(instance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @throws IllegalArgumentException if the schema uses a keyword this class does not implement */
+    static CompiledSchema compile(JsonNode schema) {
+        List<Predicate<JsonNode>> checks = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = schema.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "type" -> checks.add(typeCheck(value));
+                case "required" -> {
+                    List<String> required = new ArrayList<>();
+                    value.forEach(name -> required.add(name.asText()));
+                    checks.add(node -> !node.isObject() || required.stream().allMatch(node::has));
+                }
+                case "properties" -> {
+                    Iterator<Map.Entry<String, JsonNode>> properties = value.fields();
+                    while (properties.hasNext()) {
+                        Map.Entry<String, JsonNode> property = properties.next();
+                        String name = property.getKey();
+                        CompiledSchema child = compile(property.getValue());
+                        checks.add(node -> {
+                            JsonNode present = node.isObject() ? node.get(name) : null;
+                            return present == null || child.accepts(present);
+                        });
+                    }
+                }
+                case "items" -> {
+                    if (!value.isObject()) {
+                        throw new IllegalArgumentException("tuple \"items\" is not supported");
+                    }
+                    CompiledSchema items = compile(value);
+                    checks.add(node -> {
+                        if (node.isArray()) {
+                            for (JsonNode item : node) {
+                                if (!items.accepts(item)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    });
+                }
+                case "minItems" -> {
+                    int minItems = value.intValue();
+                    checks.add(node -> !node.isArray() || node.size() >= minItems);
+                }
+                case "minimum" -> {
+                    double minimum = value.doubleValue();
+                    checks.add(node -> !node.isNumber() || node.doubleValue() >= minimum);
+                }
+                case "minLength" -> {
+                    int minLength = value.intValue();
+                    checks.add(node -> !node.isTextual()
+                            || node.textValue().codePointCount(0, node.textValue().length()) >= minLength);
+                }
+                case "pattern" -> {
+                    Pattern pattern = ecmaPattern(value.asText());
+                    checks.add(node -> !node.isTextual() || pattern.matcher(node.textValue()).find());
+                }
+                case "$ref" -> checks.add(compile(resolve(value.asText()))::accepts);
+                default -> {
+                    if (!ANNOTATIONS.contains(field.getKey())) {
+                        throw new IllegalArgumentException("keyword \"" + field.getKey() + "\" is not supported");
+                    }
+                }
+            }
+        }
+        return new CompiledSchema(List.copyOf(checks));
+    }
+
+    private static Predicate<JsonNode> typeCheck(JsonNode type) {
+        if (type.isTextual()) {
+            return typeCheck(type.asText());
+        }
+        Predicate<JsonNode> anyOf = node -> false;
+        for (JsonNode alternative : type) {
+            anyOf = anyOf.or(typeCheck(alternative.asText()));
+        }
+        return anyOf;
+    }
+
+    private static Predicate<JsonNode> typeCheck(String type) {
+        return switch (type) {
+            case "object" -> JsonNode::isObject;
+            case "array" -> JsonNode::isArray;
+            case "string" -> JsonNode::isTextual;
+            case "integer" -> JsonNode::isIntegralNumber;
+            case "number" -> JsonNode::isNumber;
+            case "boolean" -> JsonNode::isBoolean;
+            case "null" -> JsonNode::isNull;
+            default -> throw new IllegalArgumentException("type \"" + type + "\" is not supported");
+        };
+    }
+
+    /**
+     * Compiles a schema pattern with the ECMA-262 semantics draft-04 (and fge) use where they differ
+     * from java.util.regex: {@code $} matches only at the very end, not before a final newline, and
+     * {@code .} excludes only ECMA line terminators. Constructs whose meaning differs in ways not
+     * translated here ({@code \s}, nested brackets) are rejected, leaving the schema to the general validator.
+     */
+    static Pattern ecmaPattern(String regex) {
+        StringBuilder java = new StringBuilder(regex.length() + 16);
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char escaped = regex.charAt(++i);
+                if (escaped == 's' || escaped == 'S') {
+                    throw new IllegalArgumentException("pattern escape \"\\" + escaped + "\" is not supported");
+                }
+                java.append(c).append(escaped);
+            } else if (inClass) {
+                if (c == '[') {
+                    throw new IllegalArgumentException("pattern \"" + regex + "\" nests brackets");
+                }
+                inClass = c != ']';
+                java.append(c);
+            } else if (c == '[') {
+                inClass = true;
+                java.append(c);
+            } else if (c == '$') {
+                java.append("\\z");
+            } else if (c == '.') {
+                java.append("[^\\n\\r\\u2028\\u2029]");
+            } else {
+                java.append(c);
+            }
+        }
+        return Pattern.compile(java.toString());
+    }
+
+    // Only whole-document classpath references ("resource:/schemas/book.json#"), as used between our schemas
+    private static JsonNode resolve(String ref) {
+        if (!ref.startsWith(CLASSPATH_REF) || ref.indexOf('#') != ref.length() - 1) {
+            throw new IllegalArgumentException("$ref \"" + ref + "\" is not supported");
+        }
+        return load(ref.substring(CLASSPATH_REF.length(), ref.length() - 1));
+    }
+
+    static JsonNode load(String resource) {
+        try (InputStream in = CompiledSchema.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema " + resource + " is not on the classpath");
+            }
+            return SharedObjectMapper.get().readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read schema " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bookapp.api.contract;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The fast path is the only gate on a valid body, so it must agree with fge on every
+ * schema: each sample goes through both and their verdicts are compared, with each
+ * other and with the verdict the sample was written for.
+ */
+class CompiledSchemaTest {
+
+    private static final String BOOK = "{\"id\": 1, \"name\": \"N\", \"author\": \"A\", \"published_year\": 1999, \"book_summary\": \"S\"}";
+
+    private record Sample(String label, String json, boolean valid) {
+    }
+
+    private static final Map<String, List<Sample>> SAMPLES = new LinkedHashMap<>();
+
+    static {
+        SAMPLES.put("book.json", List.of(
+                new Sample("complete book", BOOK, true),
+                new Sample("extra property", BOOK.replace("{", "{\"isbn\": \"x\", "), true),
+                new Sample("negative published_year", BOOK.replace("1999", "-50"), true),
+                new Sample("id is a string", BOOK.replace("\"id\": 1", "\"id\": \"1\""), false),
+                new Sample("id is fractional", BOOK.replace("\"id\": 1", "\"id\": 1.5"), false),
+                new Sample("id written as 1.0", BOOK.replace("\"id\": 1", "\"id\": 1.0"), false),
+                new Sample("id below minimum", BOOK.replace("\"id\": 1", "\"id\": 0"), false),
+                new Sample("name is null", BOOK.replace("\"N\"", "null"), false),
+                new Sample("missing author", BOOK.replace("\"author\": \"A\", ", ""), false),
+                new Sample("array instead of object", "[" + BOOK + "]", false)));
+        SAMPLES.put("book-list.json", List.of(
+                new Sample("empty catalog", "[]", true),
+                new Sample("two books", "[" + BOOK + ", " + BOOK.replace("\"id\": 1", "\"id\": 2") + "]", true),
+                new Sample("one invalid element", "[" + BOOK + ", " + BOOK.replace("\"id\": 1", "\"id\": 0") + "]", false),
+                new Sample("element is a string", "[\"book\"]", false),
+                new Sample("object instead of array", BOOK, false)));
+        SAMPLES.put("auth-response.json", List.of(
+                new Sample("bearer token", "{\"access_token\": \"eyJ.a.b\", \"token_type\": \"bearer\"}", true),
+                new Sample("capitalised Bearer", "{\"access_token\": \"eyJ.a.b\", \"token_type\": \"Bearer\"}", true),
+                new Sample("other token type", "{\"access_token\": \"eyJ.a.b\", \"token_type\": \"Basic\"}", false),
+                new Sample("token type with a suffix", "{\"access_token\": \"eyJ.a.b\", \"token_type\": \"bearers\"}", false),
+                new Sample("token type with a trailing newline", "{\"access_token\": \"eyJ.a.b\", \"token_type\": \"bearer\\n\"}", false),
+                new Sample("empty access token", "{\"access_token\": \"\", \"token_type\": \"bearer\"}", false),
+                new Sample("access token is a number", "{\"access_token\": 42, \"token_type\": \"bearer\"}", false),
+                new Sample("missing token type", "{\"access_token\": \"eyJ.a.b\"}", false)));
+        SAMPLES.put("error-response.json", List.of(
+                new Sample("not found", "{\"detail\": \"Book not found\"}", true),
+                new Sample("detail is a list", "{\"detail\": [\"Book not found\"]}", false),
+                new Sample("missing detail", "{\"message\": \"Book not found\"}", false),
+                new Sample("string instead of object", "\"Book not found\"", false)));
+        String entry = "{\"loc\": [\"body\", \"published_year\"], \"msg\": \"field required\", \"type\": \"value_error.missing\"}";
+        SAMPLES.put("validation-error.json", List.of(
+                new Sample("one rejected field", "{\"detail\": [" + entry + "]}", true),
+                new Sample("integer location segment", "{\"detail\": [" + entry.replace("\"published_year\"", "0") + "]}", true),
+                new Sample("no rejected fields", "{\"detail\": []}", false),
+                new Sample("empty location", "{\"detail\": [" + entry.replace("[\"body\", \"published_year\"]", "[]") + "]}", false),
+                new Sample("boolean location segment", "{\"detail\": [" + entry.replace("\"published_year\"", "true") + "]}", false),
+                new Sample("missing msg", "{\"detail\": [" + entry.replace("\"msg\": \"field required\", ", "") + "]}", false),
+                new Sample("detail is a string", "{\"detail\": \"field required\"}", false)));
+    }
+
+    @Test
+    @DisplayName("Every schema under src/test/resources/schemas has samples and compiles to the fast path")
+    void everySchemaIsCovered() throws IOException, URISyntaxException {
+        List<String> schemaFiles;
+        try (Stream<Path> files = Files.list(Path.of(CompiledSchemaTest.class.getResource("/schemas").toURI()))) {
+            schemaFiles = files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+        assertThat(SAMPLES.keySet()).containsExactlyInAnyOrderElementsOf(schemaFiles);
+        for (String schemaFile : schemaFiles) {
+            assertThat(CompiledSchema.compile(CompiledSchema.load("/schemas/" + schemaFile))).as(schemaFile).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Patterns follow ECMA-262 where java.util.regex differs, or are left to the general validator")
+    void patternsUseEcmaSemantics() {
+        assertThat(CompiledSchema.ecmaPattern("^a.c$").matcher("abc").find()).isTrue();
+        assertThat(CompiledSchema.ecmaPattern("^a.c$").matcher("abc\n").find()).as("$ before a final newline").isFalse();
+        assertThat(CompiledSchema.ecmaPattern("^a.c$").matcher("a\u2028c").find()).as(". across U+2028").isFalse();
+        assertThat(CompiledSchema.ecmaPattern("^[$.]\\$$").matcher(".$").find()).as("literal $ and . stay literal").isTrue();
+        assertThatThrownBy(() -> CompiledSchema.ecmaPattern("^\\s+$")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledSchema.ecmaPattern("[a[b]]")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("samples")
+    @DisplayName("The fast path and fge agree on the sample, and both give the intended verdict")
+    void fastPathAgreesWithGeneralValidator(String schemaFile, String label, String json, boolean valid) throws Exception {
+        JsonNode instance = SharedObjectMapper.get().readTree(json);
+        boolean fast = CompiledSchema.compile(CompiledSchema.load("/schemas/" + schemaFile)).accepts(instance);
+        boolean general = JsonSchemaFactory.byDefault().getJsonSchema("resource:/schemas/" + schemaFile).validInstance(instance);
+
+        assertThat(fast).as("CompiledSchema vs fge on %s", json).isEqualTo(general);
+        assertThat(general).as("fge verdict on %s", json).isEqualTo(valid);
+    }
+
+    static Stream<Arguments> samples() {
+        List<Arguments> arguments = new ArrayList<>();
+        SAMPLES.forEach((schemaFile, samples) -> samples.forEach(sample ->
+                arguments.add(Arguments.of(schemaFile, sample.label(), sample.json(), sample.valid()))));
+        return arguments.stream();
+    }
+}
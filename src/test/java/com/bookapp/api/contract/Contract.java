@@ -0,0 +1,52 @@
+package com.bookapp.api.contract;
+
+/**
+ * The response contracts, one JSON schema each under {@code src/test/resources/schemas}.
+ */
+public enum Contract {
+    BOOK("book.json"),
+    BOOK_LIST("book-list.json"),
+    AUTH_RESPONSE("auth-response.json"),
+    ERROR_RESPONSE("error-response.json"),
+    VALIDATION_ERROR("validation-error.json");
+
+    private final String schemaFile;
+
+    Contract(String schemaFile) {
+        this.schemaFile = schemaFile;
+    }
+
+    String resource() {
+        return "/schemas/" + schemaFile;
+    }
+
+    String schemaUri() {
+        return "resource:" + resource();
+    }
+
+    /**
+     * The contract a response must meet, or null when it has none (e.g. a 5xx or the
+     * plain {@code {"message": ...}} bodies of signup and delete).
+     */
+    public static Contract forResponse(String method, String template, int status) {
+        if (status == 422) {
+            return VALIDATION_ERROR;
+        }
+        if (status >= 400 && status < 500) {
+            return ERROR_RESPONSE;
+        }
+        if (status != 200) {
+            return null;
+        }
+        if ("POST".equals(method) && "/login".equals(template)) {
+            return AUTH_RESPONSE;
+        }
+        if ("/books/".equals(template)) {
+            return "GET".equals(method) ? BOOK_LIST : "POST".equals(method) ? BOOK : null;
+        }
+        if ("/books/{id}".equals(template) && !"DELETE".equals(method)) {
+            return BOOK;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookapp.api.contract;
+
+import com.bookapp.api.metrics.EndpointTemplates;
+import com.bookapp.api.utility.TransientFailures;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Validates every RestAssured response that has a {@link Contract}. The one exception
+ * is the {@code GET /books/} array: reading it here would buffer a body that
+ * {@link com.bookapp.api.helper.BookStream} may be streaming, so the helper checks it
+ * (element by element when streamed).
+ */
+public final class ContractFilter implements OrderedFilter {
+
+    public static final ContractFilter INSTANCE = new ContractFilter();
+
+    private ContractFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        String method = requestSpec.getMethod();
+        String path = requestSpec.getUserDefinedPath();
+        Contract contract = Contract.forResponse(method, EndpointTemplates.templateOf(path), response.statusCode());
+        // A truncated body is a transport failure, not a contract breach; Resilience retries or reports it
+        if (contract != null && contract != Contract.BOOK_LIST && !TransientFailures.isTruncated(response)) {
+            ContractValidator.validate(contract, response.asByteArray(),
+                    ContractValidator.where(method, path, response.statusCode()));
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+}
@@ -0,0 +1,168 @@
+package com.bookapp.api.contract;
+
+import com.bookapp.api.metrics.EndpointTemplates;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Checks response bodies against their {@link Contract}. Every schema is loaded and
+ * compiled once, on first use, and shared by all threads. Bodies are first run
+ * through the {@link CompiledSchema} fast path; only one that fails it goes through
+ * the general (fge) validator, which decides and builds the report. A schema the
+ * fast path cannot compile always uses the general validator.
+ * <p>
+ * On by default ({@code contract.validation.enabled}). Responses are checked by
+ * {@link ContractFilter} and the async helper. The {@code GET /books/} array is
+ * checked by whoever reads it, since it may be streamed.
+ */
+public final class ContractValidator {
+
+    private static final boolean ENABLED = ConfigLoader.getBooleanProperty("contract.validation.enabled", true);
+    private static final int MAX_REPORTED_PROBLEMS = 5;
+
+    private ContractValidator() {
+    }
+
+    private record Compiled(JsonSchema reference, CompiledSchema fast) {
+
+        boolean accepts(JsonNode instance) throws ProcessingException {
+            return fast != null ? fast.accepts(instance) : reference.validInstance(instance);
+        }
+    }
+
+    // Holder idiom: the schemas are compiled the first time a body is validated, not when the flag is read
+    private static final class Schemas {
+        private static final Map<Contract, Compiled> COMPILED = compileAll();
+
+        private static Map<Contract, Compiled> compileAll() {
+            JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+            Map<Contract, Compiled> compiled = new EnumMap<>(Contract.class);
+            for (Contract contract : Contract.values()) {
+                JsonSchema reference;
+                try {
+                    reference = factory.getJsonSchema(contract.schemaUri());
+                } catch (ProcessingException e) {
+                    throw new RuntimeException("Failed to load schema " + contract.schemaUri(), e);
+                }
+                CompiledSchema fast = null;
+                try {
+                    fast = CompiledSchema.compile(CompiledSchema.load(contract.resource()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Contract " + contract + " uses the general validator only: " + e.getMessage());
+                }
+                compiled.put(contract, new Compiled(reference, fast));
+            }
+            return compiled;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Validates a buffered response if its method, path and status have a contract. */
+    public static void checkResponse(String method, String path, int status, byte[] body) {
+        if (!ENABLED) {
+            return;
+        }
+        Contract contract = Contract.forResponse(method, EndpointTemplates.templateOf(path), status);
+        if (contract != null) {
+            validate(contract, body, where(method, path, status));
+        }
+    }
+
+    static String where(String method, String path, int status) {
+        return method + " " + path + " (" + status + ")";
+    }
+
+    public static void validate(Contract contract, byte[] body, String where) {
+        if (contract == Contract.BOOK_LIST) {
+            validateBookList(new ByteArrayInputStream(body), where);
+            return;
+        }
+        JsonNode instance;
+        try {
+            instance = SharedObjectMapper.get().readTree(body);
+        } catch (IOException e) {
+            throw new ContractViolation(where, contract, "  body is not JSON: " + e.getMessage());
+        }
+        validate(contract, instance, where);
+    }
+
+    /**
+     * Checks a {@code GET /books/} array one element at a time against {@link Contract#BOOK},
+     * which is what book-list.json says, without building a tree of the whole array.
+     * Returns the number of books.
+     */
+    public static long validateBookList(InputStream body, String where) {
+        try (JsonParser parser = SharedObjectMapper.get().getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                throw new ContractViolation(where, Contract.BOOK_LIST, "  /: expected an array but got " + first);
+            }
+            long index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new ContractViolation(where, Contract.BOOK_LIST, "  /" + index + ": array is truncated");
+                }
+                validateListElement(SharedObjectMapper.get().readTree(parser), where, index++);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new ContractViolation(where, Contract.BOOK_LIST, "  body is not JSON: " + e.getMessage());
+        }
+    }
+
+    /** One element of a {@code GET /books/} array, for readers that stream it. */
+    public static void validateListElement(JsonNode book, String where, long index) {
+        validate(Contract.BOOK, book, where + " [" + index + "]");
+    }
+
+    public static void validate(Contract contract, JsonNode instance, String where) {
+        if (instance == null || instance.isMissingNode()) {
+            throw new ContractViolation(where, contract, "  body is empty");
+        }
+        Compiled schema = Schemas.COMPILED.get(contract);
+        try {
+            if (schema.accepts(instance)) {
+                return;
+            }
+            ProcessingReport report = schema.reference().validate(instance);
+            if (!report.isSuccess()) {
+                throw new ContractViolation(where, contract, describe(report));
+            }
+        } catch (ProcessingException e) {
+            throw new ContractViolation(where, contract, "  " + e.getMessage());
+        }
+    }
+
+    private static String describe(ProcessingReport report) {
+        StringBuilder sb = new StringBuilder();
+        int reported = 0;
+        for (ProcessingMessage message : report) {
+            if (reported++ == MAX_REPORTED_PROBLEMS) {
+                sb.append("  ...").append(System.lineSeparator());
+                break;
+            }
+            String pointer = message.asJson().path("instance").path("pointer").asText();
+            sb.append("  ").append(pointer.isEmpty() ? "/" : pointer).append(": ").append(message.getMessage())
+                    .append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.bookapp.api.contract;
+
+import lombok.Getter;
+
+/**
+ * A response body that does not match its {@link Contract}. Like the status check
+ * failures it is an AssertionError, so it fails a test the same way.
+ */
+@Getter
+public class ContractViolation extends AssertionError {
+
+    private final Contract contract;
+
+    public ContractViolation(String where, Contract contract, String problems) {
+        super(where + " does not match the " + contract + " contract:" + System.lineSeparator() + problems);
+        this.contract = contract;
+    }
+}
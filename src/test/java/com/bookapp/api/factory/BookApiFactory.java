@@ -1,6 +1,10 @@
 package com.bookapp.api.factory;
 
+import com.bookapp.api.helper.AsyncBookApiServiceHelper;
 import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.reconcile.ReconciliationReport;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.RequestHelper;
 import com.bookapp.model.book.Book;
 import com.bookapp.model.common.ErrorResponse; // Corrected import
 import com.bookapp.model.user.AuthResponse;
@@ -12,28 +16,51 @@ import org.awaitility.Awaitility; // Assuming Awaitility is configured in TestBa
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
 
+/**
+ * Business flows over the book service. How much the create/update/delete flows
+ * re-read their own writes is set by the {@link VerificationLevel}: with
+ * {@code SAMPLED} or {@code DEFERRED} each flow costs a single request, which makes
+ * the same methods usable as load drivers.
+ */
 public class BookApiFactory {
 
     private final BookApiServiceHelper bookApiServiceHelper;
+    private final AsyncBookApiServiceHelper asyncBookApiServiceHelper;
     private final Faker faker;
+    private final VerificationLevel verificationLevel;
+    private final double verificationSampleRate;
+    private final DeferredVerifications deferredVerifications = new DeferredVerifications();
 
     public BookApiFactory() {
+        this(VerificationLevel.configured());
+    }
+
+    public BookApiFactory(VerificationLevel verificationLevel) {
         this.bookApiServiceHelper = new BookApiServiceHelper();
+        this.asyncBookApiServiceHelper = new AsyncBookApiServiceHelper();
         this.faker = new Faker();
+        this.verificationLevel = verificationLevel;
+        this.verificationSampleRate = ConfigLoader.getDoubleProperty("verify.sample.rate", 0.1);
+    }
+
+    public VerificationLevel getVerificationLevel() {
+        return verificationLevel;
     }
 
     @Step("Sign up a new unique user")
     public User signupUniqueUser() {
-        Integer id = faker.number().numberBetween(1, 1000000);
-        String email = faker.internet().emailAddress();
-        String password = faker.internet().password(8, 12, true, true, true);
-        User newUser = new User(id, email, password);
+        User newUser = generateUniqueUserPayload();
         Response signupResponse = bookApiServiceHelper.signupUser(newUser);
         assertThat(signupResponse.statusCode())
                 .as("User signup should be successful")
@@ -49,6 +76,14 @@ public class BookApiFactory {
         return token;
     }
 
+    @Step("Login user {0} and bind the access token to the current thread")
+    public String loginAndBindToken(User user) {
+        String token = bookApiServiceHelper.login(user).getAccessToken();
+        assertThat(token).as("Access token should not be null or empty").isNotNull().isNotEmpty();
+        RequestHelper.bindAccessToken(token);
+        return token;
+    }
+
     @Step("Create a unique book and verify it is created successfully")
     public Book createAndVerifyUniqueBook() {
         Book newBookPayload = generateUniqueBookPayload();
@@ -68,9 +103,13 @@ public class BookApiFactory {
         assertThat(createdBook.getBookSummary()).isEqualTo(newBookPayload.getBookSummary());
 
         // Verify it can be retrieved using its new ID
-        Response getResponse = bookApiServiceHelper.getBookById(createdBook.getId());
-        assertThat(getResponse.statusCode()).isEqualTo(200);
-        assertThat(getResponse.as(Book.class)).isEqualTo(createdBook);
+        if (readBackNow()) {
+            Response getResponse = bookApiServiceHelper.getBookById(createdBook.getId());
+            assertThat(getResponse.statusCode()).isEqualTo(200);
+            assertThat(getResponse.as(Book.class)).isEqualTo(createdBook);
+        } else if (verificationLevel == VerificationLevel.DEFERRED) {
+            deferredVerifications.expectPresent(createdBook);
+        }
 
         return createdBook;
     }
@@ -85,6 +124,47 @@ public class BookApiFactory {
         return books;
     }
 
+    @Step("Stream all books and assert expected count")
+    public long streamAllBooksAndAssertCount(int expectedMinCount) {
+        long count = bookApiServiceHelper.streamAllBooks().countRemaining();
+        assertThat(count).as("Number of books should be at least " + expectedMinCount).isGreaterThanOrEqualTo(expectedMinCount);
+        return count;
+    }
+
+    @Step("Stream all books and count those matching a predicate")
+    public long countBooksMatching(Predicate<Book> predicate) {
+        return bookApiServiceHelper.streamAllBooks().countRemaining(predicate);
+    }
+
+    // Caller must close the returned stream to release the connection
+    public Stream<Book> streamAllBooks() {
+        return bookApiServiceHelper.streamAllBooks().stream();
+    }
+
+    @Step("Create {0} unique books concurrently through the async client and verify each one")
+    public List<Book> createBooksConcurrentlyAndVerify(int count) {
+        // The follow-up GET runs on a client thread, so pin this thread's token
+        AsyncBookApiServiceHelper client = asyncBookApiServiceHelper.withAccessToken(RequestHelper.getAccessToken());
+        List<Book> payloads = Stream.generate(this::generateUniqueBookPayload).limit(count).collect(Collectors.toList());
+        List<CompletableFuture<Book>> futures = payloads.stream()
+                .map(payload -> readBackNow()
+                        ? client.createBookAndRead(payload).thenCompose(created -> client.getBookByIdAndRead(created.getId()))
+                        : client.createBookAndRead(payload))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        List<Book> created = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        for (int i = 0; i < count; i++) {
+            assertThat(created.get(i).getId()).as("Created book should have an ID").isNotNull();
+            assertThat(created.get(i).getName()).isEqualTo(payloads.get(i).getName());
+            assertThat(created.get(i).getBookSummary()).isEqualTo(payloads.get(i).getBookSummary());
+            if (verificationLevel == VerificationLevel.DEFERRED) {
+                deferredVerifications.expectPresent(created.get(i));
+            }
+        }
+        return created;
+    }
+
     @Step("Verify Health endpoint accessibility")
     public void verifyHealthEndpointIsAccessible() {
         bookApiServiceHelper.getHealth();
@@ -94,7 +174,14 @@ public class BookApiFactory {
     public Book updateAndVerifyBook(Integer bookId, String newName, Integer newPublishedYear, String newSummary) {
         Response getResponse = bookApiServiceHelper.getBookById(bookId);
         assertThat(getResponse.statusCode()).isEqualTo(200);
-        Book bookToUpdate = getResponse.as(Book.class);
+        return updateAndVerifyBook(getResponse.as(Book.class), newName, newPublishedYear, newSummary);
+    }
+
+    // For callers that already hold the current book (e.g. from createAndVerifyUniqueBook): saves the initial GET
+    @Step("Update book {0} and verify changes")
+    public Book updateAndVerifyBook(Book current, String newName, Integer newPublishedYear, String newSummary) {
+        Integer bookId = current.getId();
+        Book bookToUpdate = new Book(bookId, current.getName(), current.getAuthor(), current.getPublishedYear(), current.getBookSummary());
         String originalAuthor = bookToUpdate.getAuthor(); // Keep original author
 
         bookToUpdate.setName(newName); // Modify the name
@@ -113,34 +200,78 @@ public class BookApiFactory {
         assertThat(updatedBook.getAuthor()).isEqualTo(originalAuthor); // Author should be unchanged
 
         // Verify retrieval confirms update
-        Response getUpdatedResponse = bookApiServiceHelper.getBookById(bookId);
-        assertThat(getUpdatedResponse.statusCode()).isEqualTo(200);
-        Book retrievedBook = getUpdatedResponse.as(Book.class);
-        assertThat(retrievedBook.getName()).isEqualTo(newName);
-        assertThat(retrievedBook.getPublishedYear()).isEqualTo(newPublishedYear);
-        assertThat(retrievedBook.getBookSummary()).isEqualTo(newSummary);
+        if (readBackNow()) {
+            Response getUpdatedResponse = bookApiServiceHelper.getBookById(bookId);
+            assertThat(getUpdatedResponse.statusCode()).isEqualTo(200);
+            Book retrievedBook = getUpdatedResponse.as(Book.class);
+            assertThat(retrievedBook.getName()).isEqualTo(newName);
+            assertThat(retrievedBook.getPublishedYear()).isEqualTo(newPublishedYear);
+            assertThat(retrievedBook.getBookSummary()).isEqualTo(newSummary);
+        } else if (verificationLevel == VerificationLevel.DEFERRED) {
+            deferredVerifications.expectPresent(updatedBook);
+        }
 
         return updatedBook;
     }
 
+    @Step("Delete book {0}")
+    public void deleteBook(Integer bookId) {
+        Response deleteResponse = bookApiServiceHelper.deleteBook(bookId);
+        assertThat(deleteResponse.statusCode()).isEqualTo(200);
+    }
+
     @Step("Delete a book and verify it's no longer retrievable")
     public void deleteAndVerifyBook(Integer bookId) {
         Response deleteResponse = bookApiServiceHelper.deleteBook(bookId);
         assertThat(deleteResponse.statusCode()).isEqualTo(200);
 
         // Verify it's truly deleted (expect 404)
-        Response getDeletedResponse = bookApiServiceHelper.getNonExistentBook(bookId);
-        assertThat(getDeletedResponse.statusCode()).isEqualTo(404);
+        if (readBackNow()) {
+            Response getDeletedResponse = bookApiServiceHelper.getNonExistentBook(bookId);
+            assertThat(getDeletedResponse.statusCode()).isEqualTo(404);
+        } else if (verificationLevel == VerificationLevel.DEFERRED) {
+            deferredVerifications.expectAbsent(bookId);
+        }
+    }
+
+    /**
+     * Settles every expectation queued under {@link VerificationLevel#DEFERRED} with one
+     * streamed {@code GET /books/}. Call it once the flows are done (and before the
+     * books are cleaned up). Returns how many expectations were checked.
+     */
+    @Step("Verify deferred expectations in one sweep over GET /books/")
+    public int verifyDeferredExpectations() {
+        int pending = deferredVerifications.size();
+        if (pending == 0) {
+            return 0;
+        }
+        ReconciliationReport report = deferredVerifications.settle(bookApiServiceHelper.streamAllBooks());
+        assertThat(report.getDifferences())
+                .as("Deferred read-back of " + pending + " book(s) found mismatches:%n%s", report.format())
+                .isZero();
+        return pending;
+    }
+
+    // Whether this call confirms its write with an immediate GET; DEFERRED queues an expectation instead
+    private boolean readBackNow() {
+        switch (verificationLevel) {
+            case FULL:
+                return true;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextDouble() < verificationSampleRate;
+            default:
+                return false;
+        }
+    }
+
+    // Thread-safe; see TestDataGenerator for the uniqueness guarantees
+    public User generateUniqueUserPayload() {
+        return TestDataGenerator.shared().nextUser();
     }
 
+    // Thread-safe; see TestDataGenerator for the uniqueness guarantees
     public Book generateUniqueBookPayload() {
-        return new Book(
-                null,
-                faker.book().title() + " " + faker.number().digits(4),
-                faker.book().author(),
-                faker.number().numberBetween(1900, 2024),
-                faker.lorem().sentence()
-        );
+        return TestDataGenerator.shared().nextBook();
     }
 
     @Step("Attempt to create a book with invalid data (null ID, null name, invalid year) and verify error")
@@ -0,0 +1,44 @@
+package com.bookapp.api.factory;
+
+import com.bookapp.api.helper.BookStream;
+import com.bookapp.api.reconcile.ExpectedCatalog;
+import com.bookapp.api.reconcile.ReconciliationReport;
+import com.bookapp.model.book.Book;
+
+/**
+ * Read-back checks queued under {@link VerificationLevel#DEFERRED} and settled
+ * together by a single pass over {@code GET /books/}.
+ * <p>
+ * Only the latest expectation per book ID is kept, as a fingerprint in an
+ * {@link ExpectedCatalog}, so a book that was created, updated and deleted is simply
+ * expected to be gone, and a run can queue millions without holding the Books.
+ */
+public class DeferredVerifications {
+
+    private ExpectedCatalog pending = new ExpectedCatalog();
+
+    public synchronized void expectPresent(Book book) {
+        pending.expectPresent(book);
+    }
+
+    public synchronized void expectAbsent(Integer bookId) {
+        pending.expectAbsent(bookId);
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Checks every queued expectation against {@code catalog}, which is consumed and
+     * closed, and clears the queue. Books nobody queued are ignored.
+     */
+    public ReconciliationReport settle(BookStream catalog) {
+        ExpectedCatalog expectations;
+        synchronized (this) {
+            expectations = pending;
+            pending = new ExpectedCatalog();
+        }
+        return expectations.reconcile(catalog, null);
+    }
+}
@@ -0,0 +1,220 @@
+package com.bookapp.api.factory;
+
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.model.book.Book;
+import com.bookapp.model.user.User;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fast, seed-driven replacement for JavaFaker on the payload hot path.
+ * <p>
+ * Content (titles, authors, years, summaries) is drawn from small precomputed
+ * corpora by a SplitMix64 sequence derived from {@code data.seed} and the item's
+ * sequence number, so item N has the same content on every run with the same seed,
+ * whichever thread generates it.
+ * <p>
+ * Identity strings (emails, the book name suffix) carry a run ID, a fork tag and
+ * the sequence number, which makes them unique across threads, across forked
+ * JVMs (surefire.forkNumber, or the PID) and across runs. User IDs are left null
+ * so the server assigns them instead of colliding on a random pick.
+ * <p>
+ * {@code data.summary.size} picks the book_summary length distribution:
+ * {@code sentence} (default), {@code fixed:N}, {@code uniform:MIN-MAX} or
+ * {@code lognormal:MEDIAN,SIGMA}, all in characters.
+ */
+public final class TestDataGenerator {
+
+    private static final String[] TITLE_WORDS = {
+            "Silent", "Crimson", "Forgotten", "Golden", "Hidden", "Broken", "Distant", "Endless", "Frozen", "Hollow",
+            "Last", "Lost", "Midnight", "Northern", "Quiet", "Restless", "Scarlet", "Shattered", "Stolen", "Wandering",
+            "Garden", "River", "Empire", "Shadow", "Kingdom", "Harbor", "Lantern", "Mirror", "Orchard", "Tide",
+            "Compass", "Winter", "Storm", "Letters", "Station", "Voyage", "Archive", "Meridian", "Citadel", "Horizon"};
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Beatrice", "Carlos", "Chen", "Dmitri", "Elena", "Farah", "George", "Hana",
+            "Ines", "James", "Kofi", "Lena", "Marta", "Nikhil", "Olga", "Pedro", "Quinn", "Rosa",
+            "Sanjay", "Tomas", "Uma", "Victor", "Wen", "Ximena", "Yusuf", "Zara"};
+    private static final String[] LAST_NAMES = {
+            "Abara", "Bianchi", "Castillo", "Dubois", "Eriksen", "Fischer", "Gupta", "Hayes", "Ivanova", "Jensen",
+            "Kowalski", "Lindqvist", "Moreau", "Nakamura", "Okafor", "Petrov", "Quigley", "Rossi", "Sato", "Tanaka",
+            "Umarov", "Varga", "Weber", "Xu", "Yamada", "Zielinski"};
+    private static final String[] SUMMARY_WORDS = {
+            "the", "a", "of", "and", "in", "story", "journey", "family", "secret", "city", "war", "love", "memory",
+            "village", "young", "old", "discovers", "returns", "across", "between", "after", "before", "during",
+            "unexpected", "quiet", "bold", "letter", "night", "sea", "mountain", "friend", "stranger", "truth",
+            "promise", "house", "river", "winter", "summer", "forgotten", "hidden", "dream", "voice", "road"};
+    private static final String[] EMAIL_DOMAINS = {"example.com", "example.org", "example.net", "test.local"};
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final TestDataGenerator SHARED = fromConfig();
+
+    private final long seed;
+    private final String uniquePrefix;
+    private final SummarySize summarySize;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public TestDataGenerator(long seed, String runId, String forkTag, SummarySize summarySize) {
+        this(seed, runId + "-" + forkTag, summarySize);
+    }
+
+    private TestDataGenerator(long seed, String uniquePrefix, SummarySize summarySize) {
+        this.seed = seed;
+        this.uniquePrefix = uniquePrefix;
+        this.summarySize = summarySize;
+    }
+
+    public static TestDataGenerator fromConfig() {
+        long seed = ConfigLoader.getLongProperty("data.seed", 42L);
+        String runId = ConfigLoader.getProperty("data.run.id", Long.toString(System.currentTimeMillis(), 36));
+        String forkTag = System.getProperty("surefire.forkNumber", Long.toString(ProcessHandle.current().pid(), 36));
+        SummarySize summarySize = SummarySize.parse(ConfigLoader.getProperty("data.summary.size", "sentence"));
+        System.out.println("Test data generator: seed " + seed + ", run " + runId + ", fork " + forkTag + ", summary " + summarySize);
+        return new TestDataGenerator(seed, runId, forkTag, summarySize);
+    }
+
+    public static TestDataGenerator shared() {
+        return SHARED;
+    }
+
+    /** Same seed and run identity, different summaries; names stay unique against this generator's. */
+    public TestDataGenerator withSummarySize(SummarySize summarySize) {
+        return new TestDataGenerator(seed, uniquePrefix + "-" + summarySize.toString().replace(':', '-'), summarySize);
+    }
+
+    public Book nextBook() {
+        long n = sequence.getAndIncrement();
+        Rng rng = new Rng(seed, n);
+        String name = pick(rng, TITLE_WORDS) + " " + pick(rng, TITLE_WORDS) + " #" + uniqueSuffix(n);
+        String author = pick(rng, FIRST_NAMES) + " " + pick(rng, LAST_NAMES);
+        int year = 1900 + rng.nextInt(125);
+        return new Book(null, name, author, year, summary(rng, summarySize.sample(rng)));
+    }
+
+    /** Whether this generator, or one derived from it by {@link #withSummarySize}, named the book. */
+    public boolean generated(Book book) {
+        return book.getName() != null && book.getName().contains(" #" + uniquePrefix + "-");
+    }
+
+    public User nextUser() {
+        long n = sequence.getAndIncrement();
+        Rng rng = new Rng(seed, n);
+        String email = "user-" + uniqueSuffix(n) + "@" + pick(rng, EMAIL_DOMAINS);
+        String password = "Pw" + Long.toString(rng.nextLong() & Long.MAX_VALUE, 36) + "!9";
+        return new User(null, email, password);
+    }
+
+    private String uniqueSuffix(long n) {
+        return uniquePrefix + "-" + Long.toString(n, 36);
+    }
+
+    private static String pick(Rng rng, String[] corpus) {
+        return corpus[rng.nextInt(corpus.length)];
+    }
+
+    private static String summary(Rng rng, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        String first = pick(rng, SUMMARY_WORDS);
+        sb.append(Character.toUpperCase(first.charAt(0))).append(first, 1, first.length());
+        while (sb.length() < length - 1) {
+            sb.append(' ').append(pick(rng, SUMMARY_WORDS));
+        }
+        sb.setLength(Math.max(1, length - 1));
+        return sb.append('.').toString();
+    }
+
+    /** SplitMix64 stream keyed by (seed, sequence number). */
+    static final class Rng {
+        private long state;
+
+        Rng(long seed, long n) {
+            this.state = mix(seed ^ mix(n * GOLDEN_GAMMA));
+        }
+
+        long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix(state);
+        }
+
+        int nextInt(int bound) {
+            return (int) ((nextLong() >>> 33) % bound);
+        }
+
+        double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        double nextGaussian() {
+            // Box-Muller; one value per call is plenty here
+            double u1 = Math.max(nextDouble(), Double.MIN_VALUE);
+            return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * nextDouble());
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /** book_summary length distribution, in characters. */
+    public static final class SummarySize {
+        private final String kind;
+        private final double a;
+        private final double b;
+
+        private SummarySize(String kind, double a, double b) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+        }
+
+        public static SummarySize parse(String spec) {
+            String[] parts = spec.trim().split(":", 2);
+            String kind = parts[0].toLowerCase();
+            try {
+                switch (kind) {
+                    case "sentence":
+                        return new SummarySize(kind, 40, 100);
+                    case "fixed":
+                        int size = Integer.parseInt(parts[1].trim());
+                        return new SummarySize(kind, size, size);
+                    case "uniform":
+                        String[] range = parts[1].split("-");
+                        return new SummarySize(kind, Integer.parseInt(range[0].trim()), Integer.parseInt(range[1].trim()));
+                    case "lognormal":
+                        String[] params = parts[1].split(",");
+                        return new SummarySize(kind, Double.parseDouble(params[0].trim()), Double.parseDouble(params[1].trim()));
+                    default:
+                        throw new IllegalArgumentException("Unknown summary size distribution '" + spec + "'");
+                }
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid summary size distribution '" + spec + "'", e);
+            }
+        }
+
+        int sample(Rng rng) {
+            double size;
+            if (kind.equals("lognormal")) {
+                size = a * Math.exp(b * rng.nextGaussian());
+            } else {
+                size = a + (b - a) * rng.nextDouble();
+            }
+            return (int) Math.max(2, Math.min(size, 10_000_000));
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case "fixed":
+                    return "fixed:" + (int) a;
+                case "uniform":
+                    return "uniform:" + (int) a + "-" + (int) b;
+                case "lognormal":
+                    return "lognormal:" + a + "," + b;
+                default:
+                    return kind;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookapp.api.factory;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+/**
+ * How much the {@link BookApiFactory} flows re-read what they just wrote, selected
+ * with {@code verify.level}. Checks on the write's own response body are always made;
+ * the level only decides the extra round trips.
+ */
+public enum VerificationLevel {
+    /** Every create, update and delete is confirmed with an immediate GET. */
+    FULL,
+    /** Only a {@code verify.sample.rate} fraction of calls is confirmed with an immediate GET. */
+    SAMPLED,
+    /** No immediate GETs; expectations are queued and checked in one sweep over GET /books/. */
+    DEFERRED;
+
+    private static final VerificationLevel CONFIGURED = valueOf(ConfigLoader.getProperty("verify.level", "full").trim().toUpperCase());
+
+    public static VerificationLevel configured() {
+        return CONFIGURED;
+    }
+}
@@ -0,0 +1,268 @@
+package com.bookapp.api.fault;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A TCP proxy on localhost that degrades the connection to the book service: it
+ * delays responses (latency plus up to {@code jitter}), caps bandwidth, resets
+ * connections and cuts responses off part way, per the current {@link FaultSettings}.
+ * <p>
+ * It barely parses HTTP. The first bytes read from the server after the client has
+ * sent something count as the start of a response, which is where the per-response
+ * faults are decided; this is exact for HTTP/1.1 without pipelining, which is what
+ * both clients send. A truncated response keeps its whole header block and loses
+ * the second half of its first body chunk: cutting the headers instead would let
+ * HttpClient read it as a complete, empty, close-delimited response. Plain http
+ * targets only.
+ * <p>
+ * With {@code fault.proxy.enabled=true}, {@link #wrapIfEnabled} puts one shared proxy
+ * in front of {@code base.url}, so every helper goes through it. Faults can be changed
+ * while it runs ({@link #setFaults}).
+ */
+public class FaultProxy implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int UPSTREAM_CONNECT_TIMEOUT_MS = 5_000;
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private static volatile FaultProxy shared;
+
+    private final ServerSocket serverSocket;
+    private final InetSocketAddress target;
+    private final ExecutorService executor;
+    private volatile FaultSettings faults;
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder truncations = new LongAdder();
+
+    public FaultProxy(URI target, int port, FaultSettings faults) throws IOException {
+        if (!"http".equalsIgnoreCase(target.getScheme())) {
+            throw new IllegalArgumentException("Fault proxy only supports http targets, got " + target);
+        }
+        this.target = new InetSocketAddress(target.getHost(), target.getPort() > 0 ? target.getPort() : 80);
+        this.faults = faults;
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        // Two blocking pumps per connection, so the pool must not be bounded
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::acceptLoop);
+    }
+
+    /** Returns base.url unchanged, or the address of the shared proxy in front of it when fault.proxy.enabled. */
+    public static String wrapIfEnabled(String baseUri) {
+        if (!ConfigLoader.getBooleanProperty("fault.proxy.enabled", false)) {
+            return baseUri;
+        }
+        synchronized (FaultProxy.class) {
+            if (shared == null) {
+                try {
+                    FaultProxy proxy = new FaultProxy(URI.create(baseUri),
+                            ConfigLoader.getIntegerProperty("fault.proxy.port", 0), FaultSettings.fromConfig());
+                    Runtime.getRuntime().addShutdownHook(new Thread(proxy::close, "fault-proxy-shutdown"));
+                    System.out.println("Fault proxy " + proxy.getBaseUri() + " -> " + baseUri + " ("
+                            + proxy.getFaults().describe() + ")");
+                    shared = proxy;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to start fault proxy in front of " + baseUri, e);
+                }
+            }
+        }
+        URI original = URI.create(baseUri);
+        return shared.getBaseUri() + (original.getRawPath() != null ? original.getRawPath() : "");
+    }
+
+    /** The proxy started by {@link #wrapIfEnabled}, or null if there is none. */
+    public static FaultProxy shared() {
+        return shared;
+    }
+
+    public String getBaseUri() {
+        return "http://localhost:" + serverSocket.getLocalPort();
+    }
+
+    public FaultSettings getFaults() {
+        return faults;
+    }
+
+    public void setFaults(FaultSettings faults) {
+        this.faults = faults;
+    }
+
+    public String stats() {
+        return String.format("connections %d, responses %d, delayed %d, resets %d, truncated %d",
+                connections.sum(), responses.sum(), delayed.sum(), resets.sum(), truncations.sum());
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                executor.execute(() -> proxy(client));
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void proxy(Socket client) {
+        connections.increment();
+        try (client; Socket upstream = new Socket()) {
+            client.setTcpNoDelay(true);
+            upstream.setTcpNoDelay(true);
+            upstream.connect(target, UPSTREAM_CONNECT_TIMEOUT_MS);
+            Connection connection = new Connection(client, upstream);
+            executor.execute(connection::pumpRequests);
+            connection.pumpResponses();
+        } catch (IOException e) {
+            // Either side went away (or we reset it); closing both sockets is all there is to do
+        }
+    }
+
+    private final class Connection {
+        private final Socket client;
+        private final Socket upstream;
+        private volatile boolean awaitingResponse;
+        private int headerEndMatched = -1; // -1: not truncating this response; 4: headers done
+
+        Connection(Socket client, Socket upstream) {
+            this.client = client;
+            this.upstream = upstream;
+        }
+
+        void pumpRequests() {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream in = client.getInputStream()) {
+                OutputStream out = upstream.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    awaitingResponse = true; // before the write, so the response cannot beat the flag
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+                upstream.shutdownOutput();
+            } catch (IOException e) {
+                // The response side closes both sockets when it is done
+            }
+        }
+
+        void pumpResponses() throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            InputStream in = upstream.getInputStream();
+            OutputStream out = client.getOutputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                FaultSettings current = faults;
+                if (awaitingResponse) {
+                    awaitingResponse = false;
+                    responses.increment();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    if (random.nextDouble() < current.getResetRate()) {
+                        resets.increment();
+                        reset();
+                        return;
+                    }
+                    sleepBeforeResponse(current, random);
+                    headerEndMatched = random.nextDouble() < current.getTruncateRate() ? 0 : -1;
+                }
+                int bodyStart = headerEndMatched >= 0 ? bodyStart(buffer, read) : -1;
+                if (bodyStart >= 0 && bodyStart < read) {
+                    truncations.increment();
+                    write(out, buffer, bodyStart + (read - bodyStart) / 2, current.getBytesPerSecond());
+                    client.shutdownOutput();
+                    return;
+                }
+                write(out, buffer, read, current.getBytesPerSecond());
+            }
+        }
+
+        // Offset of the first body byte in this chunk, or -1 while still inside the header block
+        private int bodyStart(byte[] buffer, int length) {
+            for (int i = 0; i < length && headerEndMatched < HEADER_END.length; i++) {
+                if (buffer[i] == HEADER_END[headerEndMatched]) {
+                    headerEndMatched++;
+                } else {
+                    headerEndMatched = buffer[i] == HEADER_END[0] ? 1 : 0;
+                }
+                if (headerEndMatched == HEADER_END.length) {
+                    return i + 1;
+                }
+            }
+            return headerEndMatched == HEADER_END.length ? 0 : -1;
+        }
+
+        // SO_LINGER 0 makes close() send RST instead of FIN
+        private void reset() throws IOException {
+            client.setSoLinger(true, 0);
+            client.close();
+        }
+
+        private void sleepBeforeResponse(FaultSettings current, ThreadLocalRandom random) throws IOException {
+            long delayMillis = current.getLatencyMillis()
+                    + (current.getJitterMillis() > 0 ? random.nextLong(current.getJitterMillis() + 1) : 0);
+            if (delayMillis > 0) {
+                delayed.increment();
+                sleep(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+            }
+        }
+
+        // Writes in ~50 ms slices so a capped response trickles out instead of arriving in one late burst
+        private void write(OutputStream out, byte[] buffer, int length, long bytesPerSecond) throws IOException {
+            if (bytesPerSecond <= 0) {
+                out.write(buffer, 0, length);
+                out.flush();
+                return;
+            }
+            int slice = (int) Math.max(1, Math.min(length, bytesPerSecond / 20));
+            for (int offset = 0; offset < length; offset += slice) {
+                int chunk = Math.min(slice, length - offset);
+                out.write(buffer, offset, chunk);
+                out.flush();
+                sleep(chunk * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+            }
+        }
+
+        private void sleep(long nanos) throws IOException {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SocketException("Fault proxy interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookapp.api.fault;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The faults a {@link FaultProxy} injects, read from the fault.* properties.
+ * Latency, resets and truncation apply per response; the bandwidth cap per connection.
+ */
+@Getter
+@AllArgsConstructor
+public class FaultSettings {
+
+    public static final FaultSettings NONE = new FaultSettings(0, 0, 0, 0, 0);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final long bytesPerSecond;     // 0 = unlimited
+    private final double resetRate;        // connection reset (RST) instead of a response
+    private final double truncateRate;     // response cut off part way, then FIN
+
+    public static FaultSettings fromConfig() {
+        return new FaultSettings(
+                ConfigLoader.getLongProperty("fault.latency.ms", 0),
+                ConfigLoader.getLongProperty("fault.jitter.ms", 0),
+                ConfigLoader.getLongProperty("fault.bandwidth.bytes.per.second", 0),
+                ConfigLoader.getDoubleProperty("fault.reset.rate", 0),
+                ConfigLoader.getDoubleProperty("fault.truncate.rate", 0));
+    }
+
+    public FaultSettings withLatency(long latencyMillis, long jitterMillis) {
+        return new FaultSettings(latencyMillis, jitterMillis, bytesPerSecond, resetRate, truncateRate);
+    }
+
+    public FaultSettings withResetRate(double resetRate) {
+        return new FaultSettings(latencyMillis, jitterMillis, bytesPerSecond, resetRate, truncateRate);
+    }
+
+    public FaultSettings withTruncateRate(double truncateRate) {
+        return new FaultSettings(latencyMillis, jitterMillis, bytesPerSecond, resetRate, truncateRate);
+    }
+
+    public FaultSettings withBandwidth(long bytesPerSecond) {
+        return new FaultSettings(latencyMillis, jitterMillis, bytesPerSecond, resetRate, truncateRate);
+    }
+
+    public String describe() {
+        return String.format("latency %d ms + up to %d ms jitter, bandwidth %s, reset %.1f%%, truncate %.1f%%", latencyMillis, jitterMillis,
+                bytesPerSecond > 0 ? bytesPerSecond + " B/s" : "unlimited", resetRate * 100, truncateRate * 100);
+    }
+}
@@ -0,0 +1,208 @@
+package com.bookapp.api.helper;
+
+import com.bookapp.api.contract.ContractValidator;
+import com.bookapp.api.jfr.ApiCallEvent;
+import com.bookapp.api.jfr.FlightEvents;
+import com.bookapp.api.ledger.ResourceLedger;
+import com.bookapp.api.traffic.TrafficLog;
+import com.bookapp.api.utility.AsyncHttpClients;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import com.bookapp.model.user.AuthResponse;
+import com.bookapp.model.user.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterpart of {@link BookApiServiceHelper}: the same operations, each
+ * returning a CompletableFuture that completes with the status-checked response, or
+ * exceptionally with an {@link UnexpectedStatusError} (or the I/O failure).
+ * <p>
+ * Authenticated calls take the calling thread's token from {@link RequestHelper} when
+ * the call is made, so thread-bound tokens work as they do for the blocking helper.
+ * Calls chained onto a future run on a client thread, which has no binding; use
+ * {@link #withAccessToken(String)} to pin the token for those.
+ * Responses are buffered as bytes, checked against their contract (see
+ * {@link ContractValidator}) and parsed with the shared Jackson mapper.
+ */
+public class AsyncBookApiServiceHelper {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMillis(ConfigLoader.getLongProperty("async.request.timeout.ms", 30_000));
+
+    private final HttpClient client;
+    private final String baseUri;
+    private final String accessToken;
+
+    public AsyncBookApiServiceHelper() {
+        this(AsyncHttpClients.shared(), RequestHelper.BASE_URI);
+    }
+
+    public AsyncBookApiServiceHelper(HttpClient client, String baseUri) {
+        this(client, baseUri, null);
+    }
+
+    private AsyncBookApiServiceHelper(HttpClient client, String baseUri, String accessToken) {
+        this.client = client;
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.accessToken = accessToken;
+    }
+
+    /** A view of this helper that always authenticates with the given token. */
+    public AsyncBookApiServiceHelper withAccessToken(String accessToken) {
+        if (accessToken == null || accessToken.isEmpty()) {
+            throw new IllegalStateException("Access Token is not set. Please log in first.");
+        }
+        return new AsyncBookApiServiceHelper(client, baseUri, accessToken);
+    }
+
+    // --- Unauthenticated Endpoints ---
+
+    public CompletableFuture<HttpResponse<byte[]>> getHealth() {
+        return send("GET", request("/health"), null, 200);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> signupUser(User userPayload) {
+        return send("POST", request("/signup"), json(SharedObjectMapper.USER_WRITER, userPayload), 200)
+                .thenApply(response -> {
+                    ResourceLedger.userCreated(userPayload.getEmail());
+                    return response;
+                });
+    }
+
+    // Completes on a client thread, so it can only set RequestHelper's shared default token, never a thread binding
+    public CompletableFuture<AuthResponse> loginUser(User userPayload) {
+        return login(userPayload).thenApply(authResponse -> {
+            RequestHelper.setDefaultAccessToken(authResponse.getAccessToken());
+            return authResponse;
+        });
+    }
+
+    public CompletableFuture<AuthResponse> login(User userPayload) {
+        return send("POST", request("/login"), json(SharedObjectMapper.USER_WRITER, userPayload), 200)
+                .thenApply(response -> SharedObjectMapper.readAuthResponse(response.body()));
+    }
+
+    // --- Authenticated Endpoints (Books) ---
+
+    public CompletableFuture<HttpResponse<byte[]>> getAllBooks() {
+        return send("GET", authenticated("/books/"), null, 200);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> getBookById(Integer bookId) {
+        return send("GET", authenticated("/books/" + bookId), null, 200);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> createBook(Book bookPayload) {
+        return send("POST", authenticated("/books/"), json(SharedObjectMapper.BOOK_WRITER, bookPayload), 200)
+                .thenApply(response -> {
+                    if (ResourceLedger.isEnabled()) {
+                        Book created = SharedObjectMapper.readBook(response.body());
+                        ResourceLedger.bookCreated(created.getId(), created.getName());
+                    }
+                    return response;
+                });
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> updateBook(Integer bookId, Book bookPayload) {
+        return send("PUT", authenticated("/books/" + bookId), json(SharedObjectMapper.BOOK_WRITER, bookPayload), 200)
+                .thenApply(response -> {
+                    ResourceLedger.bookRenamed(bookId, bookPayload.getName());
+                    return response;
+                });
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> deleteBook(Integer bookId) {
+        return send("DELETE", authenticated("/books/" + bookId), null, 200)
+                .thenApply(response -> {
+                    ResourceLedger.bookDeleted(bookId);
+                    return response;
+                });
+    }
+
+    // --- Typed conveniences ---
+
+    public CompletableFuture<Book> createBookAndRead(Book bookPayload) {
+        return createBook(bookPayload).thenApply(response -> SharedObjectMapper.readBook(response.body()));
+    }
+
+    public CompletableFuture<Book> getBookByIdAndRead(Integer bookId) {
+        return getBookById(bookId).thenApply(response -> SharedObjectMapper.readBook(response.body()));
+    }
+
+    public CompletableFuture<Book[]> getAllBooksAndRead() {
+        return getAllBooks().thenApply(response -> SharedObjectMapper.readBooks(response.body()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.Builder authenticated(String path) {
+        String accessToken = this.accessToken != null ? this.accessToken : RequestHelper.getAccessToken();
+        if (accessToken == null || accessToken.isEmpty()) {
+            throw new IllegalStateException("Access Token is not set. Please log in first.");
+        }
+        return request(path).header("Authorization", "Bearer " + accessToken);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(String method, HttpRequest.Builder builder, byte[] body,
+                                                         int expectedStatusCode) {
+        HttpRequest request = builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body)).build();
+        ApiCallEvent event = FlightEvents.beginApiCall();
+        CompletableFuture<HttpResponse<byte[]>> exchange = TrafficLog.isEnabled()
+                ? sendCaptured(request, body)
+                : client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (event != null) {
+            exchange = exchange.whenComplete((response, failure) -> FlightEvents.endApiCall(event,
+                    ApiCallEvent.CLIENT_ASYNC, method, request.uri().getPath(), response != null ? response.statusCode() : 0,
+                    body != null ? body.length : 0, response != null ? response.body().length : -1, failure));
+        }
+        return exchange.thenApply(response -> {
+            if (response.statusCode() != expectedStatusCode) {
+                throw new UnexpectedStatusError(request.method() + " " + request.uri(),
+                        expectedStatusCode, response.statusCode(), response.body());
+            }
+            ContractValidator.checkResponse(method, request.uri().getPath(), response.statusCode(), response.body());
+            return response;
+        });
+    }
+
+    // The lane is the issuing thread, so a batch fired from one test replays in issue order
+    private CompletableFuture<HttpResponse<byte[]>> sendCaptured(HttpRequest request, byte[] body) {
+        String lane = Thread.currentThread().getName();
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            TrafficLog.record(lane, timestamp, start, request.method(), request.uri().getPath(),
+                    request.headers().firstValue("Authorization").isPresent(),
+                    body == null ? null : new String(body, StandardCharsets.UTF_8),
+                    response.statusCode(), latencyMicros, response.body());
+            return response;
+        });
+    }
+
+    private static byte[] json(ObjectWriter writer, Object payload) {
+        try {
+            return writer.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialise request body", e);
+        }
+    }
+}
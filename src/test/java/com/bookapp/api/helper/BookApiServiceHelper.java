@@ -1,9 +1,14 @@
 package com.bookapp.api.helper;
 
+import com.bookapp.api.contract.Contract;
+import com.bookapp.api.contract.ContractValidator;
+import com.bookapp.api.ledger.ResourceLedger;
+import com.bookapp.api.resilience.Resilience;
 import com.bookapp.model.book.Book;
 import com.bookapp.model.user.AuthResponse;
 import com.bookapp.model.user.User;
 import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 
@@ -16,115 +21,152 @@ public class BookApiServiceHelper {
 
     // Health Check
     public Response getHealth() {
-        return logAndExtractResponse(given()
-                .spec(getUnauthenticatedRequestSpec())
-                .when()
-                .get("/health").then()
-                .extract().response(), 200, true);
+        return logAndExtractResponse(Resilience.call("GET", "/health", () -> given()
+                    .spec(getUnauthenticatedRequestSpec())
+                    .when()
+                    .get("/health").then()
+                    .extract().response()), 200, true);
     }
 
     // User Signup
     public Response signupUser(User userPayload) {
-        return logAndExtractResponse(given()
-                .spec(getUnauthenticatedRequestSpec())
-                .body(userPayload)
-                .when()
-                .post("/signup").then()
-                .extract().response(), 200, true);
+        Response response = logAndExtractResponse(Resilience.call("POST", "/signup", () -> given()
+                    .spec(getUnauthenticatedRequestSpec())
+                    .body(userPayload)
+                    .when()
+                    .post("/signup").then()
+                    .extract().response()), 200, true);
+        ResourceLedger.userCreated(userPayload.getEmail());
+        return response;
     }
 
     // User Login and Token Retrieval
     public AuthResponse loginUser(User userPayload) {
-        Response rawResponse = given()
-                .spec(getUnauthenticatedRequestSpec())
-                .body(userPayload)
-                .when()
-                .post("/login")
-                .then()
-                .extract().response();
-
-        Response response = logAndExtractResponse(rawResponse, 200, true);
-        AuthResponse authResponse = response.as(AuthResponse.class);
+        AuthResponse authResponse = login(userPayload);
         RequestHelper.setAccessToken(authResponse.getAccessToken());
         return authResponse;
     }
 
+    // User Login without touching the token held by RequestHelper (used by the token pool)
+    public AuthResponse login(User userPayload) {
+        Response rawResponse = Resilience.call("POST", "/login", () -> given()
+                    .spec(getUnauthenticatedRequestSpec())
+                    .body(userPayload)
+                    .when()
+                    .post("/login")
+                    .then()
+                    .extract().response());
+
+        Response response = logAndExtractResponse(rawResponse, 200, true);
+        return SharedObjectMapper.readAuthResponse(response.asByteArray());
+    }
+
     // --- Authenticated Endpoints (Books) ---
 
-    // GET all books
+    // GET all books; ContractFilter leaves this array alone, so it is validated here in one streaming pass
     public Response getAllBooks() {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .when()
-                .get("/books/").then()
-                .extract().response(), 200, false);
+        Response response = logAndExtractResponse(Resilience.call("GET", "/books/", () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .when()
+                    .get("/books/").then()
+                    .extract().response()), 200, false);
+        if (ContractValidator.isEnabled()) {
+            ContractValidator.validate(Contract.BOOK_LIST, response.asByteArray(), "GET /books/");
+        }
+        return response;
+    }
+
+    // GET all books without buffering the body; read it through BookStream
+    public BookStream streamAllBooks() {
+        Response response = Resilience.callStreaming("GET", "/books/", () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .when()
+                    .get("/books/"));
+        if (response.statusCode() != 200) {
+            logAndExtractResponse(response, 200, false); // buffers, logs and fails on the status
+        }
+        return new BookStream(response.asInputStream());
     }
 
     // GET a book by ID
     public Response getBookById(Integer bookId) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .when()
-                .get("/books/"+bookId).then()
-                .extract().response(), 200, false);
+        return logAndExtractResponse(Resilience.call("GET", "/books/"+bookId, () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .when()
+                    .get("/books/"+bookId).then()
+                    .extract().response()), 200, false);
     }
 
     // POST a new book
     public Response createBook(Book bookPayload) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .body(bookPayload)
-                .when()
-                .post("/books/").then()
-                .extract().response(), 200, false);
+        return recordCreated(logAndExtractResponse(Resilience.call("POST", "/books/", () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .body(bookPayload)
+                    .when()
+                    .post("/books/").then()
+                    .extract().response()), 200, false));
     }
 
     // PUT an existing book
     public Response updateBook(Integer bookId, Book bookPayload) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .body(bookPayload)
-                .when()
-                .put("/books/"+bookId).then()
-                .extract().response(), 200, false);
+        Response response = logAndExtractResponse(Resilience.call("PUT", "/books/"+bookId, () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .body(bookPayload)
+                    .when()
+                    .put("/books/"+bookId).then()
+                    .extract().response()), 200, false);
+        ResourceLedger.bookRenamed(bookId, bookPayload.getName());
+        return response;
     }
 
     // DELETE a book
     public Response deleteBook(Integer bookId) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .when()
-                .delete("/books/"+bookId).then()
-                .extract().response(), 200, false);
+        Response response = logAndExtractResponse(Resilience.call("DELETE", "/books/"+bookId, () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .when()
+                    .delete("/books/"+bookId).then()
+                    .extract().response()), 200, false);
+        ResourceLedger.bookDeleted(bookId);
+        return response;
     }
 
     // --- Negative Test Helpers ---
 
     // GET a non-existent book (expect 404)
     public Response getNonExistentBook(Integer bookId) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .when()
-                .get("/books/"+bookId).then()
-                .extract().response(), 404, false);
+        return logAndExtractResponse(Resilience.call("GET", "/books/"+bookId, () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .when()
+                    .get("/books/"+bookId).then()
+                    .extract().response()), 404, false);
     }
 
     public Response createBookWithRawJson(String jsonPayload, int expectedStatusCode) {
-        return logAndExtractResponse(given()
-                .spec(getAuthenticatedRequestSpec())
-                .contentType(ContentType.JSON)
-                .body(jsonPayload)
-                .when()
-                .post("/books/")
-                .then()
-                .extract().response(), expectedStatusCode, false);
+        Response response = logAndExtractResponse(Resilience.call("POST", "/books/", () -> given()
+                    .spec(getAuthenticatedRequestSpec())
+                    .contentType(ContentType.JSON)
+                    .body(jsonPayload)
+                    .when()
+                    .post("/books/")
+                    .then()
+                    .extract().response()), expectedStatusCode, false);
+        return response.statusCode() == 200 ? recordCreated(response) : response;
+    }
+
+    // Journals the created book before anyone else sees it, so a killed run cannot leak it
+    private static Response recordCreated(Response response) {
+        if (ResourceLedger.isEnabled()) {
+            Book created = SharedObjectMapper.readBook(response.asByteArray());
+            ResourceLedger.bookCreated(created.getId(), created.getName());
+        }
+        return response;
     }
 
     public Response getAllBooksUnauthenticated() {
-        return logAndExtractResponse(given()
-                .spec(getUnauthenticatedRequestSpec())
-                .when()
-                .get("/books/").then()
-                .extract().response(), 403, false);
+        return logAndExtractResponse(Resilience.call("GET", "/books/", () -> given()
+                    .spec(getUnauthenticatedRequestSpec())
+                    .when()
+                    .get("/books/").then()
+                    .extract().response()), 403, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.bookapp.api.helper;
+
+import com.bookapp.api.contract.ContractValidator;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the GET /books/ array one element at a time with Jackson's token-level
+ * parser, so memory use stays flat however large the catalog is. Only one Book
+ * is materialised at a time, and the count-only path binds none at all.
+ * <p>
+ * With contract validation on, each element is also checked against the Book
+ * schema as it is read, so the whole array is validated in the same single pass.
+ * <p>
+ * Closing the stream (or reading it to the end) releases the HTTP connection.
+ */
+public class BookStream implements Iterator<Book>, Closeable {
+
+    private static final String WHERE = "GET /books/";
+
+    private final JsonParser parser;
+    private final boolean validated = ContractValidator.isEnabled();
+    private long index;
+    private Book next;
+    private boolean finished;
+
+    public BookStream(InputStream body) {
+        try {
+            this.parser = SharedObjectMapper.get().getFactory().createParser(body);
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IllegalStateException("Expected a JSON array of books but got " + first);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open book stream", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                next = validated
+                        ? SharedObjectMapper.BOOK_READER.readValue(readValidated())
+                        : SharedObjectMapper.BOOK_READER.readValue(parser);
+                return true;
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IllegalStateException("Unexpected token in book array: " + token);
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Failed to read book stream", e);
+        }
+    }
+
+    @Override
+    public Book next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Book book = next;
+        next = null;
+        return book;
+    }
+
+    public Stream<Book> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readValidated() throws IOException {
+        JsonNode element = SharedObjectMapper.get().readTree(parser);
+        ContractValidator.validateListElement(element, WHERE, index++);
+        return element;
+    }
+
+    /** Counts the remaining books without binding any of them, then closes the stream. */
+    public long countRemaining() {
+        long count = next != null ? 1 : 0;
+        next = null;
+        if (finished) {
+            return count;
+        }
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (validated) {
+                    readValidated();
+                } else {
+                    parser.skipChildren();
+                }
+                count++;
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IllegalStateException("Unexpected token in book array: " + token);
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read book stream", e);
+        } finally {
+            close();
+        }
+    }
+
+    /** Counts the remaining books matching the predicate, binding one book at a time, then closes the stream. */
+    public long countRemaining(Predicate<Book> predicate) {
+        try {
+            long matches = 0;
+            while (hasNext()) {
+                if (predicate.test(next())) {
+                    matches++;
+                }
+            }
+            return matches;
+        } finally {
+            close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bookapp.api.helper;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Status check failure from the async helper. It is an AssertionError with the same
+ * "Expected status code &lt;X&gt; but was &lt;Y&gt;." wording as RestAssured, so tests and
+ * {@link com.bookapp.api.utility.TransientFailures} treat both helpers alike.
+ */
+@Getter
+public class UnexpectedStatusError extends AssertionError {
+
+    private final int expectedStatus;
+    private final int actualStatus;
+    private final String body;
+
+    public UnexpectedStatusError(String request, int expectedStatus, int actualStatus, byte[] body) {
+        super(String.format("%s: Expected status code <%d> but was <%d>.%n%s", request, expectedStatus, actualStatus,
+                new String(body, StandardCharsets.UTF_8)));
+        this.expectedStatus = expectedStatus;
+        this.actualStatus = actualStatus;
+        this.body = new String(body, StandardCharsets.UTF_8);
+    }
+}
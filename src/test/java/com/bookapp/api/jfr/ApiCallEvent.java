@@ -0,0 +1,61 @@
+package com.bookapp.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP exchange issued by the API helpers. JFR adds the start time, duration and
+ * committing thread itself; {@link #issuer} names the thread that made the call, which
+ * differs for async calls (they complete on a client thread). Retried attempts are
+ * separate events.
+ */
+@Name("com.bookapp.ApiCall")
+@Label("API Call")
+@Category({"Book API", "HTTP"})
+@Description("A request made by the Book API client helpers")
+@StackTrace(false)
+public class ApiCallEvent extends Event {
+
+    public static final String CLIENT_REST_ASSURED = "RestAssured";
+    public static final String CLIENT_ASYNC = "HttpClient (async)";
+
+    @Label("Client")
+    String client;
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Endpoint template, e.g. /books/{id}")
+    String endpoint;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when no response arrived")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    @Description("Response body size, -1 when not known without reading a streamed body")
+    long responseBytes;
+
+    @Label("Issuing Thread")
+    String issuer;
+
+    @Label("Failure")
+    String failure;
+
+    // Not recorded: the step that was open on the issuing thread, credited when the call completes
+    transient StepFrame step;
+}
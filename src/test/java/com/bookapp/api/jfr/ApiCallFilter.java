@@ -0,0 +1,73 @@
+package com.bookapp.api.jfr;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records every RestAssured exchange as an {@link ApiCallEvent}. It runs just before
+ * the {@link com.bookapp.api.metrics.TimingFilter}, i.e. after logging and contract
+ * checks, so the event measures the exchange rather than the test's own bookkeeping.
+ * The response size comes from Content-Length: reading the body here would buffer
+ * listings that {@link com.bookapp.api.helper.BookStream} streams.
+ */
+public final class ApiCallFilter implements OrderedFilter {
+
+    public static final ApiCallFilter INSTANCE = new ApiCallFilter();
+
+    private ApiCallFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ApiCallEvent event = FlightEvents.beginApiCall();
+        if (event == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Response response = null;
+        Throwable failure = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } catch (Throwable e) { // RestAssured rethrows IOExceptions (timeouts, resets) undeclared
+            failure = e;
+            throw e;
+        } finally {
+            FlightEvents.endApiCall(event, ApiCallEvent.CLIENT_REST_ASSURED, requestSpec.getMethod(),
+                    requestSpec.getUserDefinedPath(), response != null ? response.statusCode() : 0,
+                    sizeOf(requestSpec.getBody()), contentLength(response), failure);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    private static long sizeOf(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static long contentLength(Response response) {
+        String header = response != null ? response.getHeader("Content-Length") : null;
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookapp.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Allure {@code @Step} of {@link com.bookapp.api.factory.BookApiFactory}, spanning
+ * every API call it made. Endpoint and status are those of the step's last call; the
+ * byte counts are totals over all of them, nested steps included.
+ */
+@Name("com.bookapp.FactoryStep")
+@Label("Factory Step")
+@Category({"Book API", "Steps"})
+@Description("An Allure step of the Book API factory")
+@StackTrace(false)
+public class FactoryStepEvent extends Event {
+
+    @Label("Step")
+    String step;
+
+    @Label("Outcome")
+    @Description("Allure status: passed, failed, broken or skipped")
+    String outcome;
+
+    @Label("API Calls")
+    int calls;
+
+    @Label("Last Endpoint")
+    String endpoint;
+
+    @Label("Last Status")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+}
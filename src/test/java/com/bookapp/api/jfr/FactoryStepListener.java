@@ -0,0 +1,46 @@
+package com.bookapp.api.jfr;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Turns every Allure step (in this suite, the {@code @Step} methods of
+ * {@link com.bookapp.api.factory.BookApiFactory}) into a {@link FactoryStepEvent}.
+ * Allure tracks steps per thread and so does this listener; a step that started
+ * before the recording did is simply not recorded. Registered through
+ * META-INF/services/io.qameta.allure.listener.StepLifecycleListener.
+ */
+public class FactoryStepListener implements StepLifecycleListener {
+
+    private static final ThreadLocal<Deque<StepFrame>> OPEN_STEPS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        FactoryStepEvent event = new FactoryStepEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        OPEN_STEPS.get().push(new StepFrame(result, event));
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        Deque<StepFrame> steps = OPEN_STEPS.get();
+        if (steps.isEmpty() || !steps.peek().isFor(result)) {
+            return;
+        }
+        StepFrame frame = steps.pop();
+        frame.commit(result.getStatus() != null ? result.getStatus().value() : "unknown");
+        if (!steps.isEmpty()) {
+            steps.peek().absorb(frame);
+        }
+    }
+
+    static StepFrame currentStep() {
+        return OPEN_STEPS.get().peek();
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookapp.api.jfr;
+
+import com.bookapp.api.metrics.EndpointTemplates;
+
+/**
+ * Emits {@link ApiCallEvent}s for the client helpers. While no recording has the event
+ * enabled, {@link #beginApiCall()} returns null and callers skip everything else, so
+ * the cost is one allocation the JIT removes and a flag check.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    /** Starts timing a call on the calling thread, or returns null when no recording wants the event. */
+    public static ApiCallEvent beginApiCall() {
+        ApiCallEvent event = new ApiCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.issuer = Thread.currentThread().getName();
+        event.step = FactoryStepListener.currentStep();
+        event.begin();
+        return event;
+    }
+
+    /** Ends and commits the call; may run on another thread than {@link #beginApiCall()}. */
+    public static void endApiCall(ApiCallEvent event, String client, String method, String path, int status,
+                                  long requestBytes, long responseBytes, Throwable failure) {
+        event.end();
+        String endpoint = EndpointTemplates.templateOf(path);
+        if (event.step != null) {
+            event.step.credit(method + " " + endpoint, status, requestBytes, responseBytes);
+        }
+        if (event.shouldCommit()) {
+            event.client = client;
+            event.method = method;
+            event.endpoint = endpoint;
+            event.path = path;
+            event.status = status;
+            event.requestBytes = requestBytes;
+            event.responseBytes = responseBytes;
+            event.failure = failure != null ? failure.getClass().getSimpleName() + ": " + failure.getMessage() : null;
+            event.commit();
+        }
+    }
+}
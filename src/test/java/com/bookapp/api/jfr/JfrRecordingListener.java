@@ -0,0 +1,67 @@
+package com.bookapp.api.jfr;
+
+import com.bookapp.api.utility.AllureReports;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Wraps the whole test plan in a JFR recording when jfr.recording.enabled is set, so
+ * {@link ApiCallEvent}s and {@link FactoryStepEvent}s sit alongside the JVM's GC,
+ * safepoint and allocation events. The file is written when the plan finishes and a
+ * short summary goes to the Allure report. Registered through META-INF/services.
+ */
+public class JfrRecordingListener implements TestExecutionListener {
+
+    private Recording recording;
+    private Path file;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        JfrSettings settings = JfrSettings.fromConfig();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            file = settings.getFile();
+            Files.createDirectories(file.getParent());
+            recording = new Recording(Configuration.getConfiguration(settings.getConfiguration()));
+            recording.setName("book-api-tests");
+            recording.setDestination(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare JFR recording " + settings.getFile(), e);
+        } catch (ParseException e) {
+            throw new RuntimeException("Invalid JFR settings '" + settings.getConfiguration() + "'", e);
+        }
+        // Off in both JDK settings files; cheap at test-suite rates and what latency outliers need
+        recording.enable("jdk.SafepointBegin").withThreshold(Duration.ZERO);
+        recording.start();
+        System.out.println("JFR recording started (" + settings.getConfiguration() + " settings), writing to " + file);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (recording == null) {
+            return;
+        }
+        recording.stop(); // writes the destination file
+        recording.close();
+        recording = null;
+
+        RecordingSummary summary = RecordingSummary.read(file);
+        String text = summary.format();
+        System.out.println("JFR recording written to " + file + "\n" + text);
+        AllureReports.publish("Flight recording", "API calls and JVM pauses recorded by JFR; open " + file
+                        + " in JDK Mission Control for the full timeline",
+                new AllureReports.Attachment("JFR summary", "text/plain", "txt", text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookapp.api.jfr;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Suite-wide flight recording, read from the jfr.recording.* properties. Without an
+ * explicit file the recording lands next to the Allure results directory.
+ */
+@Getter
+@AllArgsConstructor
+public class JfrSettings {
+
+    private final boolean enabled;
+    // A JDK settings file name ("default", "profile") or a path to a custom .jfc
+    private final String configuration;
+    private final Path file;
+
+    public static JfrSettings fromConfig() {
+        String file = ConfigLoader.getProperty("jfr.recording.file", "");
+        return new JfrSettings(
+                ConfigLoader.getBooleanProperty("jfr.recording.enabled", false),
+                ConfigLoader.getProperty("jfr.recording.settings", "profile"),
+                file.isEmpty() ? besideAllureResults() : Path.of(file));
+    }
+
+    private static Path besideAllureResults() {
+        Path results = Path.of(System.getProperty("allure.results.directory", "target/allure-results")).toAbsolutePath();
+        return results.resolveSibling("book-api-tests.jfr");
+    }
+}
@@ -0,0 +1,118 @@
+package com.bookapp.api.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A first look at a suite recording: API call latency split by whether the call
+ * overlapped a GC pause, plus pause and safepoint totals. Anything deeper belongs in
+ * JDK Mission Control or {@code jfr print}.
+ */
+public final class RecordingSummary {
+
+    private static final String API_CALL = "com.bookapp.ApiCall";
+    private static final String FACTORY_STEP = "com.bookapp.FactoryStep";
+    private static final String GC_PAUSE = "jdk.GCPhasePause";
+    private static final String SAFEPOINT = "jdk.SafepointBegin";
+
+    private final Path file;
+    private final long fileBytes;
+    private final Histogram duringPause = new Histogram(3);
+    private final Histogram otherCalls = new Histogram(3);
+    private final Histogram pauses = new Histogram(3);
+    private final Histogram safepoints = new Histogram(3);
+    private long steps;
+
+    private RecordingSummary(Path file, long fileBytes) {
+        this.file = file;
+        this.fileBytes = fileBytes;
+    }
+
+    // Two passes: pauses are few and are needed before calls can be classified
+    public static RecordingSummary read(Path file) {
+        try {
+            RecordingSummary summary = new RecordingSummary(file, Files.size(file));
+            List<long[]> pauseIntervals = new ArrayList<>();
+            try (RecordingFile recording = new RecordingFile(file)) {
+                while (recording.hasMoreEvents()) {
+                    RecordedEvent event = recording.readEvent();
+                    String type = event.getEventType().getName();
+                    if (GC_PAUSE.equals(type)) {
+                        pauseIntervals.add(new long[]{nanos(event.getStartTime()), nanos(event.getEndTime())});
+                        summary.pauses.recordValue(event.getDuration().toNanos() / 1000);
+                    } else if (SAFEPOINT.equals(type)) {
+                        summary.safepoints.recordValue(event.getDuration().toNanos() / 1000);
+                    }
+                }
+            }
+            pauseIntervals.sort((a, b) -> Long.compare(a[0], b[0]));
+            long[] pauseStarts = pauseIntervals.stream().mapToLong(interval -> interval[0]).toArray();
+            try (RecordingFile recording = new RecordingFile(file)) {
+                while (recording.hasMoreEvents()) {
+                    RecordedEvent event = recording.readEvent();
+                    String type = event.getEventType().getName();
+                    if (API_CALL.equals(type)) {
+                        long micros = event.getDuration().toNanos() / 1000;
+                        boolean overlaps = overlapsPause(pauseIntervals, pauseStarts,
+                                nanos(event.getStartTime()), nanos(event.getEndTime()));
+                        (overlaps ? summary.duringPause : summary.otherCalls).recordValue(micros);
+                    } else if (FACTORY_STEP.equals(type)) {
+                        summary.steps++;
+                    }
+                }
+            }
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JFR recording " + file, e);
+        }
+    }
+
+    public String format() {
+        long calls = duringPause.getTotalCount() + otherCalls.getTotalCount();
+        Histogram allCalls = otherCalls.copy();
+        allCalls.add(duringPause);
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Recording: %s (%.1f MB)%n", file, fileBytes / 1e6));
+        sb.append(String.format("API calls: %d (%s); factory steps: %d%n", calls, percentiles(allCalls), steps));
+        sb.append(String.format("GC pauses: %d, total %.1f ms, longest %.1f ms%n", pauses.getTotalCount(),
+                total(pauses), pauses.getMaxValue() / 1000.0));
+        sb.append(String.format("Safepoints: %d, total %.1f ms, longest %.1f ms%n", safepoints.getTotalCount(),
+                total(safepoints), safepoints.getMaxValue() / 1000.0));
+        sb.append(String.format("Calls overlapping a GC pause: %d (%s); other calls: %d (%s)%n",
+                duringPause.getTotalCount(), percentiles(duringPause), otherCalls.getTotalCount(), percentiles(otherCalls)));
+        return sb.toString();
+    }
+
+    private static boolean overlapsPause(List<long[]> intervals, long[] starts, long callStart, long callEnd) {
+        // The last pause starting before the call ends is the only candidate: pauses do not overlap each other
+        int index = Arrays.binarySearch(starts, callEnd);
+        int candidate = index >= 0 ? index : -index - 2;
+        return candidate >= 0 && intervals.get(candidate)[1] >= callStart;
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "none";
+        }
+        return String.format("p50 %.1f ms, p99 %.1f ms, max %.1f ms", histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double total(Histogram histogram) {
+        return histogram.getMean() * histogram.getTotalCount() / 1000.0;
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookapp.api.jfr;
+
+import io.qameta.allure.model.StepResult;
+
+/**
+ * The running totals of one open step. Async calls complete on client threads, so
+ * updates are synchronized.
+ */
+final class StepFrame {
+
+    private final StepResult result;
+    private final FactoryStepEvent event;
+
+    StepFrame(StepResult result, FactoryStepEvent event) {
+        this.result = result;
+        this.event = event;
+    }
+
+    boolean isFor(StepResult result) {
+        return this.result == result;
+    }
+
+    synchronized void credit(String endpoint, int status, long requestBytes, long responseBytes) {
+        event.calls++;
+        event.endpoint = endpoint;
+        event.status = status;
+        event.requestBytes += Math.max(requestBytes, 0);
+        event.responseBytes += Math.max(responseBytes, 0);
+    }
+
+    synchronized void absorb(StepFrame nested) {
+        synchronized (nested) {
+            event.calls += nested.event.calls;
+            if (nested.event.endpoint != null) {
+                event.endpoint = nested.event.endpoint;
+                event.status = nested.event.status;
+            }
+            event.requestBytes += nested.event.requestBytes;
+            event.responseBytes += nested.event.responseBytes;
+        }
+    }
+
+    synchronized void commit(String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.step = result.getName();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bookapp.api.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a {@link LedgerCleaner} pass.
+ */
+@Getter
+@AllArgsConstructor
+public class CleanupReport {
+
+    private final long deleted;
+    // 404: someone (usually the test itself) already removed it
+    private final long alreadyGone;
+    // The ID now holds a different book: SQLite reused it after our book was deleted elsewhere
+    private final long skippedReused;
+    private final long failed;
+    // The service has no endpoint to remove users; they are reported, not reclaimed
+    private final long usersNotReclaimable;
+    private final double elapsedSeconds;
+
+    public boolean isComplete() {
+        return failed == 0;
+    }
+
+    public String format() {
+        return String.format("deleted %d, already gone %d, skipped (ID reused) %d, failed %d, users without a delete endpoint %d, %.1fs",
+                deleted, alreadyGone, skippedReused, failed, usersNotReclaimable, elapsedSeconds);
+    }
+}
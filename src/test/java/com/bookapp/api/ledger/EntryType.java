@@ -0,0 +1,33 @@
+package com.bookapp.api.ledger;
+
+/**
+ * Kinds of journal entry. The code is what goes on disk, so never reuse one.
+ */
+enum EntryType {
+    BOOK_CREATED((byte) 1),
+    BOOK_DELETED((byte) 2),
+    // Created on purpose to outlive the run (bulk seeding); never reclaimed
+    BOOK_RETAINED((byte) 3),
+    USER_CREATED((byte) 4),
+    // A PUT changed the name of a book we own; cleanup matches on the latest name
+    BOOK_RENAMED((byte) 5);
+
+    private final byte code;
+
+    EntryType(byte code) {
+        this.code = code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static EntryType of(byte code) {
+        for (EntryType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookapp.api.ledger;
+
+import com.bookapp.api.helper.AsyncBookApiServiceHelper;
+import com.bookapp.api.helper.UnexpectedStatusError;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reclaims the books a {@link LedgerState} still owes, with at most {@code concurrency}
+ * requests in flight. Each book is fetched first and only deleted if it still carries
+ * the name it was created with; the run-unique names from the test data generator make
+ * that a reliable check that the ID has not been reused for someone else's book.
+ */
+public class LedgerCleaner {
+
+    private final AsyncBookApiServiceHelper bookApi;
+    private final int concurrency;
+
+    /** @param bookApi helper pinned to a valid token, see {@link AsyncBookApiServiceHelper#withAccessToken} */
+    public LedgerCleaner(AsyncBookApiServiceHelper bookApi, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.bookApi = bookApi;
+        this.concurrency = concurrency;
+    }
+
+    public CleanupReport reclaim(LedgerState state) {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(concurrency);
+        LongAdder deleted = new LongAdder();
+        LongAdder alreadyGone = new LongAdder();
+        LongAdder skippedReused = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        for (Map.Entry<Integer, String> book : state.getOutstandingBooks().entrySet()) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            reclaimOne(book.getKey(), book.getValue())
+                    .whenComplete((outcome, failure) -> {
+                        if (failure != null) {
+                            failed.increment();
+                            System.err.println("Ledger cleanup: failed to reclaim book " + book.getKey() + ": " + rootCause(failure).getMessage());
+                        } else if (outcome == Outcome.DELETED) {
+                            deleted.increment();
+                        } else if (outcome == Outcome.GONE) {
+                            alreadyGone.increment();
+                        } else {
+                            skippedReused.increment();
+                        }
+                        permits.release();
+                    });
+        }
+        // Wait for the tail of in-flight requests
+        permits.acquireUninterruptibly(concurrency);
+        permits.release(concurrency);
+
+        return new CleanupReport(deleted.sum(), alreadyGone.sum(), skippedReused.sum(), failed.sum(),
+                state.getUsers().size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private enum Outcome {DELETED, GONE, REUSED}
+
+    private CompletableFuture<Outcome> reclaimOne(int bookId, String name) {
+        return bookApi.getBookByIdAndRead(bookId)
+                .thenCompose(book -> name.equals(book.getName())
+                        ? bookApi.deleteBook(bookId).thenApply(response -> Outcome.DELETED)
+                        : CompletableFuture.completedFuture(Outcome.REUSED))
+                .exceptionallyCompose(failure -> {
+                    Throwable cause = rootCause(failure);
+                    if (cause instanceof UnexpectedStatusError && ((UnexpectedStatusError) cause).getActualStatus() == 404) {
+                        return CompletableFuture.completedFuture(Outcome.GONE);
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
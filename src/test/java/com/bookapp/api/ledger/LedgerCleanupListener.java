@@ -0,0 +1,21 @@
+package com.bookapp.api.ledger;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Runs ledger recovery before the first test and this run's cleanup after the last one.
+ * Registered through META-INF/services.
+ */
+public class LedgerCleanupListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        ResourceLedger.recoverOrphans();
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        ResourceLedger.reclaimOutstanding();
+    }
+}
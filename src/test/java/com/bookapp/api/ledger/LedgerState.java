@@ -0,0 +1,39 @@
+package com.bookapp.api.ledger;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a journal still owes: books created and neither deleted nor retained, and every
+ * user created. Replay is order-aware, so an ID that SQLite hands out again after a
+ * delete is tracked correctly.
+ */
+@Getter
+public class LedgerState {
+
+    // Book ID -> name at creation, used to make sure the ID still refers to our book
+    private final Map<Integer, String> outstandingBooks = new LinkedHashMap<>();
+    private final Set<String> users = new LinkedHashSet<>();
+
+    static LedgerState replay(List<ResourceJournal.JournalEntry> entries) {
+        LedgerState state = new LedgerState();
+        for (ResourceJournal.JournalEntry entry : entries) {
+            switch (entry.type()) {
+                case BOOK_CREATED -> state.outstandingBooks.put(entry.bookId(), entry.bookName());
+                case BOOK_DELETED, BOOK_RETAINED -> state.outstandingBooks.remove(entry.bookId());
+                case BOOK_RENAMED -> state.outstandingBooks.computeIfPresent(entry.bookId(), (id, name) -> entry.bookName());
+                case USER_CREATED -> state.users.add(entry.text());
+            }
+        }
+        return state;
+    }
+
+    public boolean isEmpty() {
+        return outstandingBooks.isEmpty() && users.isEmpty();
+    }
+}
@@ -0,0 +1,250 @@
+package com.bookapp.api.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal owned by one JVM.
+ * <p>
+ * Entries go into fixed-size segment files ({@code <owner>-0000.journal}, ...). Each
+ * entry is {@code [int length][byte type][payload][int crc32]}; the length is written
+ * last, so a reader stops cleanly at the first zero length or bad checksum. Because
+ * the segments are mapped, an append is a memory copy: once it returns, the entry
+ * survives the JVM being killed (the kernel owns the dirty pages). With
+ * {@code force} each append is also flushed to the device, which survives power
+ * loss as well, at the cost of a sync per entry.
+ * <p>
+ * The owner holds an exclusive lock on {@code <owner>.lock} for its lifetime; a
+ * journal whose lock can be taken belongs to a run that is gone.
+ */
+final class ResourceJournal implements AutoCloseable {
+
+    static final String LOCK_SUFFIX = ".lock";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 4;
+    private static final int TRAILER_BYTES = 4;
+
+    private final Path directory;
+    private final String owner;
+    private final int segmentBytes;
+    private final boolean force;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+
+    private ResourceJournal(Path directory, String owner, int segmentBytes, boolean force,
+                            FileChannel lockChannel, FileLock lock) {
+        this.directory = directory;
+        this.owner = owner;
+        this.segmentBytes = segmentBytes;
+        this.force = force;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    /** Creates a new journal and takes ownership of it. */
+    static ResourceJournal create(Path directory, String owner, int segmentBytes, boolean force) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(directory.resolve(owner + LOCK_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Journal " + owner + " is already owned by another process");
+        }
+        ResourceJournal journal = new ResourceJournal(directory, owner, segmentBytes, force, lockChannel, lock);
+        journal.openSegment(0);
+        return journal;
+    }
+
+    /**
+     * Takes over the journal of a run that is no longer alive. Returns null if its
+     * owner (in this or another JVM) still holds the lock.
+     */
+    static ResourceJournal adoptOrphan(Path directory, String owner, int segmentBytes) throws IOException {
+        FileChannel lockChannel = FileChannel.open(directory.resolve(owner + LOCK_SUFFIX), StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            return null;
+        }
+        return new ResourceJournal(directory, owner, segmentBytes, false, lockChannel, lock);
+    }
+
+    /** Owners of every journal in the directory, live or not. */
+    static List<String> owners(Path directory) throws IOException {
+        List<String> owners = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return owners;
+        }
+        try (DirectoryStream<Path> locks = Files.newDirectoryStream(directory, "*" + LOCK_SUFFIX)) {
+            for (Path lockFile : locks) {
+                String name = lockFile.getFileName().toString();
+                owners.add(name.substring(0, name.length() - LOCK_SUFFIX.length()));
+            }
+        }
+        return owners;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    synchronized void append(EntryType type, byte[] payload) {
+        int length = 1 + payload.length;
+        int total = HEADER_BYTES + length + TRAILER_BYTES;
+        // Keep room for the zero length that terminates the segment
+        if (total + HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Journal entry of " + total + " bytes does not fit a segment");
+        }
+        if (segment.position() + total + HEADER_BYTES > segmentBytes) {
+            rotate();
+        }
+        int start = segment.position();
+        CRC32 crc = new CRC32();
+        crc.update(type.code());
+        crc.update(payload);
+        segment.put(start + HEADER_BYTES, type.code());
+        segment.put(start + HEADER_BYTES + 1, payload);
+        segment.putInt(start + HEADER_BYTES + length, (int) crc.getValue());
+        segment.putInt(start, length); // commit
+        segment.position(start + total);
+        if (force) {
+            segment.force();
+        }
+    }
+
+    /** Every intact entry in every segment, in append order. */
+    synchronized List<JournalEntry> read() throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int index = 0; Files.exists(segmentPath(index)); index++) {
+            readSegment(segmentPath(index), entries);
+        }
+        return entries;
+    }
+
+    /** Removes the segments and the lock file; the journal is unusable afterwards. */
+    synchronized void delete() throws IOException {
+        closeSegment();
+        for (int index = 0; Files.exists(segmentPath(index)); index++) {
+            Files.delete(segmentPath(index));
+        }
+        Files.deleteIfExists(directory.resolve(owner + LOCK_SUFFIX));
+        release();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeSegment();
+        release();
+    }
+
+    private void rotate() {
+        try {
+            segment.force();
+            closeSegment();
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate journal " + owner, e);
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        segmentIndex = index;
+        segmentChannel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private void closeSegment() throws IOException {
+        if (segmentChannel != null) {
+            segmentChannel.close(); // the mapping stays valid until it is garbage collected
+            segmentChannel = null;
+        }
+    }
+
+    private void release() throws IOException {
+        if (lock.isValid()) {
+            lock.release();
+        }
+        lockChannel.close();
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s-%04d%s", owner, index, SEGMENT_SUFFIX));
+    }
+
+    private static void readSegment(Path file, List<JournalEntry> entries) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt(start);
+                if (length <= 0 || start + HEADER_BYTES + length + TRAILER_BYTES > buffer.limit()) {
+                    return; // end of the written part, or a torn entry
+                }
+                byte code = buffer.get(start + HEADER_BYTES);
+                byte[] payload = new byte[length - 1];
+                buffer.get(start + HEADER_BYTES + 1, payload);
+                CRC32 crc = new CRC32();
+                crc.update(code);
+                crc.update(payload);
+                EntryType type = EntryType.of(code);
+                if (type == null || buffer.getInt(start + HEADER_BYTES + length) != (int) crc.getValue()) {
+                    return;
+                }
+                entries.add(new JournalEntry(type, payload));
+                buffer.position(start + HEADER_BYTES + length + TRAILER_BYTES);
+            }
+        }
+    }
+
+    record JournalEntry(EntryType type, byte[] payload) {
+
+        static byte[] book(int id, String name) {
+            byte[] nameBytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(4 + nameBytes.length).putInt(id).put(nameBytes).array();
+        }
+
+        static byte[] book(int id) {
+            return ByteBuffer.allocate(4).putInt(id).array();
+        }
+
+        static byte[] text(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        int bookId() {
+            return ByteBuffer.wrap(payload).getInt();
+        }
+
+        String bookName() {
+            return new String(payload, 4, payload.length - 4, StandardCharsets.UTF_8);
+        }
+
+        String text() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.bookapp.api.ledger;
+
+import com.bookapp.api.factory.TestDataGenerator;
+import com.bookapp.api.helper.AsyncBookApiServiceHelper;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.model.user.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Durable record of every book and user this JVM creates, written the moment the
+ * service confirms the create (see {@link ResourceJournal} for the on-disk format).
+ * <p>
+ * {@link #reclaimOutstanding()} deletes what this run still owes once it is over;
+ * {@link #recoverOrphans()} does the same, at the start of a run, for journals left
+ * behind by runs that were killed. Both go through a {@link LedgerCleaner} with
+ * {@code ledger.cleanup.concurrency} requests in flight.
+ */
+public final class ResourceLedger {
+
+    private static final boolean ENABLED = ConfigLoader.getBooleanProperty("ledger.enabled", true);
+    private static final Path DIRECTORY = Path.of(ConfigLoader.getProperty("ledger.dir", "target/ledger"));
+    private static final int SEGMENT_BYTES = ConfigLoader.getIntegerProperty("ledger.segment.bytes", 8 * 1024 * 1024);
+    private static final boolean FSYNC = ConfigLoader.getBooleanProperty("ledger.fsync", false);
+    private static final int CLEANUP_CONCURRENCY = ConfigLoader.getIntegerProperty("ledger.cleanup.concurrency", 16);
+    private static final String OWNER = "run-" + Long.toString(System.currentTimeMillis(), 36) + "-" + ProcessHandle.current().pid();
+
+    // Opened on the first create so runs that create nothing leave no files behind
+    private static ResourceJournal journal;
+    private static boolean disabled;
+
+    private ResourceLedger() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void bookCreated(Integer bookId, String name) {
+        if (bookId != null) {
+            append(EntryType.BOOK_CREATED, ResourceJournal.JournalEntry.book(bookId, name));
+        }
+    }
+
+    public static void bookDeleted(Integer bookId) {
+        if (bookId != null) {
+            append(EntryType.BOOK_DELETED, ResourceJournal.JournalEntry.book(bookId));
+        }
+    }
+
+    /** Only affects books this run still owes; renaming someone else's book does not make it ours. */
+    public static void bookRenamed(Integer bookId, String name) {
+        if (bookId != null) {
+            append(EntryType.BOOK_RENAMED, ResourceJournal.JournalEntry.book(bookId, name));
+        }
+    }
+
+    /** Marks a book as intentionally kept (e.g. seeded data) so no cleanup touches it. */
+    public static void bookRetained(Integer bookId) {
+        if (bookId != null) {
+            append(EntryType.BOOK_RETAINED, ResourceJournal.JournalEntry.book(bookId));
+        }
+    }
+
+    public static void userCreated(String email) {
+        if (email != null) {
+            append(EntryType.USER_CREATED, ResourceJournal.JournalEntry.text(email));
+        }
+    }
+
+    /** What this run still owes. */
+    public static synchronized LedgerState outstanding() throws IOException {
+        return journal == null ? new LedgerState() : LedgerState.replay(journal.read());
+    }
+
+    /** Reclaims this run's outstanding books; the journal is removed if nothing is left owing. */
+    public static void reclaimOutstanding() {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            LedgerState state = outstanding();
+            if (state.getOutstandingBooks().isEmpty()) {
+                closeOwnJournal(true);
+                return;
+            }
+            System.out.println("Ledger cleanup: reclaiming " + state.getOutstandingBooks().size() + " book(s) left by this run");
+            CleanupReport report = newCleaner().reclaim(state);
+            System.out.println("Ledger cleanup: " + report.format());
+            closeOwnJournal(report.isComplete());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ledger cleanup failed; the journal is kept for the next run: " + e.getMessage());
+        }
+    }
+
+    /** Reclaims whatever runs that died without cleaning up still owe. */
+    public static void recoverOrphans() {
+        if (!ENABLED) {
+            return;
+        }
+        LedgerCleaner cleaner = null;
+        try {
+            for (String owner : ResourceJournal.owners(DIRECTORY)) {
+                if (owner.equals(OWNER)) {
+                    continue;
+                }
+                ResourceJournal orphan = ResourceJournal.adoptOrphan(DIRECTORY, owner, SEGMENT_BYTES);
+                if (orphan == null) {
+                    continue; // its run is still going
+                }
+                LedgerState state = LedgerState.replay(orphan.read());
+                if (state.getOutstandingBooks().isEmpty()) {
+                    orphan.delete();
+                    continue;
+                }
+                System.out.println("Ledger recovery: " + owner + " left " + state.getOutstandingBooks().size() + " book(s) behind");
+                if (cleaner == null) {
+                    cleaner = newCleaner();
+                }
+                CleanupReport report = cleaner.reclaim(state);
+                System.out.println("Ledger recovery: " + report.format());
+                if (report.isComplete()) {
+                    orphan.delete();
+                } else {
+                    orphan.close();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ledger recovery failed; orphaned journals are kept for the next run: " + e.getMessage());
+        }
+    }
+
+    private static void append(EntryType type, byte[] payload) {
+        ResourceJournal target = journal();
+        if (target != null) {
+            target.append(type, payload);
+        }
+    }
+
+    private static synchronized ResourceJournal journal() {
+        if (!ENABLED || disabled) {
+            return null;
+        }
+        if (journal == null) {
+            try {
+                journal = ResourceJournal.create(DIRECTORY, OWNER, SEGMENT_BYTES, FSYNC);
+            } catch (IOException e) {
+                disabled = true;
+                System.err.println("Resource ledger disabled, cannot open a journal in " + DIRECTORY + ": " + e.getMessage());
+            }
+        }
+        return journal;
+    }
+
+    private static synchronized void closeOwnJournal(boolean delete) throws IOException {
+        if (journal == null) {
+            return;
+        }
+        if (delete) {
+            journal.delete();
+        } else {
+            journal.close();
+        }
+        journal = null;
+        disabled = true; // anything created after the final cleanup is not ours to track any more
+    }
+
+    // Cleanup runs outside any test, so it signs up its own user rather than relying on a bound token
+    private static LedgerCleaner newCleaner() {
+        AsyncBookApiServiceHelper bookApi = new AsyncBookApiServiceHelper();
+        User janitor = TestDataGenerator.shared().nextUser();
+        bookApi.signupUser(janitor).join();
+        String token = bookApi.login(janitor).join().getAccessToken();
+        return new LedgerCleaner(bookApi.withAccessToken(token), CLEANUP_CONCURRENCY);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bookapp.api.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * IDs of books created during a load run. Reads and updates borrow an ID and
+ * hand it back, deletes keep it, so two virtual users never race a delete
+ * against a read of the same book.
+ */
+public class BookIdPool {
+
+    private final ConcurrentLinkedQueue<Integer> available = new ConcurrentLinkedQueue<>();
+
+    public void add(Integer bookId) {
+        if (bookId != null) {
+            available.offer(bookId);
+        }
+    }
+
+    /** Returns an ID for exclusive use, or null if the pool is empty. */
+    public Integer borrow() {
+        return available.poll();
+    }
+
+    public void giveBack(Integer bookId) {
+        add(bookId);
+    }
+
+    public int size() {
+        return available.size();
+    }
+
+    public List<Integer> drain() {
+        List<Integer> ids = new ArrayList<>();
+        Integer id;
+        while ((id = available.poll()) != null) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookapp.api.load;
+
+/**
+ * Book service operations the load engine can drive. Each one maps onto a
+ * {@link com.bookapp.api.helper.BookApiServiceHelper} call.
+ */
+public enum BookOperation {
+    CREATE,
+    GET_BY_ID,
+    UPDATE,
+    DELETE,
+    GET_ALL
+}
@@ -0,0 +1,91 @@
+package com.bookapp.api.load;
+
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import io.restassured.response.Response;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Performs one {@link BookOperation} through the {@link BookApiServiceHelper},
+ * keeping the books it creates in a {@link BookIdPool} so reads, updates and deletes
+ * have something to work on. Shared by the load engine and the capacity finder.
+ */
+public class BookOperationRunner {
+
+    private final BookApiServiceHelper bookApiServiceHelper;
+    private final Supplier<Book> payloadSupplier;
+    private final BookIdPool bookIdPool = new BookIdPool();
+
+    public BookOperationRunner(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloadSupplier) {
+        this.bookApiServiceHelper = bookApiServiceHelper;
+        this.payloadSupplier = payloadSupplier;
+    }
+
+    public BookIdPool getBookIdPool() {
+        return bookIdPool;
+    }
+
+    // Returns the operation actually performed: reads, updates and deletes fall back to a create while the pool is empty
+    public BookOperation execute(BookOperation operation) {
+        if (operation == BookOperation.GET_ALL) {
+            bookApiServiceHelper.getAllBooks();
+            return operation;
+        }
+        if (operation == BookOperation.CREATE) {
+            create();
+            return operation;
+        }
+        Integer bookId = bookIdPool.borrow();
+        if (bookId == null) {
+            create();
+            return BookOperation.CREATE;
+        }
+        switch (operation) {
+            case GET_BY_ID:
+                try {
+                    bookApiServiceHelper.getBookById(bookId);
+                } finally {
+                    bookIdPool.giveBack(bookId);
+                }
+                break;
+            case UPDATE:
+                try {
+                    Book payload = payloadSupplier.get();
+                    payload.setId(bookId);
+                    bookApiServiceHelper.updateBook(bookId, payload);
+                } finally {
+                    bookIdPool.giveBack(bookId);
+                }
+                break;
+            case DELETE:
+                bookApiServiceHelper.deleteBook(bookId);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled operation " + operation);
+        }
+        return operation;
+    }
+
+    /** Deletes every book still held in the pool. Returns how many were removed. */
+    public int cleanup() {
+        List<Integer> remaining = bookIdPool.drain();
+        int deleted = 0;
+        for (Integer bookId : remaining) {
+            try {
+                bookApiServiceHelper.deleteBook(bookId);
+                deleted++;
+            } catch (AssertionError | RuntimeException e) {
+                System.err.println("Failed to clean up book " + bookId + ": " + e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private void create() {
+        Response response = bookApiServiceHelper.createBook(payloadSupplier.get());
+        bookIdPool.add(SharedObjectMapper.readBook(response.asByteArray()).getId());
+    }
+}
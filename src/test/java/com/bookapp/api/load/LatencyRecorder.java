@@ -0,0 +1,68 @@
+package com.bookapp.api.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency capture. Two histograms are kept for each operation:
+ * <ul>
+ *     <li>response time, measured from the <em>intended</em> start of the request
+ *     as dictated by the arrival schedule, which corrects for coordinated omission;</li>
+ *     <li>service time, measured from when the request actually went out.</li>
+ * </ul>
+ * Values are recorded in microseconds. {@link Recorder} makes recording wait-free
+ * from any number of threads.
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<BookOperation, Recorder> responseTimes = new EnumMap<>(BookOperation.class);
+    private final Map<BookOperation, Recorder> serviceTimes = new EnumMap<>(BookOperation.class);
+    private final Map<BookOperation, LongAdder> errors = new EnumMap<>(BookOperation.class);
+
+    private final Map<BookOperation, Histogram> responseTotals = new EnumMap<>(BookOperation.class);
+    private final Map<BookOperation, Histogram> serviceTotals = new EnumMap<>(BookOperation.class);
+
+    public LatencyRecorder() {
+        for (BookOperation operation : BookOperation.values()) {
+            responseTimes.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            serviceTimes.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+            responseTotals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+            serviceTotals.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    public void record(BookOperation operation, long intendedStartNanos, long actualStartNanos, long endNanos, boolean success) {
+        responseTimes.get(operation).recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - intendedStartNanos)));
+        serviceTimes.get(operation).recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - actualStartNanos)));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Folds everything recorded since the previous call into the run totals and
+     * returns a copy of those totals. Safe to call while recording continues.
+     */
+    public synchronized Map<BookOperation, OperationStats> snapshot(double elapsedSeconds) {
+        Map<BookOperation, OperationStats> stats = new EnumMap<>(BookOperation.class);
+        for (BookOperation operation : BookOperation.values()) {
+            Histogram response = responseTotals.get(operation);
+            Histogram service = serviceTotals.get(operation);
+            response.add(responseTimes.get(operation).getIntervalHistogram());
+            service.add(serviceTimes.get(operation).getIntervalHistogram());
+            if (response.getTotalCount() > 0) {
+                stats.put(operation, new OperationStats(operation, response.copy(), service.copy(),
+                        errors.get(operation).sum(), elapsedSeconds));
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bookapp.api.load;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.model.book.Book;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator for the book service.
+ * <p>
+ * A single dispatcher thread walks the {@link LoadProfile} and hands each arrival,
+ * stamped with its intended start time, to a virtual user. Arrivals are never
+ * delayed by slow responses: if every virtual user is busy the arrival waits for
+ * one, and that wait is charged to its response time, so the recorded latencies
+ * are free of coordinated omission.
+ * <p>
+ * With a {@link TokenPool} attached each virtual user authenticates as its own
+ * pooled identity; otherwise all of them share the token held by {@link RequestHelper}.
+ * A pooled request rejected with 403 is retried once after the session logs in again,
+ * so runs outlive the token lifetime even if a background refresh was missed.
+ */
+public class LoadEngine {
+
+    private static class VirtualUser {
+        private final TokenPool.Session session;
+
+        VirtualUser(TokenPool.Session session) {
+            this.session = session;
+        }
+    }
+
+    private final BookOperationRunner operations;
+    private final int virtualUsers;
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private final LongAdder completed = new LongAdder();
+    private long progressIntervalNanos = TimeUnit.SECONDS.toNanos(10);
+    private long drainTimeoutSeconds = 60;
+    private TokenPool tokenPool;
+    private volatile long runStartNanos;
+
+    public LoadEngine(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloadSupplier, int virtualUsers) {
+        if (virtualUsers <= 0) {
+            throw new IllegalArgumentException("virtualUsers must be positive");
+        }
+        this.operations = new BookOperationRunner(bookApiServiceHelper, payloadSupplier);
+        this.virtualUsers = virtualUsers;
+    }
+
+    public LoadEngine withProgressInterval(long seconds) {
+        this.progressIntervalNanos = seconds <= 0 ? Long.MAX_VALUE : TimeUnit.SECONDS.toNanos(seconds);
+        return this;
+    }
+
+    public LoadEngine withDrainTimeout(long seconds) {
+        this.drainTimeoutSeconds = seconds;
+        return this;
+    }
+
+    public LoadEngine withTokenPool(TokenPool tokenPool) {
+        this.tokenPool = tokenPool;
+        return this;
+    }
+
+    public BookIdPool getBookIdPool() {
+        return operations.getBookIdPool();
+    }
+
+    /**
+     * Latency totals recorded so far. May be called from another thread while
+     * {@link #run} is in progress.
+     */
+    public Map<BookOperation, OperationStats> snapshot() {
+        return latencyRecorder.snapshot((System.nanoTime() - runStartNanos) / 1e9);
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public LoadReport run(LoadProfile profile, OperationMix mix) {
+        System.out.println("Starting load run: " + profile + ", mix " + mix + ", virtual users " + virtualUsers
+                + (VirtualThreads.isAvailable() ? " (virtual threads)" : " (platform threads)"));
+        ExecutorService executor = VirtualThreads.newExecutor("load-vu", virtualUsers);
+        BlockingQueue<VirtualUser> idleUsers = new ArrayBlockingQueue<>(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            idleUsers.add(new VirtualUser(tokenPool != null ? tokenPool.next() : null));
+        }
+        long scheduled = 0;
+
+        long start = System.nanoTime();
+        runStartNanos = start;
+        long nextProgress = start + progressIntervalNanos;
+        long offset = profile.rateAt(0) > 0 ? 0 : profile.nextArrival(0);
+        try {
+            while (offset >= 0 && !Thread.currentThread().isInterrupted()) {
+                final long arrival = start + offset;
+                sleepUntil(arrival);
+
+                final BookOperation operation = mix.next();
+                executor.execute(() -> runOne(operation, arrival, idleUsers));
+                scheduled++;
+                offset = profile.nextArrival(offset);
+
+                if (System.nanoTime() >= nextProgress) {
+                    printProgress(start, scheduled);
+                    nextProgress += progressIntervalNanos;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                    System.err.println("Load run: in-flight requests did not drain within " + drainTimeoutSeconds + "s");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        Map<BookOperation, OperationStats> stats = latencyRecorder.snapshot(elapsedSeconds);
+        return new LoadReport(profile, mix, stats, scheduled, completed.sum(), elapsedSeconds);
+    }
+
+    /** Deletes every book still held in the pool. Returns how many were removed. */
+    public int cleanup() {
+        return operations.cleanup();
+    }
+
+    private void runOne(BookOperation operation, long intendedStartNanos, BlockingQueue<VirtualUser> idleUsers) {
+        VirtualUser user;
+        try {
+            user = idleUsers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long actualStart = System.nanoTime();
+        BookOperation performed = operation;
+        boolean success = false;
+        try {
+            performed = user.session != null ? tokenPool.callAs(user.session, () -> operations.execute(operation)) : operations.execute(operation);
+            success = true;
+        } catch (AssertionError | RuntimeException e) {
+            // Status mismatches surface as AssertionError from logAndExtractResponse
+        } finally {
+            latencyRecorder.record(performed, intendedStartNanos, actualStart, System.nanoTime(), success);
+            completed.increment();
+            idleUsers.offer(user);
+        }
+    }
+
+    private void printProgress(long start, long scheduled) {
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Load run: %.0fs elapsed, %d scheduled, %d completed, %.1f req/s%n",
+                elapsed, scheduled, completed.sum(), completed.sum() / elapsed);
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bookapp.api.load;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Open-model arrival schedule: a sequence of stages, each with a start and end
+ * rate in requests per second. A constant stage has equal rates, a ramp
+ * interpolates linearly between them.
+ */
+public class LoadProfile {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stage {
+        private final Duration duration;
+        private final double startRate;
+        private final double endRate;
+
+        double rateAt(long offsetNanos) {
+            double progress = Math.min(1.0, (double) offsetNanos / duration.toNanos());
+            return startRate + (endRate - startRate) * progress;
+        }
+
+        // Integral of the rate from fromNanos to the end of the stage
+        double arrivalsAfter(long fromNanos) {
+            return (rateAt(fromNanos) + endRate) / 2 * (duration.toNanos() - fromNanos) / 1e9;
+        }
+
+        // Seconds after fromNanos at which the rate's integral reaches arrivals; infinite if it never does.
+        // Solves r0*t + slope*t^2/2 = arrivals in the form that stays exact as the slope goes to zero.
+        double secondsUntil(long fromNanos, double arrivals) {
+            double r0 = rateAt(fromNanos);
+            double slope = (endRate - startRate) / (duration.toNanos() / 1e9);
+            double discriminant = r0 * r0 + 2 * slope * arrivals;
+            if (discriminant < 0 || r0 + Math.sqrt(discriminant) <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return 2 * arrivals / (r0 + Math.sqrt(discriminant));
+        }
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    public static LoadProfile constant(double ratePerSecond, Duration duration) {
+        return new LoadProfile().thenConstant(ratePerSecond, duration);
+    }
+
+    public static LoadProfile ramp(double fromRate, double toRate, Duration duration) {
+        return new LoadProfile().thenRamp(fromRate, toRate, duration);
+    }
+
+    /**
+     * Builds the profile from load.rate, load.duration.seconds and the optional
+     * load.ramp.seconds / load.ramp.start.rate warm-up ramp.
+     */
+    public static LoadProfile fromConfig() {
+        double rate = ConfigLoader.getDoubleProperty("load.rate", 50);
+        long durationSeconds = ConfigLoader.getLongProperty("load.duration.seconds", 30);
+        long rampSeconds = ConfigLoader.getLongProperty("load.ramp.seconds", 0);
+        double rampStartRate = ConfigLoader.getDoubleProperty("load.ramp.start.rate", 1);
+
+        LoadProfile profile = new LoadProfile();
+        if (rampSeconds > 0) {
+            profile.thenRamp(rampStartRate, rate, Duration.ofSeconds(rampSeconds));
+        }
+        return profile.thenConstant(rate, Duration.ofSeconds(durationSeconds));
+    }
+
+    public LoadProfile thenConstant(double ratePerSecond, Duration duration) {
+        return thenRamp(ratePerSecond, ratePerSecond, duration);
+    }
+
+    public LoadProfile thenRamp(double fromRate, double toRate, Duration duration) {
+        if (fromRate < 0 || toRate < 0 || (fromRate == 0 && toRate == 0)) {
+            throw new IllegalArgumentException("Stage rates must be non-negative and not both zero");
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Stage duration must be positive");
+        }
+        stages.add(new Stage(duration, fromRate, toRate));
+        return this;
+    }
+
+    public List<Stage> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    public Duration getTotalDuration() {
+        return stages.stream().map(Stage::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * Returns the target rate at the given offset from the start of the run,
+     * or -1 once every stage has elapsed.
+     */
+    public double rateAt(long offsetNanos) {
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long stageEnd = stageStart + stage.getDuration().toNanos();
+            if (offsetNanos < stageEnd) {
+                return stage.rateAt(offsetNanos - stageStart);
+            }
+            stageStart = stageEnd;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset of the arrival after one at {@code offsetNanos}: the point at
+     * which the integral of the rate since {@code offsetNanos} reaches one request, so
+     * a ramp delivers the requests its area promises however low it starts. Returns -1
+     * if the profile ends first.
+     */
+    public long nextArrival(long offsetNanos) {
+        double needed = 1.0;
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long stageEnd = stageStart + stage.getDuration().toNanos();
+            if (offsetNanos < stageEnd) {
+                long from = Math.max(0, offsetNanos - stageStart);
+                double seconds = stage.secondsUntil(from, needed);
+                if (from + seconds * 1e9 < stage.getDuration().toNanos()) {
+                    return Math.max(offsetNanos + 1, stageStart + from + Math.round(seconds * 1e9));
+                }
+                needed -= stage.arrivalsAfter(from);
+            }
+            stageStart = stageEnd;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Stage stage : stages) {
+            if (sb.length() > 0) {
+                sb.append(" -> ");
+            }
+            if (stage.getStartRate() == stage.getEndRate()) {
+                sb.append(String.format("%.1f/s for %ds", stage.getStartRate(), stage.getDuration().toSeconds()));
+            } else {
+                sb.append(String.format("%.1f..%.1f/s over %ds", stage.getStartRate(), stage.getEndRate(), stage.getDuration().toSeconds()));
+            }
+        }
+        return sb.toString();
+    }
+}
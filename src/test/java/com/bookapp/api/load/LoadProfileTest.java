@@ -0,0 +1,58 @@
+package com.bookapp.api.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadProfileTest {
+
+    @Test
+    @DisplayName("A constant stage spaces arrivals evenly and delivers rate x duration requests")
+    void constantStageDeliversItsArea() {
+        LoadProfile profile = LoadProfile.constant(50, Duration.ofSeconds(10));
+        assertThat(profile.nextArrival(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(arrivals(profile)).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("A ramp from a low start rate delivers the requests under its rate curve")
+    void lowStartRampDeliversItsArea() {
+        // (1 + 100) / 2 * 10 s = 505 requests; stepping by the rate sampled at each arrival delivered far fewer
+        LoadProfile profile = LoadProfile.ramp(1, 100, Duration.ofSeconds(10));
+        assertThat((double) arrivals(profile)).isCloseTo(505, within(1.0));
+        // First gap: t + 9.9 t^2 / 2 = 1, about 0.36 s rather than the full second 1/rate(0) would give
+        assertThat(profile.nextArrival(0) / 1e9).isCloseTo(0.3597, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Arrivals carry across stage boundaries, including a ramp that starts at zero")
+    void arrivalsCarryAcrossStages() {
+        LoadProfile profile = LoadProfile.ramp(0, 20, Duration.ofSeconds(2)).thenConstant(20, Duration.ofSeconds(3));
+        assertThat((double) arrivals(profile)).isCloseTo(20 + 60, within(1.0));
+        // Half a request left at the end of the first stage is made up 25 ms into the second
+        LoadProfile split = LoadProfile.constant(2, Duration.ofMillis(250)).thenConstant(20, Duration.ofSeconds(1));
+        assertThat(split.nextArrival(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(275));
+    }
+
+    @Test
+    @DisplayName("No arrival is scheduled past the end of the profile")
+    void profileEndStopsArrivals() {
+        LoadProfile profile = LoadProfile.ramp(10, 0, Duration.ofSeconds(1));
+        assertThat(arrivals(profile)).isEqualTo(5);
+        assertThat(profile.nextArrival(TimeUnit.SECONDS.toNanos(2))).isEqualTo(-1);
+    }
+
+    // Walks the profile the way LoadEngine does
+    private static long arrivals(LoadProfile profile) {
+        long count = 0;
+        for (long offset = profile.rateAt(0) > 0 ? 0 : profile.nextArrival(0); offset >= 0; offset = profile.nextArrival(offset)) {
+            count++;
+        }
+        return count;
+    }
+}
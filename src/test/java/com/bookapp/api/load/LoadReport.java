@@ -0,0 +1,56 @@
+package com.bookapp.api.load;
+
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadEngine} run.
+ */
+@Getter
+@AllArgsConstructor
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final OperationMix mix;
+    private final Map<BookOperation, OperationStats> operations;
+    private final long scheduled;
+    private final long completed;
+    private final double elapsedSeconds;
+
+    public long getTotalErrors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrorCount).sum();
+    }
+
+    public double getErrorRate() {
+        return completed == 0 ? 0 : (double) getTotalErrors() / completed;
+    }
+
+    public double getThroughput() {
+        return elapsedSeconds > 0 ? completed / elapsedSeconds : 0;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Profile: %s%nMix: %s%n", profile, mix));
+        sb.append(String.format("Scheduled: %d, completed: %d, errors: %d (%.2f%%), elapsed: %.1fs, throughput: %.1f req/s%n",
+                scheduled, completed, getTotalErrors(), getErrorRate() * 100, elapsedSeconds, getThroughput()));
+        sb.append(String.format("%-10s %9s %8s %9s | %9s %9s %9s %9s %9s | %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p50", "svc p99"));
+        for (OperationStats stats : operations.values()) {
+            sb.append(String.format("%-10s %9d %8d %9.1f | %9.2f %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f%n",
+                    stats.getOperation(), stats.getCount(), stats.getErrorCount(), stats.getThroughput(),
+                    stats.responsePercentileMillis(50), stats.responsePercentileMillis(90),
+                    stats.responsePercentileMillis(99), stats.responsePercentileMillis(99.9),
+                    stats.getResponseTime().getMaxValue() / 1000.0,
+                    stats.servicePercentileMillis(50), stats.servicePercentileMillis(99)));
+        }
+        return sb.toString();
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Load test report", "text/plain", format());
+    }
+}
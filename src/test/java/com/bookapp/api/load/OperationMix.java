@@ -0,0 +1,77 @@
+package com.bookapp.api.load;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mix of {@link BookOperation}s. Weights are relative, so
+ * "CREATE:1,GET_BY_ID:4" means four reads for every create.
+ */
+public class OperationMix {
+
+    private static final String DEFAULT_MIX = "CREATE:20,GET_BY_ID:50,UPDATE:15,DELETE:5,GET_ALL:10";
+
+    private final BookOperation[] operations;
+    private final double[] cumulativeWeights;
+    private final Map<BookOperation, Double> weights;
+
+    public OperationMix(Map<BookOperation, Double> weights) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (weights.isEmpty() || total <= 0) {
+            throw new IllegalArgumentException("Operation mix must contain at least one positive weight: " + weights);
+        }
+        this.weights = new EnumMap<>(weights);
+        this.operations = new BookOperation[weights.size()];
+        this.cumulativeWeights = new double[weights.size()];
+        int i = 0;
+        double running = 0;
+        for (Map.Entry<BookOperation, Double> entry : this.weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            running += entry.getValue() / total;
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = running;
+            i++;
+        }
+    }
+
+    // Parses "OP:weight,OP:weight" as used by the load.mix property
+    public static OperationMix parse(String spec) {
+        Map<BookOperation, Double> weights = new EnumMap<>(BookOperation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid operation mix entry '" + part + "', expected OP:weight");
+            }
+            weights.merge(BookOperation.valueOf(pair[0].trim().toUpperCase()), Double.parseDouble(pair[1].trim()), Double::sum);
+        }
+        return new OperationMix(weights);
+    }
+
+    public static OperationMix fromConfig() {
+        return parse(ConfigLoader.getProperty("load.mix", DEFAULT_MIX));
+    }
+
+    public BookOperation next() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<BookOperation, Double> getWeights() {
+        return new EnumMap<>(weights);
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookapp.api.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and throughput figures for one operation over a load run.
+ * Histogram values are in microseconds.
+ */
+@Getter
+@AllArgsConstructor
+public class OperationStats {
+
+    private final BookOperation operation;
+    private final Histogram responseTime;
+    private final Histogram serviceTime;
+    private final long errorCount;
+    private final double elapsedSeconds;
+
+    public long getCount() {
+        return responseTime.getTotalCount();
+    }
+
+    public double getThroughput() {
+        return elapsedSeconds > 0 ? getCount() / elapsedSeconds : 0;
+    }
+
+    public double getErrorRate() {
+        return getCount() == 0 ? 0 : (double) errorCount / getCount();
+    }
+
+    public double responsePercentileMillis(double percentile) {
+        return responseTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double servicePercentileMillis(double percentile) {
+        return serviceTime.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookapp.api.load;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor that runs virtual users. On JDK 21+ every request gets
+ * its own virtual thread; on older runtimes (the build targets 17) we fall back
+ * to a fixed pool of daemon platform threads sized to the virtual-user count.
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_EXECUTOR = lookupVirtualExecutor();
+
+    private VirtualThreads() {
+    }
+
+    private static Method lookupVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    public static ExecutorService newExecutor(String namePrefix, int platformFallbackThreads) {
+        if (NEW_VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to create virtual thread executor", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformFallbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookapp.api.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes log entries to stdout from a single background thread so request threads
+ * never block on console I/O. The queue is bounded: when it is full new entries are
+ * dropped and counted rather than slowing the caller down. Whatever is still queued
+ * is written out when the JVM shuts down.
+ */
+public final class AsyncLogAppender {
+
+    private static final int DRAIN_BATCH = 64;
+
+    private final BlockingQueue<Object> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+
+    AsyncLogAppender(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::writeLoop, "async-log-appender");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drainNow, "async-log-appender-flush"));
+    }
+
+    /** Accepts a String or an {@link Exchange}; exchanges are rendered on the writer thread. */
+    void append(Object entry) {
+        if (queue.offer(entry)) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /** Blocks until everything queued so far has been written, or the timeout passes. */
+    public void flush(long timeoutMillis) {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written.get() < target && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, DRAIN_BATCH - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private synchronized void drainNow() {
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+        if (dropped.sum() > 0) {
+            System.out.println("Async log appender dropped " + dropped.sum() + " entries (queue full)");
+        }
+    }
+
+    private void write(List<Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object entry : entries) {
+            sb.append(entry instanceof Exchange ? ((Exchange) entry).render() : entry).append('\n');
+        }
+        System.out.print(sb);
+        System.out.flush();
+        written.addAndGet(entries.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookapp.api.logging;
+
+import io.restassured.http.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * One captured request/response pair. Only references are taken on the request
+ * thread; the text is rendered later by the {@link AsyncLogAppender}.
+ */
+final class Exchange {
+
+    private final Instant timestamp;
+    private final String threadName;
+    private final String method;
+    private final String uri;
+    private final Headers requestHeaders;
+    private final Object requestBody;
+    private final String statusLine;
+    private final Headers responseHeaders; // null when no response arrived
+    private final long durationMillis;
+    private volatile byte[] responseBody;
+
+    Exchange(Instant timestamp, String threadName, String method, String uri, Headers requestHeaders, Object requestBody,
+             String statusLine, Headers responseHeaders, long durationMillis) {
+        this.timestamp = timestamp;
+        this.threadName = threadName;
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = requestHeaders;
+        this.requestBody = requestBody;
+        this.statusLine = statusLine;
+        this.responseHeaders = responseHeaders;
+        this.durationMillis = durationMillis;
+    }
+
+    // Streamed responses never get a body attached; it was consumed by the caller
+    void attachResponseBody(byte[] body) {
+        this.responseBody = body;
+    }
+
+    String render() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append(timestamp).append(" [").append(threadName).append("] ")
+                .append(method).append(' ').append(uri).append(" (").append(durationMillis).append(" ms)\n");
+        sb.append("Request headers:\n").append(indent(requestHeaders == null ? "" : requestHeaders.toString()));
+        if (requestBody != null) {
+            sb.append("Request body:\n").append(indent(bodyText(requestBody)));
+        }
+        sb.append("Response: ").append(statusLine).append('\n');
+        if (responseHeaders == null) { // the request failed before a response arrived
+            return sb.toString();
+        }
+        sb.append("Response headers:\n").append(indent(responseHeaders == null ? "" : responseHeaders.toString()));
+        byte[] body = responseBody;
+        sb.append("Response body:\n").append(indent(body == null ? "<not buffered>" : new String(body, StandardCharsets.UTF_8)));
+        return sb.toString();
+    }
+
+    private static String bodyText(Object body) {
+        return body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : String.valueOf(body);
+    }
+
+    private static String indent(String text) {
+        if (text.isEmpty()) {
+            return "";
+        }
+        return "\t" + text.replace("\n", "\n\t") + "\n";
+    }
+}
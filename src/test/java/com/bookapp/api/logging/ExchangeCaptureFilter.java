@@ -0,0 +1,52 @@
+package com.bookapp.api.logging;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every exchange into the calling thread's {@link ExchangeLog} ring instead of
+ * printing it. Capturing only takes references; nothing is formatted on the request path.
+ */
+public final class ExchangeCaptureFilter implements OrderedFilter {
+
+    public static final ExchangeCaptureFilter INSTANCE = new ExchangeCaptureFilter();
+
+    private ExchangeCaptureFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Instant timestamp = Instant.now();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) { // RestAssured rethrows IOExceptions (timeouts, resets, refused) undeclared
+            // These are the exchanges a failures-only dump exists for, so the request goes in without a response
+            record(requestSpec, timestamp, start, "No response: " + e, null);
+            throw e;
+        }
+        record(requestSpec, timestamp, start, response.getStatusLine(), response.getHeaders());
+        return response;
+    }
+
+    private static void record(FilterableRequestSpecification requestSpec, Instant timestamp, long start,
+                               String statusLine, Headers responseHeaders) {
+        ExchangeLog.record(new Exchange(timestamp, Thread.currentThread().getName(), requestSpec.getMethod(),
+                requestSpec.getURI(), requestSpec.getHeaders(), requestSpec.getBody(), statusLine,
+                responseHeaders, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+}
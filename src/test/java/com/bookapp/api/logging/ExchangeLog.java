@@ -0,0 +1,83 @@
+package com.bookapp.api.logging;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Failure-only logging: each thread keeps its last {@code log.ring.size} exchanges in
+ * memory and they are only written out (through the {@link AsyncLogAppender}) when a
+ * status check or test assertion fails on that thread. A fraction
+ * ({@code log.sample.rate}) of successful exchanges can be written as well.
+ * Active when {@code log.mode=failures}.
+ */
+public final class ExchangeLog {
+
+    private static final boolean ENABLED = LogMode.configured() == LogMode.FAILURES;
+    private static final int RING_SIZE = ConfigLoader.getIntegerProperty("log.ring.size", 20);
+    private static final double SAMPLE_RATE = ConfigLoader.getDoubleProperty("log.sample.rate", 0.0);
+
+    private static final ThreadLocal<ExchangeRing> RINGS = ThreadLocal.withInitial(() -> new ExchangeRing(RING_SIZE));
+    private static final AsyncLogAppender APPENDER = ENABLED
+            ? new AsyncLogAppender(ConfigLoader.getIntegerProperty("log.async.queue.size", 10_000))
+            : null;
+
+    private ExchangeLog() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void record(Exchange exchange) {
+        RINGS.get().add(exchange);
+    }
+
+    /** Attaches the (already buffered) response body to the calling thread's latest exchange. */
+    public static void attachResponseBody(byte[] body) {
+        Exchange last = RINGS.get().last();
+        if (last != null) {
+            last.attachResponseBody(body);
+        }
+    }
+
+    /** Writes the calling thread's latest exchange if it falls in the success sample. */
+    public static void sampleLast() {
+        if (SAMPLE_RATE <= 0 || ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE) {
+            return;
+        }
+        Exchange last = RINGS.get().last();
+        if (last != null) {
+            APPENDER.append(last);
+        }
+    }
+
+    /**
+     * Writes out, oldest first, every exchange the calling thread still holds and empties
+     * its ring, so a test failing right after a failed status check does not repeat them.
+     */
+    public static void dumpCurrentThread(String reason) {
+        if (!ENABLED) {
+            return;
+        }
+        ExchangeRing ring = RINGS.get();
+        if (ring.isEmpty()) {
+            return;
+        }
+        List<Exchange> exchanges = ring.drain();
+        APPENDER.append("===== " + reason + " - last " + exchanges.size() + " exchange(s) on "
+                + Thread.currentThread().getName() + " =====");
+        exchanges.forEach(APPENDER::append);
+    }
+
+    public static void clearCurrentThread() {
+        RINGS.get().clear();
+    }
+
+    public static void flush() {
+        if (APPENDER != null) {
+            APPENDER.flush(5_000);
+        }
+    }
+}
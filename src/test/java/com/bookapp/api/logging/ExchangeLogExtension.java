@@ -0,0 +1,26 @@
+package com.bookapp.api.logging;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+/**
+ * Starts every test with an empty exchange ring and dumps the ring when the test fails,
+ * which covers assertions made outside {@code logAndExtractResponse} (e.g. in the factory).
+ */
+public class ExchangeLogExtension implements BeforeEachCallback, TestExecutionExceptionHandler {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (ExchangeLog.isEnabled()) {
+            ExchangeLog.clearCurrentThread();
+        }
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        ExchangeLog.dumpCurrentThread("Test failed: " + context.getDisplayName());
+        ExchangeLog.flush();
+        throw throwable;
+    }
+}
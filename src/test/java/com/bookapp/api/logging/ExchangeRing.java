@@ -0,0 +1,50 @@
+package com.bookapp.api.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent exchanges made by one thread. Only the owning
+ * thread touches it, so there is no synchronisation.
+ */
+final class ExchangeRing {
+
+    private final Exchange[] slots;
+    private int next;
+    private int size;
+
+    ExchangeRing(int capacity) {
+        this.slots = new Exchange[capacity];
+    }
+
+    void add(Exchange exchange) {
+        slots[next] = exchange;
+        next = (next + 1) % slots.length;
+        size = Math.min(size + 1, slots.length);
+    }
+
+    Exchange last() {
+        return size == 0 ? null : slots[(next - 1 + slots.length) % slots.length];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Oldest first
+    List<Exchange> drain() {
+        List<Exchange> exchanges = new ArrayList<>(size);
+        for (int i = size; i > 0; i--) {
+            exchanges.add(slots[(next - i + slots.length) % slots.length]);
+        }
+        clear();
+        return exchanges;
+    }
+
+    void clear() {
+        Arrays.fill(slots, null);
+        next = 0;
+        size = 0;
+    }
+}
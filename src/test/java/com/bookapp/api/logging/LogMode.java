@@ -0,0 +1,19 @@
+package com.bookapp.api.logging;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+/**
+ * How request/response traffic is logged, selected with {@code log.mode}.
+ */
+public enum LogMode {
+    /** Every request (and the responses of signup, login and health) goes to stdout as it happens. */
+    ALL,
+    /** Exchanges are kept in a per-thread ring buffer and only written out, asynchronously, when a check fails. */
+    FAILURES;
+
+    private static final LogMode CONFIGURED = valueOf(ConfigLoader.getProperty("log.mode", "all").trim().toUpperCase());
+
+    public static LogMode configured() {
+        return CONFIGURED;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookapp.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live histograms for one endpoint template. Each phase has its own {@link Recorder},
+ * so any number of threads can record wait-free; {@link #snapshot(double)} folds the
+ * interval histograms into running totals, the same way the load engine does.
+ * Values are in microseconds.
+ */
+final class EndpointMetrics {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String endpoint;
+    private final Recorder total = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder connect = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder timeToFirstByte = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder bodyRead = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private final Histogram totalSoFar = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram connectSoFar = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram timeToFirstByteSoFar = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram bodyReadSoFar = new Histogram(SIGNIFICANT_DIGITS);
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long totalNanos, long connectNanos, long ttfbNanos, long bodyReadNanos, long bodyBytes, boolean error) {
+        total.recordValue(micros(totalNanos));
+        connect.recordValue(micros(connectNanos));
+        timeToFirstByte.recordValue(micros(ttfbNanos));
+        bodyRead.recordValue(micros(bodyReadNanos));
+        bytes.add(bodyBytes);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    synchronized EndpointStats snapshot(double elapsedSeconds) {
+        totalSoFar.add(total.getIntervalHistogram());
+        connectSoFar.add(connect.getIntervalHistogram());
+        timeToFirstByteSoFar.add(timeToFirstByte.getIntervalHistogram());
+        bodyReadSoFar.add(bodyRead.getIntervalHistogram());
+        return new EndpointStats(endpoint, totalSoFar.copy(), connectSoFar.copy(), timeToFirstByteSoFar.copy(),
+                bodyReadSoFar.copy(), errors.sum(), bytes.sum(), elapsedSeconds);
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
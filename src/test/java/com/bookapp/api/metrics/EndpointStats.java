@@ -0,0 +1,56 @@
+package com.bookapp.api.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Point-in-time latency figures for one endpoint template. Histogram values are
+ * in microseconds. Two snapshots of the same endpoint (other forks, other runs)
+ * can be combined with {@link #merge(EndpointStats)}.
+ */
+@Getter
+@AllArgsConstructor
+public class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram total;
+    private final Histogram connect;
+    private final Histogram timeToFirstByte;
+    private final Histogram bodyRead;
+    private final long errorCount;
+    private final long bodyBytes;
+    private final double elapsedSeconds;
+
+    public long getCount() {
+        return total.getTotalCount();
+    }
+
+    public double getThroughput() {
+        return elapsedSeconds > 0 ? getCount() / elapsedSeconds : 0;
+    }
+
+    public double percentileMillis(double percentile) {
+        return total.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public EndpointStats merge(EndpointStats other) {
+        if (!endpoint.equals(other.endpoint)) {
+            throw new IllegalArgumentException("Cannot merge " + other.endpoint + " into " + endpoint);
+        }
+        return new EndpointStats(endpoint,
+                combine(total, other.total),
+                combine(connect, other.connect),
+                combine(timeToFirstByte, other.timeToFirstByte),
+                combine(bodyRead, other.bodyRead),
+                errorCount + other.errorCount,
+                bodyBytes + other.bodyBytes,
+                Math.max(elapsedSeconds, other.elapsedSeconds));
+    }
+
+    private static Histogram combine(Histogram left, Histogram right) {
+        Histogram merged = left.copy();
+        merged.add(right);
+        return merged;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bookapp.api.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Maps a concrete request onto the endpoint template it belongs to, so that
+ * {@code GET /books/17} and {@code GET /books/18} land in the same bucket
+ * ({@code GET /books/{id}}) instead of one histogram per literal ID.
+ */
+public final class EndpointTemplates {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private EndpointTemplates() {
+    }
+
+    public static String of(String method, String path) {
+        return method + " " + templateOf(path);
+    }
+
+    public static String templateOf(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        return NUMERIC_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookapp.api.metrics;
+
+/**
+ * Timestamps for a single request/response exchange. The {@link TimingFilter}
+ * opens one per request and parks it on the calling thread; the HttpClient
+ * interceptors in {@link PhaseInterceptors} fill in the phase boundaries and
+ * the exchange is recorded once the response body has been fully read or closed.
+ */
+final class ExchangeTiming {
+
+    private static final ThreadLocal<ExchangeTiming> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final long startNanos;
+    private long connectNanos;
+    private long requestSentNanos;
+    private long headersReceivedNanos;
+    private int statusCode;
+    private boolean recorded;
+
+    ExchangeTiming(String endpoint, long startNanos) {
+        this.endpoint = endpoint;
+        this.startNanos = startNanos;
+    }
+
+    static void begin(ExchangeTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static ExchangeTiming current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Summed, as HttpClient may reconnect once when a pooled connection turns out to be stale
+    void connected(long nanos) {
+        connectNanos += nanos;
+    }
+
+    // Request interceptors run once a connection has been leased and connected, just before the request is written
+    void requestSent(long nanos) {
+        requestSentNanos = nanos;
+    }
+
+    // Response interceptors run as soon as the status line and headers are in, before the entity is consumed
+    void headersReceived(long nanos, int statusCode) {
+        headersReceivedNanos = nanos;
+        this.statusCode = statusCode;
+    }
+
+    /** Records the exchange once; {@code failed} marks a transport failure on top of any 4xx/5xx status. */
+    synchronized void completed(long endNanos, long bodyBytes, boolean failed) {
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        long sent = requestSentNanos > 0 ? requestSentNanos : startNanos;
+        long headers = headersReceivedNanos > 0 ? headersReceivedNanos : endNanos;
+        LatencyRegistry.record(endpoint,
+                endNanos - startNanos,
+                connectNanos,
+                headers - sent,
+                endNanos - headers,
+                bodyBytes,
+                failed || statusCode == 0 || statusCode >= 400);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookapp.api.metrics;
+
+import com.bookapp.api.utility.ConfigLoader;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide per-endpoint latency histograms fed by {@link TimingFilter}.
+ * Throughput is computed over the time since the first recorded request.
+ */
+public final class LatencyRegistry {
+
+    private static final boolean ENABLED = ConfigLoader.getBooleanProperty("metrics.enabled", true);
+
+    private static final Map<String, EndpointMetrics> ENDPOINTS = new ConcurrentHashMap<>();
+    private static volatile long firstRecordNanos;
+
+    private LatencyRegistry() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void record(String endpoint, long totalNanos, long connectNanos, long ttfbNanos, long bodyReadNanos,
+                       long bodyBytes, boolean error) {
+        if (firstRecordNanos == 0) {
+            synchronized (LatencyRegistry.class) {
+                if (firstRecordNanos == 0) {
+                    firstRecordNanos = System.nanoTime() - totalNanos;
+                }
+            }
+        }
+        ENDPOINTS.computeIfAbsent(endpoint, EndpointMetrics::new)
+                .record(totalNanos, connectNanos, ttfbNanos, bodyReadNanos, bodyBytes, error);
+    }
+
+    public static boolean isEmpty() {
+        return ENDPOINTS.isEmpty();
+    }
+
+    public static LatencyReport snapshot() {
+        double elapsedSeconds = firstRecordNanos == 0 ? 0 : (System.nanoTime() - firstRecordNanos) / 1e9;
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, metrics) -> endpoints.put(endpoint, metrics.snapshot(elapsedSeconds)));
+        return new LatencyReport(endpoints, elapsedSeconds);
+    }
+}
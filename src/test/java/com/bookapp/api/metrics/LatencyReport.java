@@ -0,0 +1,96 @@
+package com.bookapp.api.metrics;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Per-endpoint latency summary for a run: p50/p90/p99/p99.9/max of the total time
+ * and of each phase (TCP connect, zero on a kept-alive connection; time-to-first-byte;
+ * body-read), plus throughput.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencyReport {
+
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, EndpointStats> endpoints;
+    private final double elapsedSeconds;
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Elapsed: %.1fs%n", elapsedSeconds));
+        sb.append(String.format("%-24s %8s %6s %8s | %8s %8s %8s %8s %8s | %8s %8s %8s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "conn p99", "ttfb p99", "body p99"));
+        for (EndpointStats stats : endpoints.values()) {
+            sb.append(String.format("%-24s %8d %6d %8.1f | %8.2f %8.2f %8.2f %8.2f %8.2f | %8.2f %8.2f %8.2f%n",
+                    stats.getEndpoint(), stats.getCount(), stats.getErrorCount(), stats.getThroughput(),
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(99.9), stats.getTotal().getMaxValue() / 1000.0,
+                    stats.getConnect().getValueAtPercentile(99) / 1000.0,
+                    stats.getTimeToFirstByte().getValueAtPercentile(99) / 1000.0,
+                    stats.getBodyRead().getValueAtPercentile(99) / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode root = SharedObjectMapper.get().createObjectNode();
+        root.put("elapsedSeconds", elapsedSeconds);
+        ObjectNode endpointsNode = root.putObject("endpoints");
+        for (EndpointStats stats : endpoints.values()) {
+            ObjectNode node = endpointsNode.putObject(stats.getEndpoint());
+            node.put("count", stats.getCount());
+            node.put("errors", stats.getErrorCount());
+            node.put("throughput", stats.getThroughput());
+            node.put("bodyBytes", stats.getBodyBytes());
+            putPhase(node.putObject("total"), stats.getTotal());
+            putPhase(node.putObject("connect"), stats.getConnect());
+            putPhase(node.putObject("timeToFirstByte"), stats.getTimeToFirstByte());
+            putPhase(node.putObject("bodyRead"), stats.getBodyRead());
+        }
+        return root;
+    }
+
+    public byte[] toJsonBytes() {
+        try {
+            return SharedObjectMapper.get().writerWithDefaultPrettyPrinter().writeValueAsBytes(toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void writeJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, toJsonBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency report to " + file, e);
+        }
+    }
+
+    // Milliseconds, matching the other reports
+    private static void putPhase(ObjectNode node, Histogram histogram) {
+        for (double percentile : PERCENTILES) {
+            node.put(percentileKey(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        node.put("max", histogram.getMaxValue() / 1000.0);
+        node.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000.0);
+    }
+
+    static String percentileKey(double percentile) {
+        return percentile == Math.rint(percentile) ? "p" + (long) percentile : "p" + percentile;
+    }
+}
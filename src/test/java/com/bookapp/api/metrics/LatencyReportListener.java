@@ -0,0 +1,35 @@
+package com.bookapp.api.metrics;
+
+import com.bookapp.api.utility.AllureReports;
+import com.bookapp.api.utility.ConfigLoader;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Publishes the per-endpoint latency report once the whole test plan has run.
+ * Registered through META-INF/services so it covers every test class in the fork.
+ */
+public class LatencyReportListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!LatencyRegistry.isEnabled() || LatencyRegistry.isEmpty()) {
+            return;
+        }
+        LatencyReport report = LatencyRegistry.snapshot();
+        String text = report.format();
+        System.out.println("Per-endpoint latency:\n" + text);
+
+        Path file = Paths.get(ConfigLoader.getProperty("metrics.report.file", "target/latency-report.json"));
+        report.writeJson(file);
+        System.out.println("Latency report written to " + file.toAbsolutePath());
+
+        AllureReports.publish("Per-endpoint latency", "Client-side latency per endpoint template",
+                new AllureReports.Attachment("Latency summary", "text/plain", "txt", text.getBytes(StandardCharsets.UTF_8)),
+                new AllureReports.Attachment("Latency report", "application/json", "json", report.toJsonBytes()));
+    }
+}
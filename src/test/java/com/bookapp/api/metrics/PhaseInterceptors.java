@@ -0,0 +1,125 @@
+package com.bookapp.api.metrics;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * HttpClient interceptors that split an exchange into time-to-first-byte and
+ * body-read phases ({@link TimedSocketFactory} times the connect). They must be registered on the client before RestAssured
+ * adds its own (decompressing) interceptors so that the wrapped entity sees the
+ * bytes as they come off the wire. Without an active {@link ExchangeTiming} on the
+ * calling thread they do nothing.
+ */
+public final class PhaseInterceptors {
+
+    public static final HttpRequestInterceptor REQUEST = (request, context) -> {
+        ExchangeTiming timing = ExchangeTiming.current();
+        if (timing != null) {
+            timing.requestSent(System.nanoTime());
+        }
+    };
+
+    public static final HttpResponseInterceptor RESPONSE = (response, context) -> {
+        ExchangeTiming timing = ExchangeTiming.current();
+        if (timing == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        timing.headersReceived(now, response.getStatusLine().getStatusCode());
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            timing.completed(now, 0, false);
+        } else {
+            response.setEntity(new TimedEntity(entity, timing));
+        }
+    };
+
+    private PhaseInterceptors() {
+    }
+
+    private static final class TimedEntity extends HttpEntityWrapper {
+
+        private final ExchangeTiming timing;
+
+        TimedEntity(HttpEntity entity, ExchangeTiming timing) {
+            super(entity);
+            this.timing = timing;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new TimedStream(super.getContent(), getContentLength(), timing);
+        }
+    }
+
+    /*
+     * Records the exchange on end-of-stream, or on close for callers (like BookStream) that stop early.
+     * A read that fails, or an end-of-stream short of the Content-Length, is a body cut off mid-read
+     * and is recorded as an error whatever the status line said.
+     */
+    private static final class TimedStream extends FilterInputStream {
+
+        private final long contentLength;
+        private final ExchangeTiming timing;
+        private long bytes;
+
+        TimedStream(InputStream in, long contentLength, ExchangeTiming timing) {
+            super(in);
+            this.contentLength = contentLength;
+            this.timing = timing;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b;
+            try {
+                b = super.read();
+            } catch (IOException | RuntimeException e) {
+                timing.completed(System.nanoTime(), bytes, true);
+                throw e;
+            }
+            if (b < 0) {
+                endOfStream();
+            } else {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n;
+            try {
+                n = super.read(buffer, offset, length);
+            } catch (IOException | RuntimeException e) {
+                timing.completed(System.nanoTime(), bytes, true);
+                throw e;
+            }
+            if (n < 0) {
+                endOfStream();
+            } else {
+                bytes += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                timing.completed(System.nanoTime(), bytes, false);
+            }
+        }
+
+        private void endOfStream() {
+            timing.completed(System.nanoTime(), bytes, contentLength >= 0 && bytes < contentLength);
+        }
+    }
+}
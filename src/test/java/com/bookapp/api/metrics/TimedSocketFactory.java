@@ -0,0 +1,84 @@
+package com.bookapp.api.metrics;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+
+/**
+ * Socket factory wrapper that times the TCP connect (and TLS handshake, for https)
+ * of every new pooled connection and adds it to the {@link ExchangeTiming} on the
+ * calling thread. A request served on a kept-alive connection never gets here, so
+ * its connect phase is zero.
+ */
+@SuppressWarnings("deprecation") // the HttpClient 4.2 connection manager RestAssured 5 still uses
+public class TimedSocketFactory implements SchemeSocketFactory {
+
+    private final SchemeSocketFactory delegate;
+
+    private TimedSocketFactory(SchemeSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    // HttpClient plans a secure route for any scheme whose factory is layered, so only https gets the layered wrapper
+    private static TimedSocketFactory of(SchemeSocketFactory delegate) {
+        return delegate instanceof SchemeLayeredSocketFactory layered ? new Layered(layered) : new TimedSocketFactory(delegate);
+    }
+
+    /** Returns a copy of {@code registry} with every scheme's socket factory wrapped. */
+    public static SchemeRegistry wrap(SchemeRegistry registry) {
+        SchemeRegistry timed = new SchemeRegistry();
+        for (String name : registry.getSchemeNames()) {
+            Scheme scheme = registry.getScheme(name);
+            timed.register(new Scheme(name, scheme.getDefaultPort(), of(scheme.getSchemeSocketFactory())));
+        }
+        return timed;
+    }
+
+    @Override
+    public Socket createSocket(HttpParams params) throws IOException {
+        return delegate.createSocket(params);
+    }
+
+    @Override
+    public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                HttpParams params) throws IOException, UnknownHostException, ConnectTimeoutException {
+        long start = System.nanoTime();
+        try {
+            return delegate.connectSocket(socket, remoteAddress, localAddress, params);
+        } finally {
+            ExchangeTiming timing = ExchangeTiming.current();
+            if (timing != null) {
+                timing.connected(System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSecure(Socket socket) {
+        return delegate.isSecure(socket);
+    }
+
+    private static final class Layered extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SchemeLayeredSocketFactory layered;
+
+        Layered(SchemeLayeredSocketFactory layered) {
+            super(layered);
+            this.layered = layered;
+        }
+
+        // Only reached when tunnelling https through a proxy
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            return layered.createLayeredSocket(socket, target, port, params);
+        }
+    }
+}
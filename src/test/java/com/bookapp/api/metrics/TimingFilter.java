@@ -0,0 +1,42 @@
+package com.bookapp.api.metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that opens an {@link ExchangeTiming} for every request it
+ * sees. It runs after every other filter (request logging included) so the
+ * measured time is as close to the wire as RestAssured allows.
+ */
+public final class TimingFilter implements OrderedFilter {
+
+    public static final TimingFilter INSTANCE = new TimingFilter();
+
+    private TimingFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ExchangeTiming timing = new ExchangeTiming(
+                EndpointTemplates.of(requestSpec.getMethod(), requestSpec.getUserDefinedPath()), System.nanoTime());
+        ExchangeTiming.begin(timing);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) { // RestAssured rethrows IOExceptions (timeouts, resets) undeclared
+            // Connection refused, timeouts etc.: no body will ever arrive, record what we have as an error
+            timing.completed(System.nanoTime(), 0, true);
+            throw e;
+        } finally {
+            ExchangeTiming.end();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a {@link RegressionGate} comparison.
+ */
+@Getter
+@AllArgsConstructor
+public class GateReport {
+
+    private final PerfResult baseline;
+    private final PerfResult current;
+    private final List<MetricDelta> deltas;
+
+    public List<MetricDelta> getRegressions() {
+        return deltas.stream()
+                .filter(delta -> delta.verdict() == MetricDelta.Verdict.REGRESSED)
+                .collect(Collectors.toList());
+    }
+
+    public boolean hasRegressions() {
+        return !getRegressions().isEmpty();
+    }
+
+    public List<MetricDelta> getInconclusive() {
+        return deltas.stream()
+                .filter(delta -> delta.verdict() == MetricDelta.Verdict.INCONCLUSIVE)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isInconclusive() {
+        return !getInconclusive().isEmpty();
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Baseline: %s (%s), current: %s (%s)%n",
+                baseline.getRecordedAt(), baseline.getBaseUri(), current.getRecordedAt(), current.getBaseUri()));
+        sb.append(String.format("%-10s %-10s %12s %12s %9s %12s %12s  %s%n",
+                "operation", "metric", "baseline", "current", "change", "limit", "noise(MAD)", "verdict"));
+        for (MetricDelta delta : deltas) {
+            sb.append(String.format("%-10s %-10s %12s %12.3f %8.1f%% %12s %12.3f  %s%n",
+                    delta.operation(), delta.metric().key(),
+                    delta.baseline() == null ? "-" : String.format("%.3f", delta.baseline().median()),
+                    delta.current().median(), delta.changePercent(),
+                    Double.isNaN(delta.limit()) ? "-" : String.format("%.3f", delta.limit()),
+                    delta.current().mad(), delta.verdict()));
+        }
+        return sb.toString();
+    }
+
+    public String formatRegressions() {
+        return format(getRegressions());
+    }
+
+    public String formatInconclusive() {
+        return format(getInconclusive());
+    }
+
+    private static String format(List<MetricDelta> deltas) {
+        return deltas.stream()
+                .map(delta -> String.format("%s %s: %.3f -> %.3f (%+.1f%%, limit %.3f, MAD %.3f -> %.3f)", delta.operation(),
+                        delta.metric().key(), delta.baseline().median(), delta.current().median(),
+                        delta.changePercent(), delta.limit(), delta.baseline().mad(), delta.current().mad()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode root = SharedObjectMapper.get().createObjectNode();
+        root.set("baseline", baseline.toJson());
+        root.set("current", current.toJson());
+        ArrayNode deltasNode = root.putArray("deltas");
+        for (MetricDelta delta : deltas) {
+            ObjectNode node = deltasNode.addObject();
+            node.put("operation", delta.operation().name());
+            node.put("metric", delta.metric().key());
+            if (delta.baseline() != null) {
+                node.put("baseline", delta.baseline().median());
+                node.put("changePercent", delta.changePercent());
+                node.put("limit", delta.limit());
+            }
+            node.put("current", delta.current().median());
+            node.put("verdict", delta.verdict().name());
+        }
+        return root;
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Performance deltas", "text/plain", format());
+        try {
+            Allure.addAttachment("Performance deltas (JSON)", "application/json",
+                    SharedObjectMapper.get().writerWithDefaultPrettyPrinter().writeValueAsString(toJson()), "json");
+        } catch (JsonProcessingException e) {
+            System.err.println("Failed to serialise performance deltas: " + e.getMessage());
+        }
+    }
+}
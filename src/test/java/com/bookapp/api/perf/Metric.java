@@ -0,0 +1,22 @@
+package com.bookapp.api.perf;
+
+/**
+ * Figures the gate compares per operation, all latencies in milliseconds. There is no
+ * throughput metric: with one client issuing requests back to back it is only the
+ * inverse of the mean latency, so it would judge the same shift twice.
+ */
+public enum Metric {
+    P50("p50"),
+    P90("p90"),
+    P99("p99");
+
+    private final String key;
+
+    Metric(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.load.BookOperation;
+
+/**
+ * Baseline vs current for one operation/metric pair, with the bound the current
+ * value was held to.
+ */
+public record MetricDelta(BookOperation operation, Metric metric, MetricSummary baseline, MetricSummary current,
+                          double limit, Verdict verdict) {
+
+    public enum Verdict {
+        OK,
+        IMPROVED,
+        REGRESSED,
+        // Not past the limit, but the noise band is too wide for a pass to mean anything
+        INCONCLUSIVE,
+        NO_BASELINE
+    }
+
+    public double changePercent() {
+        if (baseline == null || baseline.median() == 0) {
+            return 0;
+        }
+        return (current.median() - baseline.median()) / baseline.median() * 100;
+    }
+}
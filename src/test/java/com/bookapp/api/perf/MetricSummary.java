@@ -0,0 +1,33 @@
+package com.bookapp.api.perf;
+
+import java.util.Arrays;
+
+/**
+ * Median and median absolute deviation of one metric across measurement rounds.
+ * Both are robust to the odd round disturbed by GC, a noisy neighbour or a cold cache.
+ */
+public record MetricSummary(double median, double mad) {
+
+    private static final double MAD_TO_SIGMA = 1.4826;
+
+    public static MetricSummary of(double[] samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        double median = median(samples);
+        double[] deviations = Arrays.stream(samples).map(sample -> Math.abs(sample - median)).toArray();
+        return new MetricSummary(median, median(deviations));
+    }
+
+    // Robust estimate of the standard deviation
+    public double sigma() {
+        return mad * MAD_TO_SIGMA;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
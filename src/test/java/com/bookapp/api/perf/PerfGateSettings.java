@@ -0,0 +1,44 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Tuning for the performance regression gate, read from the perf.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class PerfGateSettings {
+
+    private final int rounds;
+    private final int warmupIterations;
+    private final int iterationsPerRound;
+    // Latency metrics may grow by this fraction of the baseline before they count as a regression
+    private final double latencyTolerance;
+    // Latency differences below this many milliseconds are never a regression
+    private final double absoluteToleranceMillis;
+    // Width of the noise band in robust standard deviations (1.4826 x median absolute deviation across rounds)
+    private final double noiseMultiplier;
+    // A noise band wider than this fraction of the baseline median makes the metric inconclusive
+    private final double maxNoiseFraction;
+    private final Path baselineFile;
+    private final Path resultFile;
+    private final boolean updateBaseline;
+
+    public static PerfGateSettings fromConfig() {
+        return new PerfGateSettings(
+                ConfigLoader.getIntegerProperty("perf.rounds", 5),
+                ConfigLoader.getIntegerProperty("perf.warmup.iterations", 20),
+                ConfigLoader.getIntegerProperty("perf.iterations", 50),
+                ConfigLoader.getDoubleProperty("perf.tolerance.latency", 0.25),
+                ConfigLoader.getDoubleProperty("perf.tolerance.absolute.ms", 2.0),
+                ConfigLoader.getDoubleProperty("perf.noise.multiplier", 3.0),
+                ConfigLoader.getDoubleProperty("perf.noise.max.fraction", 0.5),
+                Path.of(ConfigLoader.getProperty("perf.baseline.file", "src/test/resources/perf/baseline.json")),
+                Path.of(ConfigLoader.getProperty("perf.result.file", "target/perf/result.json")),
+                ConfigLoader.getBooleanProperty("perf.baseline.update", false));
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.load.BookOperation;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Per-operation metric summaries from one gate run. The same shape is used for the
+ * stored baseline, so a result can be promoted to the baseline by copying the file.
+ */
+@Getter
+@AllArgsConstructor
+public class PerfResult {
+
+    private final String baseUri;
+    private final String recordedAt;
+    private final int rounds;
+    private final int iterationsPerRound;
+    private final Map<BookOperation, Map<Metric, MetricSummary>> operations;
+
+    public MetricSummary get(BookOperation operation, Metric metric) {
+        Map<Metric, MetricSummary> metrics = operations.get(operation);
+        return metrics == null ? null : metrics.get(metric);
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode root = SharedObjectMapper.get().createObjectNode();
+        root.put("baseUri", baseUri);
+        root.put("recordedAt", recordedAt);
+        root.put("rounds", rounds);
+        root.put("iterationsPerRound", iterationsPerRound);
+        ObjectNode operationsNode = root.putObject("operations");
+        operations.forEach((operation, metrics) -> {
+            ObjectNode operationNode = operationsNode.putObject(operation.name());
+            metrics.forEach((metric, summary) -> {
+                ObjectNode metricNode = operationNode.putObject(metric.key());
+                metricNode.put("median", summary.median());
+                metricNode.put("mad", summary.mad());
+            });
+        });
+        return root;
+    }
+
+    public void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, SharedObjectMapper.get().writerWithDefaultPrettyPrinter().writeValueAsBytes(toJson()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write performance result to " + file, e);
+        }
+    }
+
+    public static PerfResult read(Path file) {
+        JsonNode root;
+        try {
+            root = SharedObjectMapper.get().readTree(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read performance baseline " + file, e);
+        }
+        Map<BookOperation, Map<Metric, MetricSummary>> operations = new EnumMap<>(BookOperation.class);
+        Iterator<Map.Entry<String, JsonNode>> fields = root.path("operations").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> operationEntry = fields.next();
+            Map<Metric, MetricSummary> metrics = new EnumMap<>(Metric.class);
+            for (Metric metric : Metric.values()) {
+                JsonNode metricNode = operationEntry.getValue().get(metric.key());
+                if (metricNode != null) {
+                    metrics.put(metric, new MetricSummary(metricNode.path("median").asDouble(), metricNode.path("mad").asDouble()));
+                }
+            }
+            operations.put(BookOperation.valueOf(operationEntry.getKey()), metrics);
+        }
+        return new PerfResult(root.path("baseUri").asText(), root.path("recordedAt").asText(),
+                root.path("rounds").asInt(), root.path("iterationsPerRound").asInt(), operations);
+    }
+}
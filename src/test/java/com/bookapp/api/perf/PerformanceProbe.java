@@ -0,0 +1,127 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.BookOperation;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the book operations with a fixed, single-client workload so that runs are
+ * comparable with each other. Each round creates, reads, updates, lists and deletes the
+ * same number of books (leaving the catalog as it found it); every round yields one
+ * p50/p90/p99 sample per operation and the samples are summarised across rounds.
+ * A warm-up round runs first and is discarded.
+ */
+public class PerformanceProbe {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final BookApiServiceHelper bookApiServiceHelper;
+    private final Supplier<Book> payloadSupplier;
+    private final PerfGateSettings settings;
+
+    public PerformanceProbe(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloadSupplier, PerfGateSettings settings) {
+        this.bookApiServiceHelper = bookApiServiceHelper;
+        this.payloadSupplier = payloadSupplier;
+        this.settings = settings;
+    }
+
+    public PerfResult run() {
+        if (settings.getWarmupIterations() > 0) {
+            runRound(settings.getWarmupIterations());
+        }
+        Map<BookOperation, Map<Metric, double[]>> samples = new EnumMap<>(BookOperation.class);
+        for (int round = 0; round < settings.getRounds(); round++) {
+            Map<BookOperation, Histogram> histograms = runRound(settings.getIterationsPerRound());
+            for (Map.Entry<BookOperation, Histogram> entry : histograms.entrySet()) {
+                Map<Metric, double[]> metrics = samples.computeIfAbsent(entry.getKey(), operation -> newSampleArrays());
+                Histogram histogram = entry.getValue();
+                metrics.get(Metric.P50)[round] = histogram.getValueAtPercentile(50) / 1000.0;
+                metrics.get(Metric.P90)[round] = histogram.getValueAtPercentile(90) / 1000.0;
+                metrics.get(Metric.P99)[round] = histogram.getValueAtPercentile(99) / 1000.0;
+            }
+            System.out.printf("Performance gate: round %d/%d done%n", round + 1, settings.getRounds());
+        }
+
+        Map<BookOperation, Map<Metric, MetricSummary>> summaries = new EnumMap<>(BookOperation.class);
+        samples.forEach((operation, metrics) -> {
+            Map<Metric, MetricSummary> summary = new EnumMap<>(Metric.class);
+            metrics.forEach((metric, values) -> summary.put(metric, MetricSummary.of(values)));
+            summaries.put(operation, summary);
+        });
+        return new PerfResult(RequestHelper.BASE_URI, Instant.now().toString(), settings.getRounds(),
+                settings.getIterationsPerRound(), summaries);
+    }
+
+    private Map<Metric, double[]> newSampleArrays() {
+        Map<Metric, double[]> arrays = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            arrays.put(metric, new double[settings.getRounds()]);
+        }
+        return arrays;
+    }
+
+    private Map<BookOperation, Histogram> runRound(int iterations) {
+        Map<BookOperation, Histogram> histograms = new EnumMap<>(BookOperation.class);
+        for (BookOperation operation : BookOperation.values()) {
+            histograms.put(operation, new Histogram(SIGNIFICANT_DIGITS));
+        }
+        List<Integer> bookIds = new ArrayList<>(iterations);
+        try {
+            for (int i = 0; i < iterations; i++) {
+                Book payload = payloadSupplier.get();
+                long start = System.nanoTime();
+                byte[] body = bookApiServiceHelper.createBook(payload).asByteArray();
+                record(histograms, BookOperation.CREATE, start);
+                bookIds.add(SharedObjectMapper.readBook(body).getId());
+            }
+            for (Integer bookId : bookIds) {
+                long start = System.nanoTime();
+                bookApiServiceHelper.getBookById(bookId);
+                record(histograms, BookOperation.GET_BY_ID, start);
+            }
+            for (Integer bookId : bookIds) {
+                Book payload = payloadSupplier.get();
+                payload.setId(bookId);
+                long start = System.nanoTime();
+                bookApiServiceHelper.updateBook(bookId, payload);
+                record(histograms, BookOperation.UPDATE, start);
+            }
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                bookApiServiceHelper.getAllBooks();
+                record(histograms, BookOperation.GET_ALL, start);
+            }
+            while (!bookIds.isEmpty()) {
+                Integer bookId = bookIds.get(bookIds.size() - 1);
+                long start = System.nanoTime();
+                bookApiServiceHelper.deleteBook(bookId);
+                record(histograms, BookOperation.DELETE, start);
+                bookIds.remove(bookIds.size() - 1);
+            }
+        } finally {
+            for (Integer bookId : bookIds) {
+                try {
+                    bookApiServiceHelper.deleteBook(bookId);
+                } catch (AssertionError | RuntimeException e) {
+                    System.err.println("Failed to clean up book " + bookId + ": " + e.getMessage());
+                }
+            }
+        }
+        return histograms;
+    }
+
+    private static void record(Map<BookOperation, Histogram> histograms, BookOperation operation, long startNanos) {
+        histograms.get(operation).recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+    }
+}
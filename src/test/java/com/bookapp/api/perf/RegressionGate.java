@@ -0,0 +1,56 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.load.BookOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a {@link PerfResult} against a baseline.
+ * <p>
+ * A metric regresses only when its median across rounds moves past the baseline
+ * median by more than the configured relative tolerance <em>plus</em> a noise band.
+ * The noise band is {@code noiseMultiplier} robust standard deviations of whichever
+ * run was noisier, and the allowed growth is never less than the absolute tolerance, so
+ * sub-millisecond jitter on a fast endpoint cannot fail the build. Improvements are
+ * reported with the mirrored bound.
+ * <p>
+ * A noise band wider than {@code maxNoiseFraction} of the baseline median would let
+ * almost anything through, so such a metric is {@link MetricDelta.Verdict#INCONCLUSIVE}
+ * unless it regressed even past that band.
+ */
+public class RegressionGate {
+
+    private final PerfGateSettings settings;
+
+    public RegressionGate(PerfGateSettings settings) {
+        this.settings = settings;
+    }
+
+    public GateReport compare(PerfResult baseline, PerfResult current) {
+        List<MetricDelta> deltas = new ArrayList<>();
+        for (Map.Entry<BookOperation, Map<Metric, MetricSummary>> entry : current.getOperations().entrySet()) {
+            for (Map.Entry<Metric, MetricSummary> metricEntry : entry.getValue().entrySet()) {
+                deltas.add(evaluate(entry.getKey(), metricEntry.getKey(),
+                        baseline.get(entry.getKey(), metricEntry.getKey()), metricEntry.getValue()));
+            }
+        }
+        return new GateReport(baseline, current, deltas);
+    }
+
+    MetricDelta evaluate(BookOperation operation, Metric metric, MetricSummary baseline, MetricSummary current) {
+        if (baseline == null) {
+            return new MetricDelta(operation, metric, null, current, Double.NaN, MetricDelta.Verdict.NO_BASELINE);
+        }
+        double noise = settings.getNoiseMultiplier() * Math.max(baseline.sigma(), current.sigma());
+        double allowedGrowth = Math.max(baseline.median() * settings.getLatencyTolerance() + noise,
+                settings.getAbsoluteToleranceMillis());
+        double limit = baseline.median() + allowedGrowth;
+        MetricDelta.Verdict verdict = current.median() > limit ? MetricDelta.Verdict.REGRESSED
+                : noise > baseline.median() * settings.getMaxNoiseFraction() ? MetricDelta.Verdict.INCONCLUSIVE
+                : current.median() < baseline.median() - allowedGrowth ? MetricDelta.Verdict.IMPROVED
+                : MetricDelta.Verdict.OK;
+        return new MetricDelta(operation, metric, baseline, current, limit, verdict);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookapp.api.perf;
+
+import com.bookapp.api.load.BookOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Fixed baseline/current pairs against the default tolerances: 25% for latency, a 2 ms
+ * floor, and a noise band of 3 robust standard deviations that may be at most half the
+ * baseline median.
+ */
+class RegressionGateTest {
+
+    private static final double SIGMA_PER_MAD = 1.4826;
+
+    private final RegressionGate gate = new RegressionGate(new PerfGateSettings(5, 20, 50, 0.25, 2.0, 3.0, 0.5,
+            Path.of("baseline.json"), Path.of("result.json"), false));
+
+    @Test
+    @DisplayName("Median and MAD ignore a single disturbed round")
+    void summaryIsRobust() {
+        MetricSummary odd = MetricSummary.of(new double[]{13, 10, 100, 12, 11});
+        assertThat(odd.median()).isEqualTo(12);
+        assertThat(odd.mad()).isEqualTo(1);
+        assertThat(odd.sigma()).isCloseTo(SIGMA_PER_MAD, within(1e-9));
+
+        MetricSummary even = MetricSummary.of(new double[]{4, 1, 3, 2});
+        assertThat(even.median()).isEqualTo(2.5);
+        assertThat(even.mad()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Latency within the relative tolerance passes, including exactly at the limit")
+    void latencyWithinTolerance() {
+        MetricDelta atLimit = latency(100, 0, 125, 0);
+        assertThat(atLimit.limit()).isEqualTo(125);
+        assertThat(atLimit.verdict()).isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(atLimit.changePercent()).isCloseTo(25, within(1e-9));
+        assertThat(latency(100, 0, 110, 0).verdict()).isEqualTo(MetricDelta.Verdict.OK);
+    }
+
+    @Test
+    @DisplayName("Latency past the limit regresses; latency past the mirrored bound improves")
+    void latencyRegressionAndImprovement() {
+        assertThat(latency(100, 0, 125.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.REGRESSED);
+        assertThat(latency(100, 0, 75, 0).verdict()).as("exactly at the mirrored bound").isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(100, 0, 74.99, 0).verdict()).isEqualTo(MetricDelta.Verdict.IMPROVED);
+    }
+
+    @Test
+    @DisplayName("The noise band widens the limit by 3 sigma of whichever run was noisier")
+    void noiseBandEdge() {
+        double baselineNoise = 3 * 2 * SIGMA_PER_MAD;
+        MetricDelta noisyBaseline = latency(100, 2, 100, 0);
+        assertThat(noisyBaseline.limit()).isCloseTo(125 + baselineNoise, within(1e-9));
+        assertThat(latency(100, 2, 125 + baselineNoise - 0.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(100, 2, 125 + baselineNoise + 0.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.REGRESSED);
+
+        double currentNoise = 3 * 4 * SIGMA_PER_MAD;
+        assertThat(latency(100, 2, 140, 4).limit()).isCloseTo(125 + currentNoise, within(1e-9));
+        assertThat(latency(100, 2, 140, 4).verdict()).as("a noisy current run widens the band too").isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(100, 0, 140, 0).verdict()).as("the same shift with quiet runs").isEqualTo(MetricDelta.Verdict.REGRESSED);
+        assertThat(latency(100, 2, 75 - baselineNoise + 0.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(100, 2, 75 - baselineNoise - 0.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.IMPROVED);
+    }
+
+    @Test
+    @DisplayName("Fast endpoints get the absolute latency floor instead of a sub-millisecond relative tolerance")
+    void absoluteLatencyFloor() {
+        MetricDelta doubled = latency(1, 0, 2, 0);
+        assertThat(doubled.limit()).isEqualTo(3);
+        assertThat(doubled.verdict()).as("+100% but only 1 ms").isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(1, 0, 3.01, 0).verdict()).isEqualTo(MetricDelta.Verdict.REGRESSED);
+        assertThat(latency(10, 0, 12, 0).verdict()).as("floor, not relative 2.5 ms").isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(10, 0, 12.6, 0).verdict()).isEqualTo(MetricDelta.Verdict.REGRESSED);
+    }
+
+    @Test
+    @DisplayName("A noise band wider than half the baseline is inconclusive unless the metric regressed past it anyway")
+    void tooNoisyToJudge() {
+        double noise = 3 * 2 * SIGMA_PER_MAD;
+        assertThat(noise).isBetween(5.0, 10.0);
+        assertThat(latency(20, 2, 20, 0).verdict()).as("noise under half of 20").isEqualTo(MetricDelta.Verdict.OK);
+        assertThat(latency(10, 2, 10, 0).verdict()).as("noise over half of 10").isEqualTo(MetricDelta.Verdict.INCONCLUSIVE);
+        assertThat(latency(10, 0, 10, 2).verdict()).as("a noisy current run counts too").isEqualTo(MetricDelta.Verdict.INCONCLUSIVE);
+        assertThat(latency(10, 2, 1, 0).verdict()).as("an improvement cannot be told from noise either")
+                .isEqualTo(MetricDelta.Verdict.INCONCLUSIVE);
+
+        MetricDelta wayOver = latency(10, 2, 10 + 2.5 + noise + 0.01, 0);
+        assertThat(wayOver.limit()).isCloseTo(10 + 2.5 + noise, within(1e-9));
+        assertThat(wayOver.verdict()).isEqualTo(MetricDelta.Verdict.REGRESSED);
+    }
+
+    @Test
+    @DisplayName("A full comparison flags only the regressed metrics, and metrics new since the baseline are not judged")
+    void compareResults() {
+        PerfResult baseline = result(Map.of(
+                BookOperation.CREATE, Map.of(Metric.P50, new MetricSummary(10, 0), Metric.P90, new MetricSummary(20, 0)),
+                BookOperation.GET_BY_ID, Map.of(Metric.P50, new MetricSummary(5, 0))));
+        PerfResult current = result(Map.of(
+                BookOperation.CREATE, Map.of(Metric.P50, new MetricSummary(11, 0), Metric.P90, new MetricSummary(30, 0)),
+                BookOperation.GET_BY_ID, Map.of(Metric.P50, new MetricSummary(5, 0), Metric.P99, new MetricSummary(50, 0))));
+
+        GateReport report = gate.compare(baseline, current);
+
+        assertThat(report.getDeltas()).hasSize(4);
+        assertThat(report.hasRegressions()).isTrue();
+        assertThat(report.getRegressions()).singleElement().satisfies(delta -> {
+            assertThat(delta.operation()).isEqualTo(BookOperation.CREATE);
+            assertThat(delta.metric()).isEqualTo(Metric.P90);
+        });
+        assertThat(report.isInconclusive()).isFalse();
+        assertThat(report.getDeltas()).filteredOn(delta -> delta.metric() == Metric.P99).singleElement()
+                .satisfies(delta -> assertThat(delta.verdict()).isEqualTo(MetricDelta.Verdict.NO_BASELINE));
+        assertThat(gate.compare(baseline, baseline).hasRegressions()).isFalse();
+    }
+
+    private MetricDelta latency(double baselineMedian, double baselineMad, double currentMedian, double currentMad) {
+        return gate.evaluate(BookOperation.GET_BY_ID, Metric.P90, new MetricSummary(baselineMedian, baselineMad),
+                new MetricSummary(currentMedian, currentMad));
+    }
+
+    private static PerfResult result(Map<BookOperation, Map<Metric, MetricSummary>> operations) {
+        Map<BookOperation, Map<Metric, MetricSummary>> sorted = new EnumMap<>(BookOperation.class);
+        operations.forEach((operation, metrics) -> sorted.put(operation, new EnumMap<>(metrics)));
+        return new PerfResult("http://localhost", "2026-01-01T00:00:00Z", 5, 50, sorted);
+    }
+}
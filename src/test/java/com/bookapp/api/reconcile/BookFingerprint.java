@@ -0,0 +1,56 @@
+package com.bookapp.api.reconcile;
+
+import com.bookapp.model.book.Book;
+
+/**
+ * 63-bit digest of a book's content (name, author, published_year, book_summary),
+ * so an {@link ExpectedCatalog} can hold one long per book instead of the Book.
+ * <p>
+ * Strings are folded in with FNV-1a over their UTF-16 units and terminated by their
+ * length, so moving characters from one field to the next changes the digest, and
+ * null hashes differently from the empty string. The result is finished with the
+ * SplitMix64 mixer. The ID is not part of it: the catalog is keyed by ID.
+ */
+public final class BookFingerprint {
+
+    /** Marks "content unknown"; {@link #of(Book)} never returns it. */
+    static final long UNKNOWN = 0L;
+    static final long MASK = Long.MAX_VALUE;
+
+    private static final long OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long PRIME = 0x100000001B3L;
+    private static final long NULL_MARK = -1L;
+
+    private BookFingerprint() {
+    }
+
+    public static long of(Book book) {
+        long h = OFFSET_BASIS;
+        h = fold(h, book.getName());
+        h = fold(h, book.getAuthor());
+        h = step(h, book.getPublishedYear() == null ? NULL_MARK : book.getPublishedYear());
+        h = fold(h, book.getBookSummary());
+        long fingerprint = mix(h) & MASK;
+        return fingerprint == UNKNOWN ? 1L : fingerprint;
+    }
+
+    private static long fold(long h, String value) {
+        if (value == null) {
+            return step(h, NULL_MARK);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * PRIME;
+        }
+        return step(h, value.length());
+    }
+
+    private static long step(long h, long value) {
+        return (h ^ value) * PRIME;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,197 @@
+package com.bookapp.api.reconcile;
+
+import com.bookapp.api.helper.BookStream;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.model.book.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Expected state of every book a run has written, compact enough to track millions:
+ * an open-addressing table of primitive int IDs and long states, at most three
+ * quarters full, so 16-32 bytes per book (24 MB for a million) and no per-entry objects.
+ * <p>
+ * A state is the book's {@link BookFingerprint} with the top bit marking it deleted.
+ * A deletion keeps the last known fingerprint, so a listed row only counts as a book
+ * that should be gone when it still has that content; the same ID holding other
+ * content means SQLite handed the ID out again. A deletion of a book never seen
+ * written has no fingerprint and matches any row under its ID.
+ * <p>
+ * {@link #reconcile} diffs the server's catalog against the table in one streamed
+ * {@code GET /books/}. Writes are expected to have finished by then.
+ */
+public class ExpectedCatalog {
+
+    private static final int SAMPLE_LIMIT = ConfigLoader.getIntegerProperty("reconcile.sample.size", 20);
+    private static final long DELETED = Long.MIN_VALUE;
+    private static final int EMPTY = 0; // server IDs start at 1
+    private static final int MIN_CAPACITY = 1024;
+
+    private int[] ids;
+    private long[] states;
+    private int mask;
+    private int size;
+    private int deleted;
+
+    public ExpectedCatalog() {
+        this(MIN_CAPACITY);
+    }
+
+    /** Presizes the table for {@code expectedBooks} entries so seeding never rehashes. */
+    public ExpectedCatalog(int expectedBooks) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, expectedBooks * 4L / 3)) * 2 - 1);
+        allocate(capacity);
+    }
+
+    public synchronized void expectPresent(Book book) {
+        put(checkId(book.getId()), BookFingerprint.of(book));
+    }
+
+    public synchronized void expectAbsent(Integer bookId) {
+        int id = checkId(bookId);
+        int slot = find(id);
+        put(id, slot >= 0 ? states[slot] | DELETED : DELETED | BookFingerprint.UNKNOWN);
+    }
+
+    /** Number of books tracked, including those expected to be deleted. */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long footprintBytes() {
+        return ids.length * (long) Integer.BYTES + states.length * (long) Long.BYTES;
+    }
+
+    /**
+     * Streams {@code catalog} once (it is consumed and closed) and diffs it against the
+     * expected state: a tracked book that is not listed is missing, a listed one whose
+     * content differs is mismatched, and a deleted one still listed is extra. A listed
+     * book the table does not know counts as extra only if {@code claimed} accepts it,
+     * e.g. because its name carries this run's identity; pass null to ignore untracked
+     * rows, which also lets the pass stop once every tracked ID has been seen.
+     */
+    public synchronized ReconciliationReport reconcile(BookStream catalog, Predicate<Book> claimed) {
+        long start = System.nanoTime();
+        long[] seen = new long[(ids.length + 63) >>> 6];
+        int expectedListed = size - deleted;
+        int seenCount = 0;
+        long listed = 0;
+        long matched = 0;
+        long mismatched = 0;
+        long extra = 0;
+        List<String> samples = new ArrayList<>();
+        try (catalog) {
+            while (catalog.hasNext() && (claimed != null || seenCount < size)) {
+                Book actual = catalog.next();
+                listed++;
+                int slot = actual.getId() != null && actual.getId() > 0 ? find(actual.getId()) : -1;
+                if (slot < 0) {
+                    if (claimed != null && claimed.test(actual)) {
+                        extra++;
+                        sample(samples, "Book " + actual.getId() + " is listed but was never written by this run: " + actual);
+                    }
+                    continue;
+                }
+                if ((seen[slot >>> 6] & (1L << slot)) != 0) {
+                    continue; // a repeated row; the server's duplicates are the contract check's business
+                }
+                seen[slot >>> 6] |= 1L << slot;
+                seenCount++;
+                long state = states[slot];
+                long expected = state & BookFingerprint.MASK;
+                if ((state & DELETED) == 0) {
+                    if (BookFingerprint.of(actual) == expected) {
+                        matched++;
+                    } else {
+                        mismatched++;
+                        sample(samples, "Book " + actual.getId() + " differs from what was last written: found " + actual);
+                    }
+                } else if (expected == BookFingerprint.UNKNOWN || BookFingerprint.of(actual) == expected) {
+                    extra++;
+                    sample(samples, "Book " + actual.getId() + " was deleted but is still listed: " + actual);
+                }
+            }
+        }
+        long missing = 0;
+        for (int slot = 0; slot < ids.length; slot++) {
+            if (ids[slot] != EMPTY && (states[slot] & DELETED) == 0 && (seen[slot >>> 6] & (1L << slot)) == 0) {
+                missing++;
+                sample(samples, "Book " + ids[slot] + " is missing from GET /books/");
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new ReconciliationReport(expectedListed, listed, matched, missing, extra, mismatched,
+                samples, footprintBytes(), elapsedSeconds);
+    }
+
+    private static void sample(List<String> samples, String difference) {
+        if (samples.size() < SAMPLE_LIMIT) {
+            samples.add(difference);
+        }
+    }
+
+    private static int checkId(Integer bookId) {
+        if (bookId == null || bookId <= 0) {
+            throw new IllegalArgumentException("Book ID must be a positive integer but was " + bookId);
+        }
+        return bookId;
+    }
+
+    private void put(int id, long state) {
+        int slot = slotFor(id);
+        if (ids[slot] == EMPTY) {
+            ids[slot] = id;
+            size++;
+        } else if ((states[slot] & DELETED) != 0) {
+            deleted--;
+        }
+        states[slot] = state;
+        if ((state & DELETED) != 0) {
+            deleted++;
+        }
+        if (size > ids.length / 4 * 3) {
+            grow();
+        }
+    }
+
+    private int find(int id) {
+        int slot = slotFor(id);
+        return ids[slot] == id ? slot : -1;
+    }
+
+    // Linear probing: the slot holding id, or the empty slot where it belongs
+    private int slotFor(int id) {
+        int slot = hash(id) & mask;
+        while (ids[slot] != EMPTY && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Sequential IDs would otherwise fill one run of slots
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        int[] oldIds = ids;
+        long[] oldStates = states;
+        allocate(oldIds.length * 2);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != EMPTY) {
+                int slot = slotFor(oldIds[i]);
+                ids[slot] = oldIds[i];
+                states[slot] = oldStates[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        states = new long[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bookapp.api.reconcile;
+
+import com.bookapp.api.helper.BookStream;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpectedCatalogTest {
+
+    @Test
+    @DisplayName("Fingerprints tell null from empty and notice text moving between fields")
+    void fingerprintSeparatesFields() {
+        assertThat(BookFingerprint.of(book(1, "ab", "c"))).isNotEqualTo(BookFingerprint.of(book(1, "a", "bc")));
+        assertThat(BookFingerprint.of(new Book(1, "n", null, 2000, "s")))
+                .isNotEqualTo(BookFingerprint.of(new Book(1, "n", "", 2000, "s")));
+        assertThat(BookFingerprint.of(book(1, "n", "a"))).isEqualTo(BookFingerprint.of(book(2, "n", "a")))
+                .isNotEqualTo(BookFingerprint.UNKNOWN)
+                .isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Inserting and overwriting an ID keeps one entry holding the latest content")
+    void overwriteKeepsLatestContent() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        catalog.expectPresent(book(1, "first", "a"));
+        catalog.expectPresent(book(1, "second", "a"));
+
+        assertThat(catalog.size()).isEqualTo(1);
+        ReconciliationReport report = catalog.reconcile(stream(book(1, "second", "a")), null);
+        assertThat(report.getMatched()).isEqualTo(1);
+        assertThat(report.isClean()).isTrue();
+        assertThat(catalog.reconcile(stream(book(1, "first", "a")), null).getMismatched()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deleting and re-inserting an ID switches it between expected gone and expected listed")
+    void deleteAndReinsert() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        catalog.expectPresent(book(7, "kept", "a"));
+        catalog.expectAbsent(7);
+
+        assertThat(catalog.size()).isEqualTo(1);
+        ReconciliationReport gone = catalog.reconcile(stream(), null);
+        assertThat(gone.getExpected()).isZero();
+        assertThat(gone.isClean()).isTrue();
+        assertThat(catalog.reconcile(stream(book(7, "kept", "a")), null).getExtra()).isEqualTo(1);
+        // SQLite handing the ID to another book is not this run's leftover
+        assertThat(catalog.reconcile(stream(book(7, "someone else's", "b")), null).isClean()).isTrue();
+
+        catalog.expectPresent(book(7, "back", "a"));
+        assertThat(catalog.size()).isEqualTo(1);
+        ReconciliationReport back = catalog.reconcile(stream(book(7, "back", "a")), null);
+        assertThat(back.getExpected()).isEqualTo(1);
+        assertThat(back.getMatched()).isEqualTo(1);
+        assertThat(catalog.reconcile(stream(), null).getMissing()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A deletion of a book never seen written matches any row under its ID")
+    void deletionWithoutKnownContent() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        catalog.expectAbsent(3);
+        assertThat(catalog.reconcile(stream(book(3, "anything", "a")), null).getExtra()).isEqualTo(1);
+        assertThat(catalog.reconcile(stream(), null).isClean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("The table grows past its load factor without losing or corrupting entries")
+    void growthKeepsEveryEntry() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        long initialFootprint = catalog.footprintBytes();
+        List<Book> books = IntStream.rangeClosed(1, 5000).mapToObj(id -> book(id * 7919, "b" + id, "a"))
+                .collect(Collectors.toList());
+        books.forEach(catalog::expectPresent);
+        books.stream().filter(b -> b.getId() % 2 == 0).forEach(b -> catalog.expectAbsent(b.getId()));
+
+        assertThat(catalog.size()).isEqualTo(5000);
+        assertThat(catalog.footprintBytes()).isGreaterThan(initialFootprint)
+                .isLessThanOrEqualTo(5000L * 32);
+        List<Book> listed = books.stream().filter(b -> b.getId() % 2 != 0).collect(Collectors.toList());
+        ReconciliationReport report = catalog.reconcile(stream(listed.toArray(new Book[0])), null);
+        assertThat(report.getExpected()).isEqualTo(2500);
+        assertThat(report.getMatched()).isEqualTo(2500);
+        assertThat(report.isClean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reconciliation reports missing, extra and mismatched rows and ignores rows claimed by others")
+    void reconcileReportsEveryKindOfDifference() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        catalog.expectPresent(book(1, "ours-matched", "a"));
+        catalog.expectPresent(book(2, "ours-edited", "a"));
+        catalog.expectPresent(book(3, "ours-missing", "a"));
+        catalog.expectPresent(book(4, "ours-deleted", "a"));
+        catalog.expectAbsent(4);
+
+        ReconciliationReport report = catalog.reconcile(stream(
+                book(1, "ours-matched", "a"),
+                book(2, "ours-edited", "changed"),
+                book(4, "ours-deleted", "a"),
+                book(5, "ours-untracked", "a"),
+                book(6, "theirs", "a")), book -> book.getName().startsWith("ours-"));
+
+        assertThat(report.getExpected()).isEqualTo(3);
+        assertThat(report.getListed()).isEqualTo(5);
+        assertThat(report.getMatched()).isEqualTo(1);
+        assertThat(report.getMismatched()).isEqualTo(1);
+        assertThat(report.getMissing()).isEqualTo(1);
+        assertThat(report.getExtra()).as("deleted-but-listed plus untracked-but-claimed").isEqualTo(2);
+        assertThat(report.getSamples()).hasSize(4)
+                .anySatisfy(sample -> assertThat(sample).startsWith("Book 2 differs"))
+                .anySatisfy(sample -> assertThat(sample).startsWith("Book 3 is missing"))
+                .anySatisfy(sample -> assertThat(sample).startsWith("Book 4 was deleted"))
+                .anySatisfy(sample -> assertThat(sample).startsWith("Book 5 is listed but was never written"))
+                .noneSatisfy(sample -> assertThat(sample).contains("Book 6"));
+    }
+
+    @Test
+    @DisplayName("Without a claim predicate, untracked rows are ignored")
+    void unclaimedRowsAreIgnored() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        catalog.expectPresent(book(1, "ours", "a"));
+        ReconciliationReport report = catalog.reconcile(stream(book(9, "theirs", "a"), book(1, "ours", "a")), null);
+        assertThat(report.isClean()).isTrue();
+        assertThat(report.getMatched()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("IDs the server could never assign are rejected")
+    void rejectsNonPositiveIds() {
+        ExpectedCatalog catalog = new ExpectedCatalog();
+        assertThatThrownBy(() -> catalog.expectPresent(book(0, "n", "a"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> catalog.expectAbsent(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Book book(int id, String name, String author) {
+        return new Book(id, name, author, 2001, "A summary.");
+    }
+
+    private static BookStream stream(Book... books) {
+        try {
+            return new BookStream(new ByteArrayInputStream(SharedObjectMapper.get().writeValueAsBytes(books)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
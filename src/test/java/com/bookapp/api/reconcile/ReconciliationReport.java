@@ -0,0 +1,50 @@
+package com.bookapp.api.reconcile;
+
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of an {@link ExpectedCatalog#reconcile} pass. Counts cover every row;
+ * {@code samples} holds only the first {@code reconcile.sample.size} differences.
+ */
+@Getter
+@AllArgsConstructor
+public class ReconciliationReport {
+
+    private final long expected;
+    private final long listed;
+    private final long matched;
+    private final long missing;
+    private final long extra;
+    private final long mismatched;
+    private final List<String> samples;
+    private final long footprintBytes;
+    private final double elapsedSeconds;
+
+    public long getDifferences() {
+        return missing + extra + mismatched;
+    }
+
+    public boolean isClean() {
+        return getDifferences() == 0;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "Reconciled %d expected book(s) against %d listed in %.2fs: %d matched, %d missing, %d extra, %d mismatched "
+                        + "(expected state %.1f MB)", expected, listed, elapsedSeconds, matched, missing, extra, mismatched,
+                footprintBytes / (1024.0 * 1024.0)));
+        samples.forEach(sample -> sb.append(System.lineSeparator()).append("  ").append(sample));
+        if (getDifferences() > samples.size()) {
+            sb.append(System.lineSeparator()).append("  ... and ").append(getDifferences() - samples.size()).append(" more");
+        }
+        return sb.toString();
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Catalog reconciliation", "text/plain", format());
+    }
+}
@@ -0,0 +1,21 @@
+package com.bookapp.api.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with full jitter, shared by the request retries and the
+ * seeding pipeline. Full jitter spreads the retries of many workers that failed
+ * together instead of sending them back in lockstep.
+ */
+public final class Backoff {
+
+    private Backoff() {
+    }
+
+    /** Uniform in [0, min(max, base * 2^(attempt-1))] milliseconds, for the retry after {@code attempt}. */
+    public static long fullJitterMillis(Duration base, Duration max, int attempt) {
+        long ceiling = Math.min(max.toMillis(), base.toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.bookapp.api.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. CLOSED: outcomes go into a ring of the last
+ * {@code window} calls, and once at least {@code minimumCalls} are in it a failure
+ * share at or above {@code failureRate} opens the breaker. OPEN: every call is
+ * rejected until {@code openDuration} has passed. HALF_OPEN: {@code halfOpenCalls}
+ * trial calls are let through; all of them succeeding closes the breaker, any
+ * failure opens it again.
+ * <p>
+ * "Failure" means the service misbehaved (5xx, 429, timeout, reset), not a 4xx.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long timesOpened;
+    private long rejected;
+
+    public CircuitBreaker(ResilienceSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    /** @param nanoClock source of {@link System#nanoTime()}-style readings; tests pass one they can advance */
+    CircuitBreaker(ResilienceSettings settings, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[Math.max(1, settings.getBreakerWindow())];
+        this.minimumCalls = Math.min(outcomes.length, Math.max(1, settings.getBreakerMinimumCalls()));
+        this.failureRate = settings.getBreakerFailureRate();
+        this.openNanos = settings.getBreakerOpenDuration().toNanos();
+        this.halfOpenCalls = settings.getBreakerHalfOpenCalls();
+    }
+
+    /** Whether a call may go ahead now. Every granted call must end in onSuccess, onFailure or release. */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejected++;
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures >= failureRate * recorded) {
+                open();
+            }
+        }
+    }
+
+    /** Gives back a permit whose call said nothing about the service (e.g. it failed before sending). */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    public synchronized String describe() {
+        return String.format("%s, %d/%d recent calls failed, opened %d time(s), %d call(s) rejected",
+                state, failures, recorded, timesOpened, rejected);
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        timesOpened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
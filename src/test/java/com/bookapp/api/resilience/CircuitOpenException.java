@@ -0,0 +1,11 @@
+package com.bookapp.api.resilience;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String request, String breaker) {
+        super("Circuit breaker rejected " + request + ": " + breaker);
+    }
+}
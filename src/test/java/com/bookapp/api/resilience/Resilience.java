@@ -0,0 +1,163 @@
+package com.bookapp.api.resilience;
+
+import com.bookapp.api.utility.TransientFailures;
+import io.restassured.response.Response;
+
+import java.io.EOFException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Wraps each {@link com.bookapp.api.helper.BookApiServiceHelper} request in the
+ * client's failure handling:
+ * <ul>
+ *   <li>bounded retries with capped exponential backoff and full jitter, for
+ *       idempotent methods only ({@code http.retry.methods}), on 5xx, 429, timeouts
+ *       and connection failures. Each retry re-runs the whole request, filters included;</li>
+ *   <li>one process-wide {@link CircuitBreaker} in front of the service, so that once it
+ *       is failing, calls fail fast with {@link CircuitOpenException} instead of each
+ *       one waiting out its timeout.</li>
+ * </ul>
+ * Connect and read timeouts are set on the connection pool ({@code http.connect.timeout.ms},
+ * {@code http.read.timeout.ms}), so no attempt can stall a worker indefinitely.
+ * <p>
+ * A retried DELETE whose first attempt did reach the server answers 404; callers that
+ * delete under injected faults should accept that.
+ */
+public final class Resilience {
+
+    private static final Resilience DEFAULT = create(ResilienceSettings.fromConfig());
+
+    private final ResilienceSettings settings;
+    private final CircuitBreaker breaker;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    // Tests build their own instance, with their own breaker and clock, instead of going through DEFAULT
+    Resilience(ResilienceSettings settings, CircuitBreaker breaker) {
+        this.settings = settings;
+        this.breaker = breaker;
+    }
+
+    private static Resilience create(ResilienceSettings settings) {
+        return new Resilience(settings, settings.isBreakerEnabled() ? new CircuitBreaker(settings) : null);
+    }
+
+    /**
+     * Sends the request and buffers the response within the attempt, so a body cut
+     * off part way (shorter than its Content-Length) is retried like any other
+     * transient failure.
+     */
+    public static Response call(String method, String path, Supplier<Response> request) {
+        return DEFAULT.execute(method, path, request, true);
+    }
+
+    /** As {@link #call}, but leaves the body unread for the caller to stream; failures while streaming are not retried. */
+    public static Response callStreaming(String method, String path, Supplier<Response> request) {
+        return DEFAULT.execute(method, path, request, false);
+    }
+
+    public static CircuitBreaker getBreaker() {
+        return DEFAULT.breaker;
+    }
+
+    public static long getRetries() {
+        return DEFAULT.retries.sum();
+    }
+
+    public static String stats() {
+        return DEFAULT.describe();
+    }
+
+    Response execute(String method, String path, Supplier<Response> request, boolean buffer) {
+        calls.increment();
+        boolean retryable = settings.getRetryMethods().contains(method);
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = !retryable || attempt >= settings.getMaxAttempts();
+            if (breaker != null && !breaker.tryAcquire()) {
+                throw new CircuitOpenException(method + " " + path, breaker.describe());
+            }
+            Response response;
+            try {
+                response = request.get();
+                if (buffer && TransientFailures.isTruncated(response)) {
+                    throw new UncheckedIOException(new EOFException(method + " " + path + ": response body truncated ("
+                            + response.asByteArray().length + " of " + response.header("Content-Length") + " bytes)"));
+                }
+            } catch (Exception e) { // RestAssured rethrows IOExceptions undeclared
+                if (!TransientFailures.isTransient(e)) {
+                    release();
+                    throw e;
+                }
+                failed();
+                if (lastAttempt || !canRetry()) {
+                    throw e;
+                }
+                backoff(attempt);
+                continue;
+            }
+            if (!isTransientStatus(response.statusCode())) {
+                succeeded();
+                return response;
+            }
+            failed();
+            if (lastAttempt || !canRetry()) {
+                return response;
+            }
+            response.asByteArray(); // frees the connection before the next attempt
+            backoff(attempt);
+        }
+    }
+
+    long retries() {
+        return retries.sum();
+    }
+
+    String describe() {
+        return String.format("%d calls, %d retries; breaker %s", calls.sum(), retries.sum(),
+                breaker != null ? breaker.describe() : "disabled");
+    }
+
+    static boolean isTransientStatus(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    // A retry the breaker would reject is not made: the caller gets the real failure, not a CircuitOpenException
+    private boolean canRetry() {
+        if (breaker == null || breaker.getState() == CircuitBreaker.State.CLOSED) {
+            retries.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void succeeded() {
+        if (breaker != null) {
+            breaker.onSuccess();
+        }
+    }
+
+    private void failed() {
+        if (breaker != null) {
+            breaker.onFailure();
+        }
+    }
+
+    private void release() {
+        if (breaker != null) {
+            breaker.release();
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(Backoff.fullJitterMillis(settings.getBaseBackoff(), settings.getMaxBackoff(), attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off before a retry", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookapp.api.resilience;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Retry and circuit breaker tuning for {@link Resilience}, read from the http.retry.*
+ * and http.breaker.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class ResilienceSettings {
+
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Set<String> retryMethods;
+    private final boolean breakerEnabled;
+    private final int breakerWindow;
+    private final int breakerMinimumCalls;
+    private final double breakerFailureRate;
+    private final Duration breakerOpenDuration;
+    private final int breakerHalfOpenCalls;
+
+    public static ResilienceSettings fromConfig() {
+        return new ResilienceSettings(
+                Math.max(1, ConfigLoader.getIntegerProperty("http.retry.max.attempts", 1)),
+                Duration.ofMillis(ConfigLoader.getLongProperty("http.retry.base.ms", 50)),
+                Duration.ofMillis(ConfigLoader.getLongProperty("http.retry.max.ms", 1000)),
+                Arrays.stream(ConfigLoader.getProperty("http.retry.methods", "GET,HEAD,OPTIONS,PUT,DELETE").split(","))
+                        .map(String::trim).filter(method -> !method.isEmpty()).map(String::toUpperCase)
+                        .collect(Collectors.toUnmodifiableSet()),
+                ConfigLoader.getBooleanProperty("http.breaker.enabled", false),
+                ConfigLoader.getIntegerProperty("http.breaker.window", 50),
+                ConfigLoader.getIntegerProperty("http.breaker.minimum.calls", 20),
+                ConfigLoader.getDoubleProperty("http.breaker.failure.rate", 0.5),
+                Duration.ofMillis(ConfigLoader.getLongProperty("http.breaker.open.ms", 5000)),
+                Math.max(1, ConfigLoader.getIntegerProperty("http.breaker.half.open.calls", 3)));
+    }
+}
@@ -0,0 +1,281 @@
+package com.bookapp.api.resilience;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Breaker transitions run against a clock the test advances by hand, and retries
+ * against scripted responses with no backoff, so nothing here waits or touches the network.
+ */
+class ResilienceTest {
+
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private long now = 1_000_000_000L;
+
+    @Test
+    @DisplayName("The breaker stays closed below the minimum number of calls, then opens at the failure rate")
+    void closedToOpen() {
+        CircuitBreaker breaker = breaker(10, 4, 0.5, 2);
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("3 calls recorded, 4 needed").isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("3 of 4 failed").isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getTimesOpened()).isEqualTo(1);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Only the last window of calls counts towards the failure rate")
+    void oldFailuresLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(4, 4, 0.75, 2);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("2 of the last 4 failed").isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("3 of the last 4 failed").isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("An open breaker rejects everything until open.ms has passed, then lets half.open.calls trials through")
+    void openToHalfOpen() {
+        CircuitBreaker breaker = openBreaker(2);
+
+        now += OPEN_NANOS - 1;
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        now += 1;
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).as("both trial permits are out").isFalse();
+
+        breaker.release();
+        assertThat(breaker.tryAcquire()).as("a released permit can be used again").isTrue();
+    }
+
+    @Test
+    @DisplayName("Half-open closes once every trial succeeds, and starts a fresh window")
+    void halfOpenToClosed() {
+        CircuitBreaker breaker = openBreaker(2);
+        now += OPEN_NANOS;
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).as("the failures that opened it are forgotten").isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("A failed trial reopens the breaker for another full open.ms")
+    void halfOpenToOpen() {
+        CircuitBreaker breaker = openBreaker(2);
+        now += OPEN_NANOS;
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getTimesOpened()).isEqualTo(2);
+        now += OPEN_NANOS - 1;
+        assertThat(breaker.tryAcquire()).isFalse();
+        now += 1;
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("5xx and 429 are retried up to max.attempts; other statuses are returned at once")
+    void retriesOnlyTransientStatuses() {
+        Resilience resilience = resilience(3, null);
+        Script script = new Script(503, 429, 200);
+        assertThat(resilience.execute("GET", "/books/", script, true).statusCode()).isEqualTo(200);
+        assertThat(script.attempts()).isEqualTo(3);
+        assertThat(resilience.retries()).isEqualTo(2);
+
+        Script exhausted = new Script(500, 502, 503, 200);
+        assertThat(resilience.execute("GET", "/books/", exhausted, true).statusCode()).isEqualTo(503);
+        assertThat(exhausted.attempts()).isEqualTo(3);
+
+        for (int status : new int[]{400, 401, 404, 409, 422}) {
+            Script permanent = new Script(status, 200);
+            assertThat(resilience.execute("GET", "/books/1", permanent, true).statusCode()).isEqualTo(status);
+            assertThat(permanent.attempts()).as("status %d", status).isEqualTo(1);
+        }
+        assertThat(Resilience.isTransientStatus(499)).isFalse();
+        assertThat(Resilience.isTransientStatus(500)).isTrue();
+        assertThat(Resilience.isTransientStatus(429)).isTrue();
+    }
+
+    @Test
+    @DisplayName("I/O failures and truncated bodies are retried; other exceptions are thrown at once")
+    void retriesIoFailures() {
+        Resilience resilience = resilience(3, null);
+        AtomicInteger attempts = new AtomicInteger();
+        Response ok = resilience.execute("GET", "/books/", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new ConnectException("Connection refused"));
+            }
+            return response(200, "[]", null);
+        }, true);
+        assertThat(ok.statusCode()).isEqualTo(200);
+        assertThat(attempts).hasValue(2);
+
+        Deque<Response> truncatedThenWhole = new ArrayDeque<>(Arrays.asList(
+                response(200, "[{", "100"), response(200, "[]", "2")));
+        assertThat(resilience.execute("GET", "/books/", truncatedThenWhole::pop, true).asString()).isEqualTo("[]");
+        assertThat(truncatedThenWhole).isEmpty();
+
+        AtomicInteger bugs = new AtomicInteger();
+        assertThatThrownBy(() -> resilience.execute("GET", "/books/", () -> {
+            bugs.incrementAndGet();
+            throw new IllegalStateException("not a network problem");
+        }, true)).isInstanceOf(IllegalStateException.class);
+        assertThat(bugs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Only the methods in http.retry.methods are retried")
+    void retriesOnlyIdempotentMethods() {
+        Resilience resilience = resilience(3, null);
+        for (String method : new String[]{"GET", "PUT", "DELETE"}) {
+            Script script = new Script(503, 200);
+            assertThat(resilience.execute(method, "/books/1", script, true).statusCode()).isEqualTo(200);
+            assertThat(script.attempts()).as(method).isEqualTo(2);
+        }
+        for (String method : new String[]{"POST", "PATCH"}) {
+            Script script = new Script(503, 200);
+            assertThat(resilience.execute(method, "/books/", script, true).statusCode()).isEqualTo(503);
+            assertThat(script.attempts()).as(method).isEqualTo(1);
+        }
+        AtomicInteger posts = new AtomicInteger();
+        assertThatThrownBy(() -> resilience.execute("POST", "/books/", () -> {
+            posts.incrementAndGet();
+            throw new UncheckedIOException(new ConnectException("Connection reset"));
+        }, true)).isInstanceOf(UncheckedIOException.class);
+        assertThat(posts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("No retry is made once the breaker has opened; the next call fails fast without being sent")
+    void noRetryTheBreakerWouldReject() {
+        CircuitBreaker breaker = breaker(10, 2, 0.5, 1);
+        Resilience resilience = resilience(3, breaker);
+        breaker.onSuccess();
+
+        Script script = new Script(503, 200);
+        assertThat(resilience.execute("GET", "/books/", script, true).statusCode())
+                .as("the real failure, not a CircuitOpenException").isEqualTo(503);
+        assertThat(script.attempts()).isEqualTo(1);
+        assertThat(resilience.retries()).isZero();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Script rejected = new Script(200);
+        assertThatThrownBy(() -> resilience.execute("GET", "/books/", rejected, true))
+                .isInstanceOf(CircuitOpenException.class);
+        assertThat(rejected.attempts()).isZero();
+
+        now += OPEN_NANOS;
+        Script trial = new Script(503, 200);
+        assertThat(resilience.execute("GET", "/books/", trial, true).statusCode())
+                .as("a failed half-open trial reopens the breaker, so it is not retried").isEqualTo(503);
+        assertThat(trial.attempts()).isEqualTo(1);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Client-side failures give back their half-open permit instead of counting against the service")
+    void nonTransientFailureReleasesPermit() {
+        CircuitBreaker breaker = openBreaker(1);
+        Resilience resilience = resilience(3, breaker);
+        now += OPEN_NANOS;
+
+        assertThatThrownBy(() -> resilience.execute("GET", "/books/", () -> {
+            throw new IllegalStateException("bad request setup");
+        }, true)).isInstanceOf(IllegalStateException.class);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        assertThat(resilience.execute("GET", "/books/", new Script(200), true).statusCode()).isEqualTo(200);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private CircuitBreaker openBreaker(int halfOpenCalls) {
+        CircuitBreaker breaker = breaker(10, 2, 0.5, halfOpenCalls);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private CircuitBreaker breaker(int window, int minimumCalls, double failureRate, int halfOpenCalls) {
+        return new CircuitBreaker(settings(1, window, minimumCalls, failureRate, halfOpenCalls), () -> now);
+    }
+
+    private static Resilience resilience(int maxAttempts, CircuitBreaker breaker) {
+        return new Resilience(settings(maxAttempts, 10, 1, 1.0, 1), breaker);
+    }
+
+    // No backoff, so retries run back to back
+    private static ResilienceSettings settings(int maxAttempts, int window, int minimumCalls, double failureRate,
+                                               int halfOpenCalls) {
+        return new ResilienceSettings(maxAttempts, Duration.ZERO, Duration.ZERO, Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE"),
+                true, window, minimumCalls, failureRate, Duration.ofNanos(OPEN_NANOS), halfOpenCalls);
+    }
+
+    private static Response response(int status, String body, String contentLength) {
+        return new ResponseBuilder().setStatusCode(status).setBody(body)
+                .setHeader("Content-Length", contentLength != null ? contentLength : String.valueOf(body.length()))
+                .build();
+    }
+
+    /** Answers each attempt with the next status in line, and counts the attempts. */
+    private static class Script implements Supplier<Response> {
+
+        private final int[] statuses;
+        private int attempts;
+
+        Script(int... statuses) {
+            this.statuses = statuses;
+        }
+
+        @Override
+        public Response get() {
+            return response(statuses[attempts++], "{}", null);
+        }
+
+        int attempts() {
+            return attempts;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.bookapp.api.scaling;
+
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.factory.TestDataGenerator;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.VirtualThreads;
+import com.bookapp.api.seed.SeedReport;
+import com.bookapp.api.seed.SeedSettings;
+import com.bookapp.api.seed.SeedingPipeline;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.model.book.Book;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Grows the catalog through {@link ScalingSettings#getCatalogStages()} and measures
+ * GET /books/, GET /books/{id} and PUT /books/{id} at each stage, and separately
+ * measures them on a small set of probe books as their book_summary grows.
+ * <p>
+ * The catalog grows through {@link SeedingPipeline}, so seeded books are retained
+ * across runs and a later run starts from wherever the catalog already is. The probe
+ * books are deleted before the catalog grows, so large summaries never leak into the
+ * catalog curve. Once GET /books/ fails at some point (timeout, server error, or the
+ * client running out of heap parsing it), it is recorded as fallen over and skipped
+ * for the rest of that curve.
+ */
+public class ScalingBenchmark {
+
+    public static final String LIST = "GET /books/";
+    public static final String GET_BY_ID = "GET /books/{id}";
+    public static final String PUT_BY_ID = "PUT /books/{id}";
+
+    private final BookApiFactory bookApiFactory;
+    private final BookApiServiceHelper bookApiServiceHelper;
+    private final ScalingSettings settings;
+    private final SeedSettings seedSettings;
+
+    private final IntList catalogIds = new IntList();
+    // Seeded by this run, so safe to rewrite with PUT
+    private final IntList ownedIds = new IntList();
+    private final IntList probeIds = new IntList();
+    private final Map<String, String> listFailures = new HashMap<>();
+
+    public ScalingBenchmark(BookApiFactory bookApiFactory, BookApiServiceHelper bookApiServiceHelper,
+                            ScalingSettings settings, SeedSettings seedSettings) {
+        this.bookApiFactory = bookApiFactory;
+        this.bookApiServiceHelper = bookApiServiceHelper;
+        this.settings = settings;
+        this.seedSettings = seedSettings;
+        // Streamed, so taking stock of an already large catalog is not the thing that falls over
+        try (Stream<Book> books = bookApiFactory.streamAllBooks()) {
+            books.forEach(book -> catalogIds.add(book.getId()));
+        }
+        System.out.println("Catalog scaling benchmark starting from " + catalogIds.size() + " books");
+    }
+
+    public int getCatalogSize() {
+        return catalogIds.size();
+    }
+
+    /** Seeds the catalog up to {@code targetSize} books (if it is not there already) and measures it. */
+    public List<ScalingPoint> growCatalogTo(int targetSize) {
+        removeProbes();
+        int missing = targetSize - catalogIds.size();
+        if (missing > 0) {
+            SeedReport seed = SeedingPipeline.books(bookApiServiceHelper, bookApiFactory::generateUniqueBookPayload, seedSettings)
+                    .run(missing);
+            System.out.println(seed.format());
+            readSeeded(seed.getOutput());
+        }
+        TestDataGenerator generator = TestDataGenerator.shared();
+        int updates = ownedIds.size() == 0 ? 0 : settings.getRequests();
+        return measure("catalog", catalogIds.size(), 0, catalogIds,
+                updates, i -> ownedIds.random(), i -> generator.nextBook());
+    }
+
+    /**
+     * Rewrites every probe book with a summary of {@code summaryChars} characters (the
+     * PUT measurement) and measures reads at that size. The probes are created on the
+     * first call.
+     */
+    public List<ScalingPoint> sweepSummary(int summaryChars) {
+        TestDataGenerator generator = TestDataGenerator.shared()
+                .withSummarySize(TestDataGenerator.SummarySize.parse("fixed:" + summaryChars));
+        if (probeIds.size() == 0) {
+            int[] created = new int[settings.getSummaryProbeBooks()];
+            run(created.length, i -> {
+                created[i] = SharedObjectMapper.readBook(bookApiServiceHelper.createBook(generator.nextBook()).asByteArray()).getId();
+                return 0;
+            });
+            Arrays.stream(created).filter(id -> id > 0).forEach(probeIds::add);
+        }
+        return measure("summary", catalogIds.size() + probeIds.size(), summaryChars, probeIds,
+                probeIds.size(), probeIds::get, i -> generator.nextBook());
+    }
+
+    /** Deletes the summary probe books; called before the catalog grows and at the end of the run. */
+    public void removeProbes() {
+        if (probeIds.size() > 0) {
+            run(probeIds.size(), i -> bookApiServiceHelper.deleteBook(probeIds.get(i)).asByteArray().length);
+            probeIds.clear();
+        }
+    }
+
+    private List<ScalingPoint> measure(String series, int catalogSize, int summaryChars, IntList readIds,
+                                       int updates, IntUnaryOperator updateIds, IntFunction<Book> updatePayloads) {
+        List<ScalingPoint> points = new ArrayList<>();
+        points.add(updates == 0
+                ? notMeasured(series, catalogSize, summaryChars, PUT_BY_ID, "no books seeded by this run to update")
+                : point(series, catalogSize, summaryChars, PUT_BY_ID, run(updates,
+                        i -> bookApiServiceHelper.updateBook(updateIds.applyAsInt(i), updatePayloads.apply(i)).asByteArray().length)));
+        points.add(point(series, catalogSize, summaryChars, GET_BY_ID, run(settings.getRequests(),
+                i -> bookApiServiceHelper.getBookById(readIds.random()).asByteArray().length)));
+        points.add(measureList(series, catalogSize, summaryChars));
+        points.forEach(point -> System.out.printf("%-8s %9d books, summary %6d: %-16s p50 %8.1f ms, p99 %8.1f ms, %8.1f/s, %,12d B%s%n",
+                series, catalogSize, summaryChars, point.getEndpoint(), point.getP50Millis(), point.getP99Millis(),
+                point.getThroughput(), point.getMeanResponseBytes(),
+                point.isMeasured() ? "" : " (" + point.getFailure() + ")"));
+        return points;
+    }
+
+    // Sequential: one list response can be most of the heap, and it is the latency of a single one that matters
+    private ScalingPoint measureList(String series, int catalogSize, int summaryChars) {
+        String fellOver = listFailures.get(series);
+        if (fellOver != null) {
+            return notMeasured(series, catalogSize, summaryChars, LIST, "skipped, " + fellOver);
+        }
+        try {
+            long responseBytes = bookApiServiceHelper.getAllBooks().asByteArray().length;
+            Histogram latency = new Histogram(3);
+            long allocated = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < settings.getListRequests(); i++) {
+                long allocatedBefore = allocatedBytes();
+                long callStart = System.nanoTime();
+                bookApiFactory.getAllBooksAndAssertCount(catalogSize);
+                latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart));
+                allocated += allocatedBytes() - allocatedBefore;
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            return new ScalingPoint(series, catalogSize, summaryChars, LIST, latency.getTotalCount(), 0,
+                    latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getMaxValue() / 1000.0, latency.getTotalCount() / elapsedSeconds, responseBytes,
+                    allocated / Math.max(1, settings.getListRequests()), null);
+        } catch (RuntimeException | AssertionError | OutOfMemoryError e) {
+            String failure = "fell over at " + catalogSize + " books: " + e.getClass().getSimpleName() + " "
+                    + String.valueOf(e.getMessage()).trim().replaceAll("\\s+", " ");
+            listFailures.put(series, failure.length() > 200 ? failure.substring(0, 200) + "..." : failure);
+            return notMeasured(series, catalogSize, summaryChars, LIST, listFailures.get(series));
+        }
+    }
+
+    private record Sample(Histogram latency, long errors, long responseBytes, double elapsedSeconds) {
+    }
+
+    /** Runs {@code count} calls over the configured concurrency; each call returns its response size. */
+    private Sample run(int count, IntToLongFunction call) {
+        Recorder recorder = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = VirtualThreads.newExecutor("scaling", settings.getConcurrency());
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < settings.getConcurrency(); w++) {
+                workers.add(executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < count) {
+                        long callStart = System.nanoTime();
+                        try {
+                            bytes.add(call.applyAsLong(i));
+                            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart));
+                        } catch (RuntimeException | AssertionError e) {
+                            errors.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while measuring", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Measurement worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        Histogram latency = recorder.getIntervalHistogram();
+        return new Sample(latency, errors.sum(), latency.getTotalCount() == 0 ? 0 : bytes.sum() / latency.getTotalCount(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    private static ScalingPoint point(String series, int catalogSize, int summaryChars, String endpoint, Sample sample) {
+        Histogram latency = sample.latency();
+        return new ScalingPoint(series, catalogSize, summaryChars, endpoint, latency.getTotalCount() + sample.errors(),
+                sample.errors(), latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                latency.getMaxValue() / 1000.0, latency.getTotalCount() / sample.elapsedSeconds(),
+                sample.responseBytes(), -1, null);
+    }
+
+    private static ScalingPoint notMeasured(String series, int catalogSize, int summaryChars, String endpoint, String reason) {
+        return new ScalingPoint(series, catalogSize, summaryChars, endpoint, 0, 0, 0, 0, 0, 0, 0, -1, reason);
+    }
+
+    private void readSeeded(Path seedOutput) {
+        try (BufferedReader reader = Files.newBufferedReader(seedOutput)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    int id = Integer.parseInt(line.trim());
+                    catalogIds.add(id);
+                    ownedIds.add(id);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read seeded book IDs from " + seedOutput, e);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    /** Growable int array: a million boxed IDs would be most of what the benchmark itself allocates. */
+    private static final class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        synchronized void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized int get(int index) {
+            return values[index];
+        }
+
+        synchronized int random() {
+            return values[ThreadLocalRandom.current().nextInt(size)];
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            size = 0;
+        }
+    }
+}
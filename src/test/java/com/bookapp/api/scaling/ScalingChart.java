@@ -0,0 +1,127 @@
+package com.bookapp.api.scaling;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders scaling curves as a log-log SVG line chart, which Allure shows inline.
+ * Each series is a list of (x, y) points; non-positive values cannot sit on a log
+ * axis and are left out.
+ */
+final class ScalingChart {
+
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 420;
+    private static final int LEFT = 70;
+    private static final int RIGHT = 170;
+    private static final int TOP = 40;
+    private static final int BOTTOM = 50;
+    private static final String[] COLORS = {"#1f77b4", "#d62728", "#2ca02c", "#ff7f0e", "#9467bd"};
+
+    private ScalingChart() {
+    }
+
+    static String logLog(String title, String xLabel, String yLabel, Map<String, List<double[]>> series) {
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (List<double[]> points : series.values()) {
+            for (double[] point : points) {
+                if (point[0] > 0 && point[1] > 0) {
+                    minX = Math.min(minX, point[0]);
+                    maxX = Math.max(maxX, point[0]);
+                    minY = Math.min(minY, point[1]);
+                    maxY = Math.max(maxY, point[1]);
+                }
+            }
+        }
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT, "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" "
+                + "font-family=\"sans-serif\" font-size=\"12\">%n", WIDTH, HEIGHT));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"24\" font-size=\"15\">%s</text>%n", LEFT, escape(title)));
+        if (minX == Double.MAX_VALUE) {
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">No data</text>%n</svg>%n", LEFT, HEIGHT / 2));
+            return svg.toString();
+        }
+        Axis x = new Axis(minX, maxX, LEFT, WIDTH - RIGHT);
+        Axis y = new Axis(minY, maxY, HEIGHT - BOTTOM, TOP);
+
+        for (double decade = x.firstDecade(); decade <= x.max; decade *= 10) {
+            double px = x.position(decade);
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#ddd\"/>"
+                    + "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                    px, TOP, px, HEIGHT - BOTTOM, px, HEIGHT - BOTTOM + 16, label(decade)));
+        }
+        for (double decade = y.firstDecade(); decade <= y.max; decade *= 10) {
+            double py = y.position(decade);
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#ddd\"/>"
+                    + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n",
+                    LEFT, py, WIDTH - RIGHT, py, LEFT - 6, py + 4, label(decade)));
+        }
+        svg.append(String.format(Locale.ROOT, "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#888\"/>%n",
+                LEFT, TOP, WIDTH - LEFT - RIGHT, HEIGHT - TOP - BOTTOM));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                (LEFT + WIDTH - RIGHT) / 2, HEIGHT - 12, escape(xLabel)));
+        svg.append(String.format(Locale.ROOT, "<text transform=\"translate(16,%d) rotate(-90)\" text-anchor=\"middle\">%s</text>%n",
+                (TOP + HEIGHT - BOTTOM) / 2, escape(yLabel)));
+
+        int index = 0;
+        for (Map.Entry<String, List<double[]>> entry : series.entrySet()) {
+            String color = COLORS[index % COLORS.length];
+            StringBuilder line = new StringBuilder();
+            for (double[] point : entry.getValue()) {
+                if (point[0] > 0 && point[1] > 0) {
+                    double px = x.position(point[0]);
+                    double py = y.position(point[1]);
+                    line.append(String.format(Locale.ROOT, "%.1f,%.1f ", px, py));
+                    svg.append(String.format(Locale.ROOT, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>%n", px, py, color));
+                }
+            }
+            svg.append(String.format(Locale.ROOT, "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\"/>%n",
+                    line.toString().trim(), color));
+            int legendY = TOP + 10 + index * 20;
+            svg.append(String.format(Locale.ROOT, "<rect x=\"%d\" y=\"%d\" width=\"12\" height=\"12\" fill=\"%s\"/>"
+                    + "<text x=\"%d\" y=\"%d\">%s</text>%n", WIDTH - RIGHT + 12, legendY - 10, color,
+                    WIDTH - RIGHT + 30, legendY, escape(entry.getKey())));
+            index++;
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    /** A log10 axis padded out to whole decades. */
+    private static final class Axis {
+        private final double min;
+        private final double max;
+        private final double from;
+        private final double to;
+
+        Axis(double min, double max, double from, double to) {
+            this.min = Math.pow(10, Math.floor(Math.log10(min)));
+            this.max = Math.pow(10, Math.max(Math.ceil(Math.log10(max)), Math.log10(this.min) + 1));
+            this.from = from;
+            this.to = to;
+        }
+
+        double firstDecade() {
+            return min;
+        }
+
+        double position(double value) {
+            double fraction = (Math.log10(value) - Math.log10(min)) / (Math.log10(max) - Math.log10(min));
+            return from + fraction * (to - from);
+        }
+    }
+
+    private static String label(double value) {
+        if (value >= 1_000_000) {
+            return String.format(Locale.ROOT, "%.0fM", value / 1_000_000);
+        }
+        if (value >= 1_000) {
+            return String.format(Locale.ROOT, "%.0fk", value / 1_000);
+        }
+        return value >= 1 ? String.format(Locale.ROOT, "%.0f", value) : String.format(Locale.ROOT, "%.3g", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
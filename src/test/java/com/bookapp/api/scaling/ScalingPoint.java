@@ -0,0 +1,54 @@
+package com.bookapp.api.scaling;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * One endpoint measured at one catalog size and summary length: a single point on a
+ * scaling curve. Latencies are in milliseconds and include reading the body; for
+ * GET /books/ they also include parsing it, as {@code getAllBooksAndAssertCount} does.
+ */
+@Getter
+@AllArgsConstructor
+public class ScalingPoint {
+
+    static final String CSV_HEADER = "series,catalog_size,summary_chars,endpoint,requests,errors,p50_ms,p99_ms,max_ms,"
+            + "throughput_per_s,mean_response_bytes,parse_allocated_bytes,failure";
+
+    // "catalog" or "summary": the dimension that varies along this curve
+    private final String series;
+    private final int catalogSize;
+    // Summary length of the books measured; 0 for the generator's default sentence
+    private final int summaryChars;
+    private final String endpoint;
+    private final long requests;
+    private final long errors;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double throughput;
+    private final long meanResponseBytes;
+    // Heap allocated on the calling thread per getAllBooksAndAssertCount; -1 for other endpoints
+    private final long parseAllocatedBytes;
+    // Why the endpoint could not be measured at this point (it fell over, or was skipped after falling over)
+    private final String failure;
+
+    @JsonIgnore
+    public boolean isMeasured() {
+        return failure == null;
+    }
+
+    String toCsv() {
+        return String.join(",", series, Integer.toString(catalogSize), Integer.toString(summaryChars), endpoint,
+                Long.toString(requests), Long.toString(errors), format(p50Millis), format(p99Millis), format(maxMillis),
+                format(throughput), Long.toString(meanResponseBytes), Long.toString(parseAllocatedBytes),
+                failure == null ? "" : '"' + failure.replace('"', '\'') + '"');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookapp.api.scaling;
+
+import com.bookapp.api.utility.AllureReports;
+import com.bookapp.api.utility.SharedObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Scaling curves collected by a {@link ScalingBenchmark}: written as CSV (one row per
+ * endpoint and point) and JSON, and published to Allure with a p99 latency and a
+ * response size chart for each curve.
+ */
+public class ScalingReport {
+
+    private final List<ScalingPoint> points = new ArrayList<>();
+
+    public synchronized void addAll(List<ScalingPoint> measured) {
+        points.addAll(measured);
+    }
+
+    public synchronized List<ScalingPoint> getPoints() {
+        return new ArrayList<>(points);
+    }
+
+    public List<ScalingPoint> getFallenOver() {
+        return getPoints().stream().filter(point -> !point.isMeasured()).collect(Collectors.toList());
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-8s %10s %8s %-16s %8s %6s %10s %10s %10s %14s %14s%n", "series", "books", "summary",
+                "endpoint", "requests", "errors", "p50 ms", "p99 ms", "req/s", "resp bytes", "parse alloc"));
+        for (ScalingPoint point : getPoints()) {
+            if (!point.isMeasured()) {
+                sb.append(String.format("%-8s %10d %8d %-16s %s%n", point.getSeries(), point.getCatalogSize(),
+                        point.getSummaryChars(), point.getEndpoint(), point.getFailure()));
+                continue;
+            }
+            sb.append(String.format("%-8s %10d %8d %-16s %8d %6d %10.1f %10.1f %10.1f %,14d %14s%n", point.getSeries(),
+                    point.getCatalogSize(), point.getSummaryChars(), point.getEndpoint(), point.getRequests(),
+                    point.getErrors(), point.getP50Millis(), point.getP99Millis(), point.getThroughput(),
+                    point.getMeanResponseBytes(), point.getParseAllocatedBytes() < 0 ? "" : String.format("%,d", point.getParseAllocatedBytes())));
+        }
+        return sb.toString();
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(ScalingPoint.CSV_HEADER).append('\n');
+        getPoints().forEach(point -> sb.append(point.toCsv()).append('\n'));
+        return sb.toString();
+    }
+
+    /** Writes scaling-curves.csv and scaling-curves.json to {@code directory}. */
+    public void write(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("scaling-curves.csv"), toCsv());
+            SharedObjectMapper.get().writerWithDefaultPrettyPrinter()
+                    .writeValue(directory.resolve("scaling-curves.json").toFile(), getPoints());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write scaling curves to " + directory, e);
+        }
+    }
+
+    public void publishToAllure() {
+        List<AllureReports.Attachment> attachments = new ArrayList<>();
+        attachments.add(text("Scaling summary", "text/plain", "txt", format()));
+        attachments.add(text("Scaling curves", "text/csv", "csv", toCsv()));
+        attachments.add(chart("p99 latency vs catalog size", "catalog", "books in catalog", "p99 ms",
+                ScalingPoint::getCatalogSize, ScalingPoint::getP99Millis));
+        attachments.add(chart("Response size vs catalog size", "catalog", "books in catalog", "bytes per response",
+                ScalingPoint::getCatalogSize, point -> point.getMeanResponseBytes()));
+        attachments.add(chart("p99 latency vs book_summary length", "summary", "summary characters", "p99 ms",
+                ScalingPoint::getSummaryChars, ScalingPoint::getP99Millis));
+        attachments.add(chart("Response size vs book_summary length", "summary", "summary characters", "bytes per response",
+                ScalingPoint::getSummaryChars, point -> point.getMeanResponseBytes()));
+        AllureReports.publish("Catalog scaling", "Latency, throughput and response size of the book endpoints as the "
+                + "catalog and book summaries grow", attachments.toArray(new AllureReports.Attachment[0]));
+    }
+
+    private AllureReports.Attachment chart(String title, String series, String xLabel, String yLabel,
+                                           ToDoubleFunction<ScalingPoint> x, ToDoubleFunction<ScalingPoint> y) {
+        Map<String, List<double[]>> curves = new LinkedHashMap<>();
+        for (ScalingPoint point : getPoints()) {
+            if (point.getSeries().equals(series) && point.isMeasured()) {
+                curves.computeIfAbsent(point.getEndpoint(), endpoint -> new ArrayList<>())
+                        .add(new double[]{x.applyAsDouble(point), y.applyAsDouble(point)});
+            }
+        }
+        return text(title, "image/svg+xml", "svg", ScalingChart.logLog(title, xLabel, yLabel, curves));
+    }
+
+    private static AllureReports.Attachment text(String name, String type, String extension, String body) {
+        return new AllureReports.Attachment(name, type, extension, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookapp.api.scaling;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuning for a {@link ScalingBenchmark}, read from the scaling.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class ScalingSettings {
+
+    // Total catalog sizes to grow through, ascending
+    private final List<Integer> catalogStages;
+    // book_summary lengths (characters) for the summary sweep, ascending; the first is the baseline
+    private final List<Integer> summarySizes;
+    private final int summaryProbeBooks;
+    // Per point and per-ID endpoint (GET and PUT /books/{id})
+    private final int requests;
+    private final int listRequests;
+    private final int concurrency;
+    private final Path outputDirectory;
+
+    public static ScalingSettings fromConfig() {
+        return new ScalingSettings(
+                ascending("scaling.catalog.stages", "1000,10000,100000,1000000"),
+                ascending("scaling.summary.sizes", "100,1000,10000,50000"),
+                ConfigLoader.getIntegerProperty("scaling.summary.probe.books", 500),
+                ConfigLoader.getIntegerProperty("scaling.requests", 200),
+                ConfigLoader.getIntegerProperty("scaling.list.requests", 5),
+                ConfigLoader.getIntegerProperty("scaling.concurrency", 8),
+                Path.of(ConfigLoader.getProperty("scaling.output.dir", "target/scaling")));
+    }
+
+    private static List<Integer> ascending(String key, String defaultValue) {
+        String spec = ConfigLoader.getProperty(key, defaultValue);
+        List<Integer> values = new ArrayList<>();
+        try {
+            for (String part : spec.split(",")) {
+                int value = Integer.parseInt(part.trim().replace("_", ""));
+                if (value <= 0 || (!values.isEmpty() && value <= values.get(values.size() - 1))) {
+                    throw new NumberFormatException();
+                }
+                values.add(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' must be ascending positive integers, was '" + spec + "'", e);
+        }
+        return values;
+    }
+}
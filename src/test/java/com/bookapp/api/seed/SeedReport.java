@@ -0,0 +1,36 @@
+package com.bookapp.api.seed;
+
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of a {@link SeedingPipeline} run.
+ */
+@Getter
+@AllArgsConstructor
+public class SeedReport {
+
+    private final String name;
+    private final long requested;
+    private final long created;
+    private final long failed;
+    private final long retries;
+    private final double elapsedSeconds;
+    private final Path output;
+
+    public double getThroughput() {
+        return elapsedSeconds > 0 ? created / elapsedSeconds : 0;
+    }
+
+    public String format() {
+        return String.format("Seeded %s: %d/%d created, %d failed, %d retries in %.1fs (%.1f/s). Output: %s",
+                name, created, requested, failed, retries, elapsedSeconds, getThroughput(), output);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Seeding report: " + name, "text/plain", format());
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookapp.api.seed;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tuning for a {@link SeedingPipeline}, read from the seed.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class SeedSettings {
+
+    private final int concurrency;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration reportInterval;
+    private final Path outputDirectory;
+
+    public static SeedSettings fromConfig() {
+        return new SeedSettings(
+                ConfigLoader.getIntegerProperty("seed.concurrency", 32),
+                ConfigLoader.getIntegerProperty("seed.queue.capacity", 1000),
+                ConfigLoader.getIntegerProperty("seed.retry.max.attempts", 5),
+                Duration.ofMillis(ConfigLoader.getLongProperty("seed.retry.base.ms", 100)),
+                Duration.ofMillis(ConfigLoader.getLongProperty("seed.retry.max.ms", 5000)),
+                Duration.ofSeconds(ConfigLoader.getLongProperty("seed.report.interval.seconds", 5)),
+                Path.of(ConfigLoader.getProperty("seed.output.dir", "target/seed")));
+    }
+}
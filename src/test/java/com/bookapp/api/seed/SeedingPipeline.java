@@ -0,0 +1,235 @@
+package com.bookapp.api.seed;
+
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.ledger.ResourceLedger;
+import com.bookapp.api.reconcile.ExpectedCatalog;
+import com.bookapp.api.resilience.Backoff;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.bookapp.api.utility.TransientFailures;
+import com.bookapp.model.book.Book;
+import com.bookapp.model.user.User;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded producer/consumer pipeline for preloading books or users.
+ * <p>
+ * One producer thread generates payloads into a bounded queue; when the workers
+ * fall behind the queue fills and the producer blocks, which is the only
+ * backpressure needed. Each worker issues a single create call per item (no
+ * verification read). Creates are not idempotent, so an item is only retried, with
+ * capped exponential backoff and full jitter, when the call certainly was not applied
+ * (see {@link TransientFailures#isSafeToRepeat}); a reset or timeout after the request
+ * went out counts as a failure rather than risking a duplicate. Whatever each call returns is appended to the output file, one
+ * line per item, as soon as it succeeds.
+ *
+ * @param <T> payload type
+ */
+public class SeedingPipeline<T> {
+
+    /** Performs the create call and returns the line to record for the item. */
+    @FunctionalInterface
+    public interface SeedAction<T> {
+        String apply(T item);
+    }
+
+    private static final Object POISON = new Object();
+
+    private final String name;
+    private final Supplier<T> generator;
+    private final SeedAction<T> action;
+    private final Predicate<Throwable> regenerateOn;
+    private final SeedSettings settings;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public SeedingPipeline(String name, Supplier<T> generator, SeedAction<T> action,
+                           Predicate<Throwable> regenerateOn, SeedSettings settings) {
+        this.name = name;
+        this.generator = generator;
+        this.action = action;
+        this.regenerateOn = regenerateOn;
+        this.settings = settings;
+    }
+
+    /**
+     * Seeds books through createBook; records one book ID per line. Seeded books are
+     * marked retained in the {@link ResourceLedger} so end-of-run cleanup leaves them alone.
+     */
+    public static SeedingPipeline<Book> books(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloads, SeedSettings settings) {
+        return books(bookApiServiceHelper, payloads, settings, null);
+    }
+
+    /** As {@link #books}, also recording each created book in {@code expected} for a later reconciliation. */
+    public static SeedingPipeline<Book> books(BookApiServiceHelper bookApiServiceHelper, Supplier<Book> payloads, SeedSettings settings,
+                                              ExpectedCatalog expected) {
+        return new SeedingPipeline<>("books", payloads,
+                book -> {
+                    Book created = SharedObjectMapper.readBook(bookApiServiceHelper.createBook(book).asByteArray());
+                    ResourceLedger.bookRetained(created.getId());
+                    if (expected != null) {
+                        expected.expectPresent(created);
+                    }
+                    return String.valueOf(created.getId());
+                },
+                failure -> false, settings);
+    }
+
+    /**
+     * Seeds users through signupUser; records "email TAB password" per line so the
+     * accounts can be logged into later. A 400 (email already registered) retries
+     * with a freshly generated user.
+     */
+    public static SeedingPipeline<User> users(BookApiServiceHelper bookApiServiceHelper, Supplier<User> users, SeedSettings settings) {
+        return new SeedingPipeline<>("users", users,
+                user -> {
+                    bookApiServiceHelper.signupUser(user);
+                    return user.getEmail() + "\t" + user.getPassword();
+                },
+                failure -> TransientFailures.statusOf(failure) == 400, settings);
+    }
+
+    public SeedReport run(long count) {
+        Path output = outputFile();
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        System.out.println("Seeding " + count + " " + name + " with " + settings.getConcurrency() + " workers into " + output);
+
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            Thread producer = new Thread(() -> produce(queue, count), "seed-" + name + "-producer");
+            producer.setDaemon(true);
+            producer.start();
+
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                Thread worker = new Thread(() -> consume(queue, writer), "seed-" + name + "-" + i);
+                worker.setDaemon(true);
+                worker.start();
+                workers.add(worker);
+            }
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "seed-" + name + "-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = settings.getReportInterval().toMillis();
+            reporter.scheduleAtFixedRate(() -> report(writer, queue, count, start), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            try {
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                producer.interrupt(); // only still running if every worker died early
+                producer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.forEach(Thread::interrupt);
+            } finally {
+                reporter.shutdownNow();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write seed output " + output, e);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new SeedReport(name, count, created.sum(), failed.sum(), retries.sum(), elapsedSeconds, output);
+    }
+
+    private void produce(BlockingQueue<Object> queue, long count) {
+        try {
+            for (long i = 0; i < count; i++) {
+                queue.put(generator.get());
+            }
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                queue.put(POISON);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void consume(BlockingQueue<Object> queue, BufferedWriter writer) {
+        try {
+            Object next;
+            while ((next = queue.take()) != POISON) {
+                String record = seedWithRetry((T) next);
+                if (record != null) {
+                    synchronized (writer) {
+                        writer.write(record);
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String seedWithRetry(T item) throws InterruptedException {
+        T current = item;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                String record = action.apply(current);
+                created.increment();
+                return record;
+            } catch (AssertionError | RuntimeException e) {
+                boolean regenerate = regenerateOn.test(e);
+                if (attempt >= settings.getMaxAttempts() || !(regenerate || TransientFailures.isSafeToRepeat(e))) {
+                    failed.increment();
+                    System.err.println("Seeding " + name + " failed after " + attempt + " attempt(s): " + e.getMessage());
+                    return null;
+                }
+                retries.increment();
+                if (regenerate) {
+                    current = generator.get();
+                } else {
+                    Thread.sleep(Backoff.fullJitterMillis(settings.getBaseBackoff(), settings.getMaxBackoff(), attempt));
+                }
+            }
+        }
+    }
+
+    private void report(BufferedWriter writer, BlockingQueue<Object> queue, long count, long start) {
+        try {
+            synchronized (writer) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Seeding " + name + ": failed to flush output: " + e.getMessage());
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long done = created.sum();
+        System.out.printf("Seeding %s: %d/%d (%.1f%%), %.1f/s, %d failed, %d retries, queue %d%n",
+                name, done, count, 100.0 * done / Math.max(1, count), done / elapsed, failed.sum(), retries.sum(), queue.size());
+    }
+
+    private Path outputFile() {
+        try {
+            Files.createDirectories(settings.getOutputDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create " + settings.getOutputDirectory(), e);
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return settings.getOutputDirectory().resolve(name + "-" + timestamp + ".txt");
+    }
+}
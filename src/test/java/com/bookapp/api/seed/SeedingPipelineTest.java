@@ -0,0 +1,112 @@
+package com.bookapp.api.seed;
+
+import com.bookapp.api.resilience.CircuitOpenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One worker, one item and no backoff; each attempt of the create call takes the next
+ * scripted failure until none are left, then succeeds.
+ */
+class SeedingPipelineTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    @DisplayName("Failures that certainly created nothing are retried until the create succeeds")
+    void retriesFailuresBeforeTheCreate() {
+        Script script = new Script(
+                new UncheckedIOException(new ConnectException("Connection refused")),
+                new AssertionError("Expected status code <200> but was <503>."),
+                new AssertionError("Expected status code <200> but was <429>."),
+                new CircuitOpenException("POST /books/", "OPEN"));
+
+        SeedReport report = run(script, 5);
+
+        assertThat(script.attempts()).hasValue(5);
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getRetries()).isEqualTo(4);
+        assertThat(report.getFailed()).isZero();
+    }
+
+    @Test
+    @DisplayName("A reset, timeout or 500 after the request went out is not retried, so a create is never duplicated")
+    void noRetryOnceTheRequestMayHaveBeenApplied() {
+        for (Throwable failure : new Throwable[]{
+                new UncheckedIOException(new SocketException("Connection reset")),
+                new UncheckedIOException(new SocketTimeoutException("Read timed out")),
+                new AssertionError("Expected status code <200> but was <500>.")}) {
+            Script script = new Script(failure);
+
+            SeedReport report = run(script, 5);
+
+            assertThat(script.attempts()).as(failure.toString()).hasValue(1);
+            assertThat(report.getCreated()).isZero();
+            assertThat(report.getFailed()).isEqualTo(1);
+            assertThat(report.getRetries()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Retries stop at seed.retry.max.attempts")
+    void retriesAreBounded() {
+        Script script = new Script(
+                new AssertionError("Expected status code <200> but was <503>."),
+                new AssertionError("Expected status code <200> but was <503>."),
+                new AssertionError("Expected status code <200> but was <503>."));
+
+        SeedReport report = run(script, 2);
+
+        assertThat(script.attempts()).hasValue(2);
+        assertThat(report.getFailed()).isEqualTo(1);
+    }
+
+    private SeedReport run(Script script, int maxAttempts) {
+        SeedSettings settings = new SeedSettings(1, 1, maxAttempts, Duration.ZERO, Duration.ZERO, Duration.ofHours(1),
+                outputDirectory);
+        return new SeedingPipeline<>("test", () -> "item", script, failure -> false, settings).run(1);
+    }
+
+    /** Throws the scripted failures in order, then succeeds; counts the attempts. */
+    private static class Script implements SeedingPipeline.SeedAction<String> {
+
+        private final Deque<Throwable> failures;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        Script(Throwable... failures) {
+            this.failures = new ArrayDeque<>(Arrays.asList(failures));
+        }
+
+        @Override
+        public String apply(String item) {
+            attempts.incrementAndGet();
+            Throwable failure = failures.poll();
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            return item;
+        }
+
+        AtomicInteger attempts() {
+            return attempts;
+        }
+    }
+}
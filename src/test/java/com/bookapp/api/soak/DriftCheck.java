@@ -0,0 +1,77 @@
+package com.bookapp.api.soak;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Trend of one metric across the soak windows.
+ * <p>
+ * The line is fitted with the Theil-Sen estimator (median of all pairwise slopes),
+ * which shrugs off the odd GC pause or slow window that would drag a least-squares
+ * fit around. The fitted change from the first to the last window, relative to the
+ * fitted start, is compared with the threshold; it must also exceed
+ * {@code minimumChange} in absolute terms, so sub-millisecond wobble on a fast
+ * endpoint is not reported as a 50% regression.
+ *
+ * @param relativeChange NaN when there are too few windows or the start is not positive
+ */
+public record DriftCheck(String metric, boolean higherIsWorse, double start, double end,
+                         double relativeChange, double threshold, double minimumChange, boolean drifting) {
+
+    static final int MIN_WINDOWS = 4;
+
+    static DriftCheck fit(String metric, List<WindowSample> windows, ToDoubleFunction<WindowSample> value,
+                          boolean higherIsWorse, double threshold, double minimumChange) {
+        int n = windows.size();
+        if (n < MIN_WINDOWS) {
+            return new DriftCheck(metric, higherIsWorse, Double.NaN, Double.NaN, Double.NaN, threshold, minimumChange, false);
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = windows.get(i).getEndSeconds();
+            y[i] = value.applyAsDouble(windows.get(i));
+        }
+        double[] slopes = new double[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (x[j] != x[i]) {
+                    slopes[k++] = (y[j] - y[i]) / (x[j] - x[i]);
+                }
+            }
+        }
+        double slope = median(Arrays.copyOf(slopes, k));
+        double[] intercepts = new double[n];
+        for (int i = 0; i < n; i++) {
+            intercepts[i] = y[i] - slope * x[i];
+        }
+        double intercept = median(intercepts);
+        double start = intercept + slope * x[0];
+        double end = intercept + slope * x[n - 1];
+        double change = start > 0 ? (end - start) / start : Double.NaN;
+        double worsening = higherIsWorse ? end - start : start - end;
+        boolean drifting = !Double.isNaN(change) && worsening / start > threshold && worsening >= minimumChange;
+        return new DriftCheck(metric, higherIsWorse, start, end, change, threshold, minimumChange, drifting);
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        Arrays.sort(values);
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+
+    String format() {
+        if (Double.isNaN(relativeChange)) {
+            return String.format("%-24s %12s %12s %9s   n/a (fewer than %d windows or no baseline)",
+                    metric, "-", "-", "-", MIN_WINDOWS);
+        }
+        return String.format("%-24s %12.3f %12.3f %+8.1f%%   %s (limit %s%.0f%%)",
+                metric, start, end, relativeChange * 100, drifting ? "DRIFTING" : "stable",
+                higherIsWorse ? "+" : "-", threshold * 100);
+    }
+}
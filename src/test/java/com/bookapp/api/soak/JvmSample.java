@@ -0,0 +1,40 @@
+package com.bookapp.api.soak;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Point-in-time view of the client JVM's heap and collector activity.
+ * <p>
+ * {@code heapAfterGcBytes} sums each heap pool's usage as of its most recent
+ * collection. Unlike the current heap usage it does not follow the allocation
+ * sawtooth, so a steady climb across windows means objects are being retained.
+ *
+ * @param gcCount     collections since JVM start, all collectors
+ * @param gcTimeMillis accumulated collection time since JVM start
+ */
+public record JvmSample(long heapUsedBytes, long heapAfterGcBytes, long heapCommittedBytes,
+                        long gcCount, long gcTimeMillis, int liveThreads) {
+
+    public static JvmSample capture() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long afterGc = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collectionUsage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && collectionUsage != null) {
+                afterGc += collectionUsage.getUsed();
+            }
+        }
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTime += Math.max(0, collector.getCollectionTime());
+        }
+        return new JvmSample(heap.getUsed(), afterGc, heap.getCommitted(), gcCount, gcTime,
+                ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+}
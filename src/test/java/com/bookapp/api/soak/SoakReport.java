@@ -0,0 +1,52 @@
+package com.bookapp.api.soak;
+
+import com.bookapp.api.load.LoadReport;
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a {@link SoakRunner} run: the load totals, one sample per window and
+ * the drift verdict for each tracked metric.
+ */
+@Getter
+@AllArgsConstructor
+public class SoakReport {
+
+    private final LoadReport load;
+    private final List<WindowSample> windows;
+    private final List<DriftCheck> drifts;
+    private final long tokenRefreshes;
+    private final long reauthentications;
+    private final Path windowsFile;
+
+    public List<DriftCheck> getDrifting() {
+        return drifts.stream().filter(DriftCheck::drifting).collect(Collectors.toList());
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder(load.format());
+        sb.append(String.format("Windows: %d (written to %s), token refreshes: %d, re-authentications after a rejected token: %d%n",
+                windows.size(), windowsFile, tokenRefreshes, reauthentications));
+        sb.append(String.format("%-24s %12s %12s %9s%n", "trend", "start", "end", "change"));
+        for (DriftCheck drift : drifts) {
+            sb.append(drift.format()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Soak report", "text/plain", format());
+        try {
+            Allure.addAttachment("Soak windows", "text/csv", Files.readString(windowsFile), ".csv");
+        } catch (IOException e) {
+            System.err.println("Could not attach " + windowsFile + ": " + e.getMessage());
+        }
+    }
+}
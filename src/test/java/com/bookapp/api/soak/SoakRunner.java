@@ -0,0 +1,184 @@
+package com.bookapp.api.soak;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.helper.BookStream;
+import com.bookapp.api.load.BookOperation;
+import com.bookapp.api.load.LoadEngine;
+import com.bookapp.api.load.LoadProfile;
+import com.bookapp.api.load.LoadReport;
+import com.bookapp.api.load.OperationMix;
+import com.bookapp.api.load.OperationStats;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a steady open-model workload for hours and samples it in fixed windows.
+ * <p>
+ * The {@link LoadEngine} runs on its own thread with a {@link TokenPool}, so tokens
+ * are refreshed before they expire and a rejected one is replaced on the spot. At
+ * the end of every window the calling thread takes the window's share of the
+ * latency histograms, probes {@code GET /books/} once for its size and latency,
+ * and samples the client JVM's heap and collectors. Each window is appended to a
+ * CSV file as it closes, so a soak that is killed still leaves its trend behind.
+ * At the end every tracked metric is checked for drift (see {@link DriftCheck}).
+ */
+public class SoakRunner {
+
+    private final LoadEngine loadEngine;
+    private final TokenPool tokenPool;
+    private final BookApiServiceHelper bookApiServiceHelper;
+    private final SoakSettings settings;
+
+    private final List<WindowSample> windows = new ArrayList<>();
+    private Map<BookOperation, OperationStats> previousStats = Map.of();
+    private JvmSample previousJvm;
+
+    public SoakRunner(LoadEngine loadEngine, TokenPool tokenPool, BookApiServiceHelper bookApiServiceHelper, SoakSettings settings) {
+        this.loadEngine = loadEngine;
+        this.tokenPool = tokenPool;
+        this.bookApiServiceHelper = bookApiServiceHelper;
+        this.settings = settings;
+    }
+
+    public SoakReport run() throws InterruptedException {
+        LoadProfile profile = LoadProfile.constant(settings.getRate(), settings.getDuration());
+        OperationMix mix = OperationMix.parse(settings.getMix());
+        Path windowsFile = windowsFile();
+        System.out.println("Starting soak: " + profile + ", " + settings.getWindow().toSeconds() + "s windows, windows file " + windowsFile);
+
+        AtomicReference<LoadReport> loadReport = new AtomicReference<>();
+        AtomicReference<Throwable> loadFailure = new AtomicReference<>();
+        Thread load = new Thread(() -> {
+            try {
+                loadReport.set(loadEngine.run(profile, mix));
+            } catch (Throwable e) {
+                loadFailure.set(e);
+            }
+        }, "soak-load");
+
+        long windowNanos = settings.getWindow().toNanos();
+        previousJvm = JvmSample.capture();
+        long start = System.nanoTime();
+        long windowStart = start;
+        load.start();
+        try (BufferedWriter writer = Files.newBufferedWriter(windowsFile)) {
+            writer.write(WindowSample.CSV_HEADER);
+            writer.newLine();
+            while (load.isAlive()) {
+                long deadline = windowStart + windowNanos;
+                long remaining;
+                while (load.isAlive() && (remaining = deadline - System.nanoTime()) > 0) {
+                    load.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                }
+                long now = System.nanoTime();
+                if (now - windowStart < windowNanos / 2) {
+                    break; // the run ended shortly into this window, too little to sample
+                }
+                WindowSample sample = sample(windows.size() + 1, (now - start) / 1e9, (now - windowStart) / 1e9);
+                windows.add(sample);
+                writer.write(sample.toCsvRow());
+                writer.newLine();
+                writer.flush();
+                System.out.println(sample.toProgressLine());
+                windowStart = now;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write soak windows to " + windowsFile, e);
+        } catch (InterruptedException e) {
+            load.interrupt();
+            throw e;
+        }
+        load.join();
+        if (loadFailure.get() != null) {
+            throw new IllegalStateException("Soak load run failed", loadFailure.get());
+        }
+        return new SoakReport(loadReport.get(), List.copyOf(windows), checkDrift(),
+                tokenPool.getScheduledRefreshes(), tokenPool.getReauthentications(), windowsFile);
+    }
+
+    private WindowSample sample(int index, double endSeconds, double lengthSeconds) {
+        Map<BookOperation, OperationStats> current = loadEngine.snapshot();
+        Histogram latency = new Histogram(3);
+        long errors = 0;
+        for (OperationStats stats : current.values()) {
+            Histogram window = stats.getResponseTime().copy();
+            errors += stats.getErrorCount();
+            OperationStats before = previousStats.get(stats.getOperation());
+            if (before != null) {
+                window.subtract(before.getResponseTime());
+                errors -= before.getErrorCount();
+            }
+            latency.add(window);
+        }
+        previousStats = current;
+
+        long catalogBooks = -1;
+        long catalogBytes = -1;
+        double catalogMillis = -1;
+        try {
+            long probeStart = System.nanoTime();
+            byte[] body = tokenPool.callAs(tokenPool.next(), () -> bookApiServiceHelper.getAllBooks().asByteArray());
+            catalogMillis = (System.nanoTime() - probeStart) / 1e6;
+            catalogBytes = body.length;
+            try (BookStream books = new BookStream(new ByteArrayInputStream(body))) {
+                catalogBooks = books.countRemaining();
+            }
+        } catch (AssertionError | RuntimeException e) {
+            System.err.println("Soak window " + index + ": catalog probe failed: " + e.getMessage());
+        }
+
+        JvmSample jvm = JvmSample.capture();
+        long gcCount = jvm.gcCount() - previousJvm.gcCount();
+        long gcMillis = jvm.gcTimeMillis() - previousJvm.gcTimeMillis();
+        previousJvm = jvm;
+
+        long requests = latency.getTotalCount();
+        return new WindowSample(index, endSeconds, requests, errors, requests / lengthSeconds,
+                latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0, latency.getMaxValue() / 1000.0,
+                catalogBooks, catalogBytes, catalogMillis, jvm, gcCount, gcMillis, lengthSeconds,
+                tokenPool.getScheduledRefreshes(), tokenPool.getReauthentications());
+    }
+
+    private List<DriftCheck> checkDrift() {
+        List<WindowSample> steady = windows.subList(Math.min(settings.getWarmupWindows(), windows.size()), windows.size());
+        List<WindowSample> probed = steady.stream().filter(window -> window.getCatalogBytes() >= 0).collect(Collectors.toList());
+        double latencyFloor = settings.getLatencyDriftFloorMillis();
+        List<DriftCheck> drifts = new ArrayList<>();
+        drifts.add(DriftCheck.fit("p50 latency (ms)", steady, WindowSample::getP50Millis, true, settings.getLatencyDrift(), latencyFloor));
+        drifts.add(DriftCheck.fit("p99 latency (ms)", steady, WindowSample::getP99Millis, true, settings.getLatencyDrift(), latencyFloor));
+        drifts.add(DriftCheck.fit("throughput (req/s)", steady, WindowSample::getThroughput, false, settings.getThroughputDrift(), 0));
+        drifts.add(DriftCheck.fit("GET /books/ size (bytes)", probed, WindowSample::getCatalogBytes, true, settings.getCatalogDrift(), 0));
+        drifts.add(DriftCheck.fit("GET /books/ latency (ms)", probed, WindowSample::getCatalogMillis, true, settings.getLatencyDrift(), latencyFloor));
+        drifts.add(DriftCheck.fit("heap after GC (MB)", steady, WindowSample::getHeapAfterGcMegabytes, true, settings.getHeapDrift(),
+                settings.getHeapDriftFloorMegabytes()));
+        // GC share is a fraction; a floor of one percentage point keeps 0.1% -> 0.3% from counting as drift
+        drifts.add(DriftCheck.fit("GC time share", steady, WindowSample::getGcShare, true, settings.getHeapDrift(), 0.01));
+        return drifts;
+    }
+
+    private Path windowsFile() {
+        try {
+            Files.createDirectories(settings.getOutputDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create " + settings.getOutputDirectory(), e);
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return settings.getOutputDirectory().resolve("windows-" + timestamp + ".csv");
+    }
+}
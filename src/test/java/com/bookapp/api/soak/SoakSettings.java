@@ -0,0 +1,52 @@
+package com.bookapp.api.soak;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tuning for a {@link SoakRunner}, read from the soak.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class SoakSettings {
+
+    private final Duration duration;
+    private final double rate;
+    private final int virtualUsers;
+    private final String mix;
+    private final Duration window;
+    // Windows at the start of the run left out of drift fitting (JIT, connection pool and cache warm-up)
+    private final int warmupWindows;
+    // Drift thresholds: the fitted change from the first to the last window, as a fraction of the first
+    private final double latencyDrift;
+    // Latency and heap drift must also exceed these absolute amounts
+    private final double latencyDriftFloorMillis;
+    private final double throughputDrift;
+    private final double catalogDrift;
+    private final double heapDrift;
+    private final double heapDriftFloorMegabytes;
+    private final double maxErrorRate;
+    private final Path outputDirectory;
+
+    public static SoakSettings fromConfig() {
+        return new SoakSettings(
+                Duration.ofSeconds(ConfigLoader.getLongProperty("soak.duration.seconds", 7200)),
+                ConfigLoader.getDoubleProperty("soak.rate", 20),
+                ConfigLoader.getIntegerProperty("soak.virtual.users", 50),
+                ConfigLoader.getProperty("soak.mix", "CREATE:10,GET_BY_ID:50,UPDATE:20,DELETE:10,GET_ALL:10"),
+                Duration.ofSeconds(ConfigLoader.getLongProperty("soak.window.seconds", 60)),
+                ConfigLoader.getIntegerProperty("soak.warmup.windows", 2),
+                ConfigLoader.getDoubleProperty("soak.drift.latency", 0.5),
+                ConfigLoader.getDoubleProperty("soak.drift.latency.floor.ms", 5),
+                ConfigLoader.getDoubleProperty("soak.drift.throughput", 0.2),
+                ConfigLoader.getDoubleProperty("soak.drift.catalog", 0.5),
+                ConfigLoader.getDoubleProperty("soak.drift.heap", 0.5),
+                ConfigLoader.getDoubleProperty("soak.drift.heap.floor.mb", 32),
+                ConfigLoader.getDoubleProperty("soak.max.error.rate", 0.01),
+                Path.of(ConfigLoader.getProperty("soak.output.dir", "target/soak")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookapp.api.soak;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Everything measured over one soak window. Latencies are response times from the
+ * intended start of each request (coordinated-omission corrected), in milliseconds.
+ * The catalog figures come from one {@code GET /books/} probe at the end of the window.
+ */
+@Getter
+@AllArgsConstructor
+public class WindowSample {
+
+    static final String CSV_HEADER = "window,end_s,requests,errors,req_per_s,p50_ms,p90_ms,p99_ms,max_ms,"
+            + "catalog_books,catalog_bytes,catalog_ms,heap_used_mb,heap_after_gc_mb,heap_committed_mb,"
+            + "gc_count,gc_ms,gc_share,threads,token_refreshes,reauthentications";
+
+    private final int index;
+    private final double endSeconds;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final long catalogBooks;
+    private final long catalogBytes;
+    private final double catalogMillis;
+    private final JvmSample jvm;
+    // Collector activity within this window only
+    private final long gcCount;
+    private final long gcMillis;
+    private final double lengthSeconds;
+    private final long tokenRefreshes;
+    private final long reauthentications;
+
+    /** Fraction of the window's wall-clock time spent in garbage collection. */
+    public double getGcShare() {
+        return lengthSeconds > 0 ? gcMillis / 1000.0 / lengthSeconds : 0;
+    }
+
+    public double getHeapAfterGcMegabytes() {
+        return jvm.heapAfterGcBytes() / 1048576.0;
+    }
+
+    String toCsvRow() {
+        return String.format(Locale.ROOT, "%d,%.1f,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%d,%d,%.3f,%.1f,%.1f,%.1f,%d,%d,%.4f,%d,%d,%d",
+                index, endSeconds, requests, errors, throughput, p50Millis, p90Millis, p99Millis, maxMillis,
+                catalogBooks, catalogBytes, catalogMillis, jvm.heapUsedBytes() / 1048576.0, getHeapAfterGcMegabytes(),
+                jvm.heapCommittedBytes() / 1048576.0, gcCount, gcMillis, getGcShare(), jvm.liveThreads(),
+                tokenRefreshes, reauthentications);
+    }
+
+    String toProgressLine() {
+        return String.format("Soak window %d (%.0fs): %d req, %d errors, %.1f req/s, p50 %.2f ms, p99 %.2f ms, "
+                        + "catalog %d books / %d bytes, heap after GC %.1f MB, GC %.2f%%",
+                index, endSeconds, requests, errors, throughput, p50Millis, p99Millis,
+                catalogBooks, catalogBytes, getHeapAfterGcMegabytes(), getGcShare() * 100);
+    }
+}
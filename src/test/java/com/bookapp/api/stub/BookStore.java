@@ -0,0 +1,98 @@
+package com.bookapp.api.stub;
+
+import com.bookapp.model.book.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent in-memory replacement for the service's SQLite tables. Books are
+ * kept in ID order so GET /books/ lists them the way the real service does.
+ * Stored books are never handed out directly, only copies.
+ */
+class BookStore {
+
+    private final ConcurrentNavigableMap<Integer, Book> books = new ConcurrentSkipListMap<>();
+    private final Map<String, byte[]> passwordDigests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBookId = new AtomicInteger(1);
+
+    /** Returns false if the email is already registered. */
+    boolean addUser(String email, String password) {
+        return passwordDigests.putIfAbsent(email, digest(password)) == null;
+    }
+
+    boolean checkPassword(String email, String password) {
+        byte[] stored = passwordDigests.get(email);
+        return stored != null && MessageDigest.isEqual(stored, digest(password));
+    }
+
+    Book create(Book book) {
+        int id = nextBookId.getAndIncrement();
+        Book stored = copy(book);
+        stored.setId(id);
+        books.put(id, stored);
+        return copy(stored);
+    }
+
+    Book get(int id) {
+        Book book = books.get(id);
+        return book == null ? null : copy(book);
+    }
+
+    List<Book> list() {
+        List<Book> result = new ArrayList<>(books.size());
+        for (Book book : books.values()) {
+            result.add(copy(book));
+        }
+        return result;
+    }
+
+    /** Replaces the book atomically; returns null if it does not exist. */
+    Book update(int id, Book changes) {
+        Book updated = books.computeIfPresent(id, (key, existing) -> {
+            Book merged = copy(existing);
+            if (changes.getName() != null) {
+                merged.setName(changes.getName());
+            }
+            if (changes.getAuthor() != null) {
+                merged.setAuthor(changes.getAuthor());
+            }
+            if (changes.getPublishedYear() != null) {
+                merged.setPublishedYear(changes.getPublishedYear());
+            }
+            if (changes.getBookSummary() != null) {
+                merged.setBookSummary(changes.getBookSummary());
+            }
+            return merged;
+        });
+        return updated == null ? null : copy(updated);
+    }
+
+    boolean delete(int id) {
+        return books.remove(id) != null;
+    }
+
+    int size() {
+        return books.size();
+    }
+
+    private static Book copy(Book book) {
+        return new Book(book.getId(), book.getName(), book.getAuthor(), book.getPublishedYear(), book.getBookSummary());
+    }
+
+    private static byte[] digest(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
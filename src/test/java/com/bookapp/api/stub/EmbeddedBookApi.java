@@ -0,0 +1,422 @@
+package com.bookapp.api.stub;
+
+import com.bookapp.api.load.VirtualThreads;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.model.book.Book;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process implementation of the book service contract (bookstore.zip) on the
+ * JDK HTTP server, for offline runs and for benchmarking the framework itself.
+ * <p>
+ * Covers /health, /signup, /login (HS256 JWT), /books CRUD and the service's
+ * 400/403/404/422 error bodies. Passwords are hashed with SHA-256 instead of
+ * bcrypt and data lives in a concurrent in-memory store. Latency and failures can
+ * be injected through the embedded.* properties.
+ * <p>
+ * Selected with {@code base.url=embedded}; {@link #shared()} starts one instance
+ * per JVM on first use.
+ */
+public class EmbeddedBookApi implements AutoCloseable {
+
+    public static final String BASE_URL_KEYWORD = "embedded";
+    private static final String DEFAULT_SECRET = "4e9350f4-76c9-4c2d-9eaf-dd68ed7ac31a";
+
+    private static volatile EmbeddedBookApi shared;
+
+    static {
+        // The JDK server writes headers and body separately; with Nagle on, the body waits for the
+        // client's delayed ACK and every response takes ~40 ms. Read once, before the first server starts.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BookStore store = new BookStore();
+    private final JwtSigner jwtSigner;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public EmbeddedBookApi(int port, long latencyMillis, long latencyJitterMillis, double errorRate, int errorStatus) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.jwtSigner = new JwtSigner(mapper, ConfigLoader.getProperty("embedded.jwt.secret", DEFAULT_SECRET),
+                Duration.ofSeconds(ConfigLoader.getLongProperty("embedded.token.ttl.seconds", 1800)));
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), ConfigLoader.getIntegerProperty("embedded.backlog", 1024));
+        this.executor = VirtualThreads.newExecutor("embedded-api", ConfigLoader.getIntegerProperty("embedded.threads", 64));
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static EmbeddedBookApi fromConfig() {
+        try {
+            return new EmbeddedBookApi(
+                    ConfigLoader.getIntegerProperty("embedded.port", 0),
+                    ConfigLoader.getLongProperty("embedded.latency.ms", 0),
+                    ConfigLoader.getLongProperty("embedded.latency.jitter.ms", 0),
+                    ConfigLoader.getDoubleProperty("embedded.error.rate", 0),
+                    ConfigLoader.getIntegerProperty("embedded.error.status", 500));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start embedded book API", e);
+        }
+    }
+
+    public static EmbeddedBookApi shared() {
+        if (shared == null) {
+            synchronized (EmbeddedBookApi.class) {
+                if (shared == null) {
+                    EmbeddedBookApi api = fromConfig();
+                    Runtime.getRuntime().addShutdownHook(new Thread(api::close, "embedded-api-shutdown"));
+                    System.out.println("Embedded book API started at " + api.getBaseUri());
+                    shared = api;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /** Maps base.url to a real URI, starting the shared stub when it is set to "embedded". */
+    public static String resolveBaseUri(String configuredBaseUrl) {
+        return BASE_URL_KEYWORD.equalsIgnoreCase(configuredBaseUrl.trim()) ? shared().getBaseUri() : configuredBaseUrl;
+    }
+
+    public String getBaseUri() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int getBookCount() {
+        return store.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // --- Routing ---
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Caught inside the resource block: once the exchange is closed the client could only see a dropped connection
+            try {
+                byte[] body = readBody(exchange.getRequestBody());
+                injectLatency();
+                if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                    send(exchange, errorStatus, detail("Injected failure"));
+                    return;
+                }
+                route(exchange, exchange.getRequestMethod(), exchange.getRequestURI().getPath(), body);
+            } catch (RuntimeException e) {
+                System.err.println("Embedded API failed on " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI() + ": " + e);
+                send(exchange, 500, detail("Internal Server Error"));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path, byte[] body) throws IOException {
+        if (path.equals("/health")) {
+            if (!method.equals("GET")) {
+                send(exchange, 405, detail("Method Not Allowed"));
+                return;
+            }
+            send(exchange, 200, mapper.createObjectNode().put("status", "up"));
+        } else if (path.equals("/signup")) {
+            requirePost(exchange, method, () -> signup(exchange, body));
+        } else if (path.equals("/login")) {
+            requirePost(exchange, method, () -> login(exchange, body));
+        } else if (path.equals("/books/")) {
+            if (!authorized(exchange)) {
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    send(exchange, 200, store.list());
+                    break;
+                case "POST":
+                    createBook(exchange, body);
+                    break;
+                default:
+                    send(exchange, 405, detail("Method Not Allowed"));
+            }
+        } else if (path.startsWith("/books/") && path.indexOf('/', "/books/".length()) < 0) {
+            if (!authorized(exchange)) {
+                return;
+            }
+            Integer bookId = parseBookId(exchange, path.substring("/books/".length()));
+            if (bookId == null) {
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    sendBookOr404(exchange, store.get(bookId));
+                    break;
+                case "PUT":
+                    updateBook(exchange, bookId, body);
+                    break;
+                case "DELETE":
+                    if (store.delete(bookId)) {
+                        send(exchange, 200, mapper.createObjectNode().put("message", "Book deleted successfully"));
+                    } else {
+                        send(exchange, 404, detail("Book not found"));
+                    }
+                    break;
+                default:
+                    send(exchange, 405, detail("Method Not Allowed"));
+            }
+        } else {
+            send(exchange, 404, detail("Not Found"));
+        }
+    }
+
+    // --- Endpoints ---
+
+    private void signup(HttpExchange exchange, byte[] body) throws IOException {
+        JsonNode json = parseJson(exchange, body);
+        if (json == null || !validate(exchange, json, Map.of("email", FieldType.STRING, "password", FieldType.STRING), false)) {
+            return;
+        }
+        if (!store.addUser(json.get("email").asText(), json.get("password").asText())) {
+            send(exchange, 400, detail("Email already registered"));
+            return;
+        }
+        send(exchange, 200, mapper.createObjectNode().put("message", "User created successfully"));
+    }
+
+    private void login(HttpExchange exchange, byte[] body) throws IOException {
+        JsonNode json = parseJson(exchange, body);
+        if (json == null || !validate(exchange, json, Map.of("email", FieldType.STRING, "password", FieldType.STRING), false)) {
+            return;
+        }
+        String email = json.get("email").asText();
+        if (!store.checkPassword(email, json.get("password").asText())) {
+            send(exchange, 400, detail("Incorrect email or password"));
+            return;
+        }
+        send(exchange, 200, mapper.createObjectNode()
+                .put("access_token", jwtSigner.issue(email))
+                .put("token_type", "bearer"));
+    }
+
+    private void createBook(HttpExchange exchange, byte[] body) throws IOException {
+        Book book = parseBook(exchange, body);
+        if (book != null) {
+            send(exchange, 200, store.create(book));
+        }
+    }
+
+    private void updateBook(HttpExchange exchange, int bookId, byte[] body) throws IOException {
+        Book book = parseBook(exchange, body);
+        if (book != null) {
+            sendBookOr404(exchange, store.update(bookId, book));
+        }
+    }
+
+    private void sendBookOr404(HttpExchange exchange, Book book) throws IOException {
+        if (book == null) {
+            send(exchange, 404, detail("Book not found"));
+        } else {
+            send(exchange, 200, book);
+        }
+    }
+
+    // --- Auth (mirrors FastAPI's HTTPBearer + JWTBearer) ---
+
+    private boolean authorized(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || header.isBlank()) {
+            send(exchange, 403, detail("Not authenticated"));
+            return false;
+        }
+        String[] parts = header.trim().split("\\s+", 2);
+        if (parts.length != 2 || !parts[0].equalsIgnoreCase("Bearer")) {
+            send(exchange, 403, detail("Invalid authentication credentials"));
+            return false;
+        }
+        if (!jwtSigner.verify(parts[1])) {
+            send(exchange, 403, detail("Invalid token or expired token"));
+            return false;
+        }
+        return true;
+    }
+
+    // --- Validation (pydantic v2 style 422 bodies) ---
+
+    private enum FieldType { STRING, INTEGER, OPTIONAL_INTEGER }
+
+    private static final Map<String, FieldType> BOOK_FIELDS = Map.of(
+            "id", FieldType.OPTIONAL_INTEGER,
+            "name", FieldType.STRING,
+            "author", FieldType.STRING,
+            "published_year", FieldType.INTEGER,
+            "book_summary", FieldType.STRING);
+
+    private static final String[] BOOK_FIELD_ORDER = {"id", "name", "author", "published_year", "book_summary"};
+
+    private Book parseBook(HttpExchange exchange, byte[] body) throws IOException {
+        JsonNode json = parseJson(exchange, body);
+        if (json == null || !validate(exchange, json, BOOK_FIELDS, true)) {
+            return null;
+        }
+        return new Book(null, json.get("name").asText(), json.get("author").asText(),
+                json.get("published_year").asInt(), json.get("book_summary").asText());
+    }
+
+    private JsonNode parseJson(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            JsonNode json = mapper.readTree(body);
+            if (json != null && json.isObject()) {
+                return json;
+            }
+            ArrayNode errors = mapper.createArrayNode();
+            errors.addObject().put("type", "model_attributes_type")
+                    .put("msg", "Input should be a valid dictionary or object to extract fields from")
+                    .set("loc", mapper.createArrayNode().add("body"));
+            send(exchange, 422, mapper.createObjectNode().set("detail", errors));
+        } catch (JsonProcessingException e) {
+            long offset = e.getLocation() != null ? e.getLocation().getCharOffset() : 0;
+            ArrayNode errors = mapper.createArrayNode();
+            ObjectNode error = errors.addObject();
+            error.put("type", "json_invalid");
+            error.set("loc", mapper.createArrayNode().add("body").add(Math.max(0, offset)));
+            error.put("msg", "JSON decode error");
+            error.set("input", mapper.createObjectNode());
+            error.set("ctx", mapper.createObjectNode().put("error", "Expecting value"));
+            send(exchange, 422, mapper.createObjectNode().set("detail", errors));
+        }
+        return null;
+    }
+
+    private boolean validate(HttpExchange exchange, JsonNode json, Map<String, FieldType> fields, boolean bookOrder) throws IOException {
+        ArrayNode errors = mapper.createArrayNode();
+        String[] order = bookOrder ? BOOK_FIELD_ORDER : fields.keySet().stream().sorted().toArray(String[]::new);
+        for (String field : order) {
+            FieldType type = fields.get(field);
+            JsonNode value = json.get(field);
+            String problem = null;
+            String message = null;
+            if (value == null) {
+                if (type != FieldType.OPTIONAL_INTEGER) {
+                    problem = "missing";
+                    message = "Field required";
+                }
+            } else if (type == FieldType.STRING && !value.isTextual()) {
+                problem = "string_type";
+                message = "Input should be a valid string";
+            } else if (type != FieldType.STRING && !(value.isNull() && type == FieldType.OPTIONAL_INTEGER) && !isLaxInteger(value)) {
+                problem = value.isTextual() ? "int_parsing" : "int_type";
+                message = value.isTextual() ? "Input should be a valid integer, unable to parse string as an integer"
+                        : "Input should be a valid integer";
+            }
+            if (problem != null) {
+                ObjectNode error = errors.addObject();
+                error.put("type", problem);
+                error.set("loc", mapper.createArrayNode().add("body").add(field));
+                error.put("msg", message);
+                error.set("input", value == null ? json : value);
+            }
+        }
+        if (errors.isEmpty()) {
+            return true;
+        }
+        send(exchange, 422, mapper.createObjectNode().set("detail", errors));
+        return false;
+    }
+
+    // pydantic's lax mode accepts integral numbers and numeric strings for int fields
+    private static boolean isLaxInteger(JsonNode value) {
+        if (value.isIntegralNumber() && value.canConvertToInt()) {
+            return true;
+        }
+        if (value.isTextual()) {
+            try {
+                Integer.parseInt(value.asText().trim());
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Integer parseBookId(HttpExchange exchange, String raw) throws IOException {
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException e) {
+            ArrayNode errors = mapper.createArrayNode();
+            ObjectNode error = errors.addObject();
+            error.put("type", "int_parsing");
+            error.set("loc", mapper.createArrayNode().add("path").add("book_id"));
+            error.put("msg", "Input should be a valid integer, unable to parse string as an integer");
+            error.put("input", raw);
+            send(exchange, 422, mapper.createObjectNode().set("detail", errors));
+            return null;
+        }
+    }
+
+    // --- Plumbing ---
+
+    private interface Handler {
+        void run() throws IOException;
+    }
+
+    private void requirePost(HttpExchange exchange, String method, Handler handler) throws IOException {
+        if (method.equals("POST")) {
+            handler.run();
+        } else {
+            send(exchange, 405, detail("Method Not Allowed"));
+        }
+    }
+
+    private ObjectNode detail(String message) {
+        return mapper.createObjectNode().put("detail", message);
+    }
+
+    private void send(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void injectLatency() {
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookapp.api.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Minimal HS256 JWT issuer/verifier matching the book service's tokens
+ * ({"sub": email, "exp": epoch seconds}). Uses the service's default secret so
+ * tokens are interchangeable between the stub and a default-configured server.
+ */
+class JwtSigner {
+
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper mapper;
+    private final byte[] secret;
+    private final Duration lifetime;
+
+    JwtSigner(ObjectMapper mapper, String secret, Duration lifetime) {
+        this.mapper = mapper;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.lifetime = lifetime;
+    }
+
+    String issue(String subject) {
+        ObjectNode claims = mapper.createObjectNode()
+                .put("sub", subject)
+                .put("exp", System.currentTimeMillis() / 1000 + lifetime.toSeconds());
+        try {
+            String signingInput = HEADER + "." + base64Url(mapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64Url(sign(signingInput));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to issue token", e);
+        }
+    }
+
+    boolean verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            byte[] expected = sign(parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(parts[2]))) {
+                return false;
+            }
+            JsonNode exp = mapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.asLong() > System.currentTimeMillis() / 1000;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private byte[] sign(String input) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+        return mac.doFinal(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookapp.api.traffic;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Recorded versus replayed latency for one endpoint template. Histogram values are
+ * time to response headers in microseconds.
+ */
+@Getter
+@AllArgsConstructor
+public class EndpointComparison {
+
+    private final String endpoint;
+    private final Histogram recorded;
+    private final Histogram replayed;
+    // Replayed status differs from the recorded one
+    private final long statusMismatches;
+    // No response at all (connection refused, timeout)
+    private final long errors;
+
+    public long getCount() {
+        return recorded.getTotalCount();
+    }
+
+    public double recordedPercentileMillis(double percentile) {
+        return recorded.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double replayedPercentileMillis(double percentile) {
+        return replayed.getTotalCount() == 0 ? Double.NaN : replayed.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Replayed over recorded at the given percentile; above 1 means the target is slower. */
+    public double ratio(double percentile) {
+        double recordedMillis = recordedPercentileMillis(percentile);
+        return recordedMillis > 0 ? replayedPercentileMillis(percentile) / recordedMillis : Double.NaN;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bookapp.api.traffic;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.Allure;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of a {@link TrafficReplayer} run: per-endpoint latency of the captured
+ * session next to the same requests replayed against the current {@code base.url}.
+ */
+@Getter
+@AllArgsConstructor
+public class ReplayReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private final Path sessionFile;
+    private final String speed;
+    private final long replayed;
+    // Signup/login records, which the replayer does not re-issue
+    private final long skipped;
+    private final long remappedIds;
+    private final double recordedSeconds;
+    private final double elapsedSeconds;
+    private final List<EndpointComparison> endpoints;
+
+    public long getStatusMismatches() {
+        return endpoints.stream().mapToLong(EndpointComparison::getStatusMismatches).sum();
+    }
+
+    public long getErrors() {
+        return endpoints.stream().mapToLong(EndpointComparison::getErrors).sum();
+    }
+
+    public double getStatusMismatchRate() {
+        return replayed == 0 ? 0 : (double) (getStatusMismatches() + getErrors()) / replayed;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Replayed %s at %s: %d requests (%d auth records skipped, %d book IDs remapped), "
+                        + "%.1fs recorded -> %.1fs replayed, %d status mismatches, %d errors%n",
+                sessionFile, speed, replayed, skipped, remappedIds, recordedSeconds, elapsedSeconds,
+                getStatusMismatches(), getErrors()));
+        sb.append(String.format("%-24s %7s %6s | %9s %9s %7s | %9s %9s %7s%n",
+                "endpoint", "count", "status", "rec p50", "new p50", "ratio", "rec p99", "new p99", "ratio"));
+        for (EndpointComparison endpoint : endpoints) {
+            sb.append(String.format("%-24s %7d %6d | %9.2f %9.2f %6.2fx | %9.2f %9.2f %6.2fx%n",
+                    endpoint.getEndpoint(), endpoint.getCount(), endpoint.getStatusMismatches() + endpoint.getErrors(),
+                    endpoint.recordedPercentileMillis(50), endpoint.replayedPercentileMillis(50), endpoint.ratio(50),
+                    endpoint.recordedPercentileMillis(99), endpoint.replayedPercentileMillis(99), endpoint.ratio(99)));
+        }
+        return sb.toString();
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode root = SharedObjectMapper.get().createObjectNode();
+        root.put("session", sessionFile.toString());
+        root.put("speed", speed);
+        root.put("replayed", replayed);
+        root.put("skipped", skipped);
+        root.put("remappedIds", remappedIds);
+        root.put("recordedSeconds", recordedSeconds);
+        root.put("elapsedSeconds", elapsedSeconds);
+        ArrayNode endpointsNode = root.putArray("endpoints");
+        for (EndpointComparison endpoint : endpoints) {
+            ObjectNode node = endpointsNode.addObject();
+            node.put("endpoint", endpoint.getEndpoint());
+            node.put("count", endpoint.getCount());
+            node.put("statusMismatches", endpoint.getStatusMismatches());
+            node.put("errors", endpoint.getErrors());
+            for (double percentile : PERCENTILES) {
+                String key = "p" + (int) percentile;
+                node.put("recorded_" + key + "_ms", endpoint.recordedPercentileMillis(percentile));
+                node.put("replayed_" + key + "_ms", endpoint.replayedPercentileMillis(percentile));
+            }
+        }
+        return root;
+    }
+
+    public void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            SharedObjectMapper.get().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write replay report " + file, e);
+        }
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Traffic replay", "text/plain", format());
+        try {
+            Allure.addAttachment("Traffic replay (JSON)", "application/json",
+                    SharedObjectMapper.get().writerWithDefaultPrettyPrinter().writeValueAsString(toJson()), "json");
+        } catch (JsonProcessingException e) {
+            System.err.println("Failed to serialise replay report: " + e.getMessage());
+        }
+    }
+}
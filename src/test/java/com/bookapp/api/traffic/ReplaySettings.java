@@ -0,0 +1,69 @@
+package com.bookapp.api.traffic;
+
+import com.bookapp.api.utility.ConfigLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Tuning for a {@link TrafficReplayer}, read from the replay.* properties.
+ */
+@Getter
+@AllArgsConstructor
+public class ReplaySettings {
+
+    private final Path sessionFile;
+    // Time scale: 1 replays at the recorded pace, 10 ten times faster, 0 as fast as possible
+    private final double speed;
+    private final int concurrency;
+    private final double maxStatusMismatchRate;
+    private final Path reportFile;
+
+    public static ReplaySettings fromConfig() {
+        Path captureDirectory = Path.of(ConfigLoader.getProperty("traffic.capture.dir", "target/traffic"));
+        String file = ConfigLoader.getProperty("replay.file", "");
+        return new ReplaySettings(
+                file.isEmpty() ? latestSession(captureDirectory) : Path.of(file),
+                parseSpeed(ConfigLoader.getProperty("replay.speed", "1x")),
+                ConfigLoader.getIntegerProperty("replay.concurrency", 64),
+                ConfigLoader.getDoubleProperty("replay.max.status.mismatch.rate", 0.01),
+                Path.of(ConfigLoader.getProperty("replay.report.file", "target/traffic/replay-report.json")));
+    }
+
+    // "1x", "10", "0.5x"; "max" or "asap" for no pacing at all
+    static double parseSpeed(String spec) {
+        String value = spec.trim().toLowerCase();
+        if (value.equals("max") || value.equals("asap")) {
+            return 0;
+        }
+        try {
+            double speed = Double.parseDouble(value.endsWith("x") ? value.substring(0, value.length() - 1) : value);
+            if (speed < 0) {
+                throw new NumberFormatException();
+            }
+            return speed;
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property 'replay.speed' must be like 1x, 10x or max, was '" + spec + "'", e);
+        }
+    }
+
+    public String describeSpeed() {
+        return speed == 0 ? "as fast as possible" : speed + "x";
+    }
+
+    private static Path latestSession(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".ndjson"))
+                    .max(Comparator.comparingLong(path -> path.toFile().lastModified()))
+                    .orElseThrow(() -> new RuntimeException("No captured session (*.ndjson) in " + directory + "; set replay.file"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list captured sessions in " + directory, e);
+        }
+    }
+}
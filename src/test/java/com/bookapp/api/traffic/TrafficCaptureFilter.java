@@ -0,0 +1,60 @@
+package com.bookapp.api.traffic;
+
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every exchange to the {@link TrafficLog} session file. Response bodies are
+ * left alone (streamed listings stay streamed) except for POSTs, whose "id" is kept
+ * so replay can remap server-assigned book IDs.
+ */
+public final class TrafficCaptureFilter implements OrderedFilter {
+
+    public static final TrafficCaptureFilter INSTANCE = new TrafficCaptureFilter();
+
+    private TrafficCaptureFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        String method = requestSpec.getMethod();
+        boolean created = "POST".equals(method) && response.statusCode() / 100 == 2;
+        TrafficLog.record(Thread.currentThread().getName(), timestamp, start, method, requestSpec.getUserDefinedPath(),
+                requestSpec.getHeaders().hasHeaderWithName("Authorization"), bodyOf(requestSpec.getBody()),
+                response.statusCode(), latencyMicros, created ? response.asByteArray() : null);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+
+    private static String bodyOf(Object body) {
+        if (body == null || body instanceof String) {
+            return (String) body;
+        }
+        if (body instanceof byte[]) {
+            return new String((byte[]) body, StandardCharsets.UTF_8);
+        }
+        try {
+            return SharedObjectMapper.get().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
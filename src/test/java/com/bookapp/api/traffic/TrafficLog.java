@@ -0,0 +1,195 @@
+package com.bookapp.api.traffic;
+
+import com.bookapp.api.metrics.EndpointTemplates;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Session capture file for {@link TrafficCaptureFilter}, enabled with
+ * {@code traffic.capture.enabled}. Records are serialized and written by one
+ * background thread. Unlike the log appender, a full queue makes the request thread
+ * wait: a replay with missing creates would be worse than a slightly slower capture.
+ * The file is opened on the first capture and flushed and closed when the JVM shuts
+ * down. Request threads only take a lock while the file is being opened; the writer
+ * thread and the shutdown hook share their own lock for the disk I/O.
+ */
+public final class TrafficLog {
+
+    private static final boolean ENABLED = ConfigLoader.getBooleanProperty("traffic.capture.enabled", false);
+    private static final Path DIRECTORY = Path.of(ConfigLoader.getProperty("traffic.capture.dir", "target/traffic"));
+    private static final int QUEUE_SIZE = ConfigLoader.getIntegerProperty("traffic.capture.queue.size", 10_000);
+    private static final int DRAIN_BATCH = 256;
+    private static final ObjectWriter WRITER = SharedObjectMapper.get().writerFor(TrafficRecord.class);
+
+    private static final BlockingQueue<TrafficRecord> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private static final AtomicLong accepted = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final Object OPEN_LOCK = new Object();
+    private static final Object WRITE_LOCK = new Object();
+    private static volatile long originNanos = -1;
+    private static volatile boolean opened;
+    private static volatile Path file;
+    private static BufferedWriter out; // guarded by WRITE_LOCK once opened
+
+    private TrafficLog() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Offset of {@code startNanos} from the first captured request, in microseconds. */
+    private static long offsetMicros(long startNanos) {
+        if (originNanos < 0) {
+            synchronized (OPEN_LOCK) {
+                if (originNanos < 0) {
+                    originNanos = startNanos;
+                }
+            }
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(startNanos - originNanos));
+    }
+
+    /**
+     * Captures one exchange. Also used by clients outside RestAssured (the async helper);
+     * {@code lane} must be the thread that issued the request, not the one completing it.
+     *
+     * @param responseBody only read for a successful POST, to keep the created ID; may be null otherwise
+     */
+    public static void record(String lane, long timestampMillis, long startNanos, String method, String path,
+                              boolean authenticated, String body, int status, long latencyMicros, byte[] responseBody) {
+        String template = EndpointTemplates.templateOf(path);
+        Integer createdId = "POST".equals(method) && status / 100 == 2 && responseBody != null ? idOf(responseBody) : null;
+        record(new TrafficRecord(timestampMillis, offsetMicros(startNanos), lane, method, template, path, authenticated,
+                TrafficRecord.isAuthentication(template) ? null : body, status, latencyMicros, createdId));
+    }
+
+    private static Integer idOf(byte[] json) {
+        try {
+            JsonNode id = SharedObjectMapper.get().readTree(json).get("id");
+            return id != null && id.canConvertToInt() ? id.intValue() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void record(TrafficRecord record) {
+        open();
+        try {
+            queue.put(record);
+            accepted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** The file this JVM captures into, or null if nothing has been captured yet. */
+    public static Path file() {
+        return file;
+    }
+
+    /** Blocks until everything captured so far is on disk, or the timeout passes. */
+    public static void flush(long timeoutMillis) {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written.get() < target && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void open() {
+        if (opened) {
+            return;
+        }
+        synchronized (OPEN_LOCK) {
+            if (opened) {
+                return;
+            }
+            Path sessionFile;
+            try {
+                Files.createDirectories(DIRECTORY);
+                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+                sessionFile = DIRECTORY.resolve("session-" + timestamp + "-" + ProcessHandle.current().pid() + ".ndjson");
+                synchronized (WRITE_LOCK) {
+                    out = Files.newBufferedWriter(sessionFile);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open traffic capture file in " + DIRECTORY, e);
+            }
+            file = sessionFile;
+            Thread writer = new Thread(TrafficLog::writeLoop, "traffic-capture-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(TrafficLog::close, "traffic-capture-close"));
+            opened = true;
+        }
+        System.out.println("Capturing traffic to " + file);
+    }
+
+    private static void writeLoop() {
+        List<TrafficRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, DRAIN_BATCH - 1);
+            write(batch, true);
+            batch.clear();
+        }
+    }
+
+    private static void write(List<TrafficRecord> records, boolean flush) {
+        synchronized (WRITE_LOCK) {
+            try {
+                for (TrafficRecord record : records) {
+                    out.write(WRITER.writeValueAsString(record));
+                    out.newLine();
+                }
+                // Flush once the queue runs dry, so a killed run loses at most what was in flight
+                if (flush && queue.isEmpty()) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                System.err.println("Traffic capture: failed to write " + records.size() + " record(s): " + e.getMessage());
+            }
+            written.addAndGet(records.size());
+        }
+    }
+
+    private static void close() {
+        synchronized (WRITE_LOCK) {
+            List<TrafficRecord> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            write(remaining, false);
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("Traffic capture: failed to close " + file + ": " + e.getMessage());
+            }
+            System.out.println("Captured " + written.get() + " exchange(s) to " + file);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookapp.api.traffic;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One captured exchange, stored as a line of NDJSON.
+ *
+ * @param timestampMillis wall-clock start of the request
+ * @param offsetMicros    start of the request relative to the first captured one; replay schedules on this
+ * @param lane            thread that issued the request; replay keeps each lane's requests in order
+ * @param template        path with numeric IDs replaced by {id}, for grouping
+ * @param authenticated   whether the request carried a bearer token
+ * @param body            request body as sent, null for /signup and /login (credentials are not captured)
+ * @param latencyMicros   time until the response headers arrived
+ * @param createdId       the "id" in a POST response, so replay can map it onto the ID the target assigns
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TrafficRecord(
+        @JsonProperty("ts") long timestampMillis,
+        @JsonProperty("offset_us") long offsetMicros,
+        @JsonProperty("lane") String lane,
+        @JsonProperty("method") String method,
+        @JsonProperty("template") String template,
+        @JsonProperty("path") String path,
+        @JsonProperty("auth") boolean authenticated,
+        @JsonProperty("body") String body,
+        @JsonProperty("status") int status,
+        @JsonProperty("latency_us") long latencyMicros,
+        @JsonProperty("created_id") Integer createdId) {
+
+    /** Signup and login are not replayed: the replayer brings its own users. */
+    @JsonIgnore
+    public boolean isAuthentication() {
+        return isAuthentication(template);
+    }
+
+    static boolean isAuthentication(String template) {
+        return template.startsWith("/signup") || template.startsWith("/login");
+    }
+}
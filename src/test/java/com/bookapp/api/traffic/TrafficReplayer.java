@@ -0,0 +1,308 @@
+package com.bookapp.api.traffic;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.ledger.ResourceLedger;
+import com.bookapp.api.load.VirtualThreads;
+import com.bookapp.api.utility.RequestHelper;
+import com.bookapp.api.utility.SharedObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Re-issues a captured session against the current {@code base.url}.
+ * <p>
+ * A dispatcher releases each record at its recorded offset divided by the speed
+ * (or immediately at speed 0). Records from the same lane, i.e. the same capturing
+ * thread, run strictly in order, so a GET never overtakes the POST that created its
+ * book even at 10x; different lanes overlap as they did when captured. When a
+ * replayed POST returns a new ID, the recorded ID is mapped onto it and rewritten
+ * in later paths and request bodies. A request naming a recorded ID also waits for
+ * the replayed POST that creates it, even when that ran in another lane (an async
+ * batch fans out over many threads, then one test thread reads and deletes). If
+ * that POST failed or returned no ID, the request is not sent and counts as an error.
+ * Signup and login records are skipped: each lane authenticates as a
+ * {@link TokenPool} session. Books the replay creates are journaled in the
+ * {@link ResourceLedger} like any others.
+ */
+public class TrafficReplayer {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/(\\d+)(?=/|$)");
+
+    private final TokenPool tokenPool;
+    private final ReplaySettings settings;
+    private final Map<Integer, Integer> bookIds = new ConcurrentHashMap<>();
+    private final Map<String, Comparison> endpoints = new ConcurrentHashMap<>();
+
+    private static final class Comparison {
+        private final Histogram recorded = new Histogram(3);
+        private final Histogram replayed = new Histogram(3);
+        private long statusMismatches;
+        private long errors;
+
+        synchronized void record(TrafficRecord record, long latencyMicros, int status) {
+            recorded.recordValue(record.latencyMicros());
+            replayed.recordValue(latencyMicros);
+            if (status != record.status()) {
+                statusMismatches++;
+            }
+        }
+
+        synchronized void failed(TrafficRecord record) {
+            recorded.recordValue(record.latencyMicros());
+            errors++;
+        }
+
+        synchronized EndpointComparison snapshot(String endpoint) {
+            return new EndpointComparison(endpoint, recorded.copy(), replayed.copy(), statusMismatches, errors);
+        }
+    }
+
+    public TrafficReplayer(TokenPool tokenPool, ReplaySettings settings) {
+        this.tokenPool = tokenPool;
+        this.settings = settings;
+    }
+
+    public static List<TrafficRecord> read(Path sessionFile) {
+        List<TrafficRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(sessionFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(SharedObjectMapper.get().readValue(line, TrafficRecord.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read captured session " + sessionFile, e);
+        }
+        records.sort(Comparator.comparingLong(TrafficRecord::offsetMicros));
+        return records;
+    }
+
+    public ReplayReport replay() {
+        List<TrafficRecord> records = read(settings.getSessionFile());
+        System.out.println("Replaying " + records.size() + " captured exchanges from " + settings.getSessionFile()
+                + " at " + settings.describeSpeed());
+        ExecutorService executor = VirtualThreads.newExecutor("replay", settings.getConcurrency());
+        Map<String, CompletableFuture<Void>> lanes = new HashMap<>();
+        Map<String, TokenPool.Session> laneSessions = new HashMap<>();
+        Map<Integer, CompletableFuture<Void>> creations = new HashMap<>();
+        AtomicLong replayed = new AtomicLong();
+        long skipped = 0;
+
+        long start = System.nanoTime();
+        try {
+            for (TrafficRecord record : records) {
+                if (record.isAuthentication()) {
+                    skipped++;
+                    continue;
+                }
+                if (settings.getSpeed() > 0) {
+                    sleepUntil(start + (long) (TimeUnit.MICROSECONDS.toNanos(record.offsetMicros()) / settings.getSpeed()));
+                }
+                TokenPool.Session session = laneSessions.computeIfAbsent(record.lane(), lane -> tokenPool.next());
+                CompletableFuture<Void> tail = lanes.getOrDefault(record.lane(), CompletableFuture.completedFuture(null));
+                List<Integer> createdIds = new ArrayList<>();
+                for (Integer recordedId : referencedIds(record)) {
+                    CompletableFuture<Void> creation = creations.get(recordedId);
+                    if (creation != null) {
+                        tail = CompletableFuture.allOf(tail, creation);
+                        createdIds.add(recordedId);
+                    }
+                }
+                CompletableFuture<Void> next = tail.thenRunAsync(() -> {
+                    execute(record, session, createdIds);
+                    replayed.incrementAndGet();
+                }, executor);
+                lanes.put(record.lane(), next);
+                if (record.createdId() != null) {
+                    creations.put(record.createdId(), next);
+                }
+            }
+            CompletableFuture.allOf(lanes.values().toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        double recordedSeconds = records.isEmpty() ? 0 : records.get(records.size() - 1).offsetMicros() / 1e6;
+        List<EndpointComparison> comparisons = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((endpoint, comparison) -> comparisons.add(comparison.snapshot(endpoint)));
+        return new ReplayReport(settings.getSessionFile(), settings.describeSpeed(), replayed.get(), skipped,
+                bookIds.size(), recordedSeconds, elapsedSeconds, comparisons);
+    }
+
+    // createdIds are the recorded IDs this record uses that a replayed POST should have mapped by now
+    private void execute(TrafficRecord record, TokenPool.Session session, List<Integer> createdIds) {
+        Comparison comparison = endpoints.computeIfAbsent(record.method() + " " + record.template(), endpoint -> new Comparison());
+        for (Integer recordedId : createdIds) {
+            if (!bookIds.containsKey(recordedId)) {
+                // Its POST failed or returned no ID; sent verbatim it could hit a book this replay does not own
+                comparison.failed(record);
+                return;
+            }
+        }
+        String path = remapPath(record.path());
+        String body = remapBody(record.body());
+        try {
+            String token = session.getToken();
+            long start = System.nanoTime();
+            Response response = send(record.method(), path, body, record.authenticated() ? token : null);
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (response.statusCode() == 403 && record.status() != 403) {
+                // Token expired during a long replay: log the lane in again and retry once
+                start = System.nanoTime();
+                response = send(record.method(), path, body, tokenPool.reauthenticate(session, token));
+                latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            }
+            byte[] responseBody = response.asByteArray(); // releases the connection
+            comparison.record(record, latencyMicros, response.statusCode());
+            if (response.statusCode() / 100 == 2) {
+                journal(record, path, body, responseBody);
+            }
+        } catch (Exception e) { // RestAssured rethrows IOExceptions (timeouts, resets) undeclared
+            comparison.failed(record);
+        }
+    }
+
+    // A null token replays the request without credentials, as it was captured
+    private static Response send(String method, String path, String body, String token) {
+        if (token == null) {
+            return withBody(given().spec(RequestHelper.getUnauthenticatedRequestSpec()), body).request(method, path);
+        }
+        RequestHelper.bindAccessToken(token);
+        try {
+            return withBody(given().spec(RequestHelper.getAuthenticatedRequestSpec()), body).request(method, path);
+        } finally {
+            RequestHelper.unbindAccessToken();
+        }
+    }
+
+    private static RequestSpecification withBody(RequestSpecification request, String body) {
+        return body != null ? request.body(body) : request;
+    }
+
+    // Maps recorded IDs onto replayed ones and keeps the ledger in step with what the replay changed
+    private void journal(TrafficRecord record, String path, String body, byte[] responseBody) {
+        String template = record.template();
+        if ("POST".equals(record.method())) {
+            Integer newId = idOf(responseBody);
+            if (record.createdId() != null && newId != null) {
+                bookIds.put(record.createdId(), newId);
+            }
+            if (template.startsWith("/books") && newId != null) {
+                ResourceLedger.bookCreated(newId, nameOf(responseBody));
+            }
+        } else if (template.startsWith("/books/{id}")) {
+            Integer bookId = lastId(path);
+            if ("DELETE".equals(record.method())) {
+                ResourceLedger.bookDeleted(bookId);
+            } else if ("PUT".equals(record.method()) && body != null) {
+                ResourceLedger.bookRenamed(bookId, nameOf(body.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    // IDs the session never created (e.g. a captured not-found probe) are replayed as recorded
+    private String remapPath(String path) {
+        Matcher matcher = NUMERIC_SEGMENT.matcher(path);
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            Integer recorded = Integer.valueOf(matcher.group(1));
+            matcher.appendReplacement(sb, "/" + bookIds.getOrDefault(recorded, recorded));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private String remapBody(String body) {
+        if (body == null || bookIds.isEmpty() || !body.contains("\"id\"")) {
+            return body;
+        }
+        try {
+            JsonNode node = SharedObjectMapper.get().readTree(body);
+            JsonNode id = node.get("id");
+            if (node instanceof ObjectNode && id != null && id.canConvertToInt() && bookIds.containsKey(id.intValue())) {
+                ((ObjectNode) node).put("id", bookIds.get(id.intValue()));
+                return SharedObjectMapper.get().writeValueAsString(node);
+            }
+        } catch (IOException e) {
+            // Not JSON (e.g. a captured malformed-body test): replay it verbatim
+        }
+        return body;
+    }
+
+    private static List<Integer> referencedIds(TrafficRecord record) {
+        List<Integer> ids = new ArrayList<>();
+        Matcher matcher = NUMERIC_SEGMENT.matcher(record.path());
+        while (matcher.find()) {
+            ids.add(Integer.valueOf(matcher.group(1)));
+        }
+        if (record.body() != null && record.body().contains("\"id\"")) {
+            Integer bodyId = idOf(record.body().getBytes(StandardCharsets.UTF_8));
+            if (bodyId != null) {
+                ids.add(bodyId);
+            }
+        }
+        return ids;
+    }
+
+    private static Integer lastId(String path) {
+        Matcher matcher = NUMERIC_SEGMENT.matcher(path);
+        Integer id = null;
+        while (matcher.find()) {
+            id = Integer.valueOf(matcher.group(1));
+        }
+        return id;
+    }
+
+    private static Integer idOf(byte[] json) {
+        JsonNode id = field(json, "id");
+        return id != null && id.canConvertToInt() ? id.intValue() : null;
+    }
+
+    private static String nameOf(byte[] json) {
+        JsonNode name = field(json, "name");
+        return name != null ? name.asText() : null;
+    }
+
+    private static JsonNode field(byte[] json, String name) {
+        try {
+            return SharedObjectMapper.get().readTree(json).get(name);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
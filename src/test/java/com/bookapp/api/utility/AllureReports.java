@@ -0,0 +1,50 @@
+package com.bookapp.api.utility;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adds run-level results (reports produced after the last test finished) to the Allure
+ * report. There is no running test to attach to at that point, so each one is written
+ * as its own result under the "Performance" suite.
+ */
+public final class AllureReports {
+
+    public record Attachment(String name, String type, String extension, byte[] body) {
+    }
+
+    private AllureReports() {
+    }
+
+    public static void publish(String name, String description, Attachment... attachments) {
+        publish(name, description, Status.PASSED, attachments);
+    }
+
+    public static void publish(String name, String description, Status status, Attachment... attachments) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setName(name)
+                .setFullName("performance." + name)
+                .setHistoryId(name)
+                .setDescription(description)
+                .setLabels(List.of(new Label().setName("suite").setValue("Performance"))));
+        lifecycle.startTestCase(uuid);
+        try {
+            for (Attachment attachment : attachments) {
+                lifecycle.addAttachment(attachment.name(), attachment.type(), attachment.extension(), attachment.body());
+            }
+            lifecycle.updateTestCase(uuid, result -> result.setStatus(status));
+        } finally {
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+    }
+}
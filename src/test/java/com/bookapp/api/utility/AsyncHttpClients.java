@@ -0,0 +1,46 @@
+package com.bookapp.api.utility;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared non-blocking {@link HttpClient} behind the async helpers.
+ * <p>
+ * The JDK client keeps HTTP/1.1 connections alive in its own pool and, with
+ * async.http.version=HTTP_2, negotiates HTTP/2 (ALPN over TLS, h2c upgrade over
+ * plain HTTP) and multiplexes concurrent requests over one connection when the
+ * server supports it, falling back to HTTP/1.1 otherwise. Its selector thread does
+ * the I/O; completions run on a small daemon pool of async.threads threads, so
+ * thousands of requests can be in flight without a thread each.
+ */
+public final class AsyncHttpClients {
+
+    private static final HttpClient SHARED = create(
+            HttpClient.Version.valueOf(ConfigLoader.getProperty("async.http.version", "HTTP_2")),
+            ConfigLoader.getIntegerProperty("async.threads", 4),
+            Duration.ofMillis(ConfigLoader.getLongProperty("async.connect.timeout.ms", 5_000)));
+
+    private AsyncHttpClients() {
+    }
+
+    public static HttpClient shared() {
+        return SHARED;
+    }
+
+    public static HttpClient create(HttpClient.Version version, int threads, Duration connectTimeout) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+}
@@ -22,14 +22,28 @@ public class ConfigLoader {
         }
     }
 
+    // System properties (-Dkey=value) take precedence over config.properties
+    private static String lookup(String key) {
+        String override = System.getProperty(key);
+        if (override != null && !override.isEmpty()) {
+            return override;
+        }
+        return properties.getProperty(key);
+    }
+
     public static String getProperty(String key) {
-        String property = properties.getProperty(key);
+        String property = lookup(key);
         if (property == null || property.isEmpty()) {
             throw new RuntimeException("Property '" + key + "' not found or is empty in " + CONFIG_FILE_NAME);
         }
         return property;
     }
 
+    public static String getProperty(String key, String defaultValue) {
+        String property = lookup(key);
+        return (property == null || property.isEmpty()) ? defaultValue : property.trim();
+    }
+
     // Optional: Method to get properties as Integer
     public static Integer getIntegerProperty(String key) {
         String property = getProperty(key);
@@ -39,4 +53,45 @@ public class ConfigLoader {
             throw new RuntimeException("Property '" + key + "' in " + CONFIG_FILE_NAME + " is not a valid integer.", e);
         }
     }
-}
\ No newline at end of file
+
+    public static int getIntegerProperty(String key, int defaultValue) {
+        String property = getProperty(key, null);
+        if (property == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(property);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' in " + CONFIG_FILE_NAME + " is not a valid integer.", e);
+        }
+    }
+
+    public static long getLongProperty(String key, long defaultValue) {
+        String property = getProperty(key, null);
+        if (property == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(property);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' in " + CONFIG_FILE_NAME + " is not a valid long.", e);
+        }
+    }
+
+    public static double getDoubleProperty(String key, double defaultValue) {
+        String property = getProperty(key, null);
+        if (property == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(property);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Property '" + key + "' in " + CONFIG_FILE_NAME + " is not a valid number.", e);
+        }
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String property = getProperty(key, null);
+        return property == null ? defaultValue : Boolean.parseBoolean(property);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookapp.api.utility;
+
+import com.bookapp.api.metrics.PhaseInterceptors;
+import com.bookapp.api.metrics.TimedSocketFactory;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.protocol.ExecutionContext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared keep-alive connection pool for every RestAssured request.
+ * <p>
+ * RestAssured builds a fresh HttpClient per request by default, each with its own
+ * connection manager, so connections are never reused and every request costs a
+ * TCP handshake and an ephemeral port. Here each request still gets its own
+ * lightweight client (RestAssured adds interceptors to the client it is given),
+ * but all of them lease connections from one explicitly sized pool. A daemon
+ * thread evicts expired and idle connections.
+ * <p>
+ * Connect and read (socket) timeouts are always set, so a server that stops
+ * answering fails the request instead of holding the thread forever.
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 still requires the HttpClient 4.2 style AbstractHttpClient
+public final class HttpConnectionPool {
+
+    private static final int MAX_TOTAL = ConfigLoader.getIntegerProperty("http.pool.max.total", 200);
+    private static final int MAX_PER_ROUTE = ConfigLoader.getIntegerProperty("http.pool.max.per.route", 100);
+    private static final long IDLE_TIMEOUT_SECONDS = ConfigLoader.getLongProperty("http.pool.idle.timeout.seconds", 30);
+    private static final int CONNECT_TIMEOUT_MS = ConfigLoader.getIntegerProperty("http.connect.timeout.ms", 5_000);
+    private static final int READ_TIMEOUT_MS = ConfigLoader.getIntegerProperty("http.read.timeout.ms", 30_000);
+    private static final long EVICTION_INTERVAL_SECONDS = ConfigLoader.getLongProperty("http.pool.eviction.interval.seconds", 5);
+
+    // Socket factories are wrapped so the latency report's connect phase is the TCP connect itself
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER =
+            new PoolingClientConnectionManager(TimedSocketFactory.wrap(SchemeRegistryFactory.createDefault()));
+
+    static {
+        CONNECTION_MANAGER.setMaxTotal(MAX_TOTAL);
+        CONNECTION_MANAGER.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }, EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private HttpConnectionPool() {
+    }
+
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .dontReuseHttpClientInstance()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, CONNECT_TIMEOUT_MS)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, READ_TIMEOUT_MS)
+                .httpClientFactory(HttpConnectionPool::newClient);
+    }
+
+    // Phase timing interceptors go on first so they see the raw entity before RestAssured wraps it.
+    // Resilience owns retries: HttpClient may only resend a request that never reached the server (stale pooled connection)
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        client.setHttpRequestRetryHandler((exception, executionCount, context) ->
+                executionCount <= 1 && !Boolean.TRUE.equals(context.getAttribute(ExecutionContext.HTTP_REQ_SENT)));
+        client.addRequestInterceptor(PhaseInterceptors.REQUEST);
+        client.addResponseInterceptor(PhaseInterceptors.RESPONSE);
+        return client;
+    }
+
+    public static PoolingClientConnectionManager getConnectionManager() {
+        return CONNECTION_MANAGER;
+    }
+
+    public static String stats() {
+        return CONNECTION_MANAGER.getTotalStats().toString();
+    }
+}
@@ -1,60 +1,154 @@
 package com.bookapp.api.utility;
 
+import com.bookapp.api.contract.ContractFilter;
+import com.bookapp.api.contract.ContractValidator;
+import com.bookapp.api.fault.FaultProxy;
+import com.bookapp.api.jfr.ApiCallFilter;
+import com.bookapp.api.logging.ExchangeCaptureFilter;
+import com.bookapp.api.logging.ExchangeLog;
+import com.bookapp.api.metrics.LatencyRegistry;
+import com.bookapp.api.metrics.TimingFilter;
+import com.bookapp.api.stub.EmbeddedBookApi;
+import com.bookapp.api.traffic.TrafficCaptureFilter;
+import com.bookapp.api.traffic.TrafficLog;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.LogDetail; // For more granular logging
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.response.Response; // Not always needed here, but kept for consistency
-import lombok.Getter;
-import lombok.Setter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RequestHelper {
 
-    public static final String BASE_URI = ConfigLoader.getProperty("base.url");
+    // base.url=embedded starts the in-process stub and points every request at it; fault.proxy.enabled puts a FaultProxy in between
+    public static final String BASE_URI = FaultProxy.wrapIfEnabled(EmbeddedBookApi.resolveBaseUri(ConfigLoader.getProperty("base.url")));
+
+    // Shared default token; a thread (virtual user) may bind its own token which then takes precedence
+    private static volatile String accessToken;
+    private static final ThreadLocal<String> boundAccessToken = new ThreadLocal<>();
 
-    @Getter
-    @Setter
-    private static String accessToken;
+    public static String getAccessToken() {
+        String bound = boundAccessToken.get();
+        return bound != null ? bound : accessToken;
+    }
+
+    // Updates the calling thread's bound token if it has one, otherwise the shared default
+    public static void setAccessToken(String token) {
+        if (boundAccessToken.get() != null) {
+            boundAccessToken.set(token);
+        } else {
+            accessToken = token;
+        }
+    }
+
+    public static void setDefaultAccessToken(String token) {
+        accessToken = token;
+    }
+
+    public static void bindAccessToken(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Cannot bind an empty access token");
+        }
+        boundAccessToken.set(token);
+    }
+
+    public static void unbindAccessToken() {
+        boundAccessToken.remove();
+    }
+
+    // Built specs are immutable once cached and are only ever merged into a request via given().spec(...)
+    private static final int MAX_CACHED_SPECS = ConfigLoader.getIntegerProperty("request.spec.cache.size", 10_000);
+    private static final Map<String, RequestSpecification> unauthenticatedSpecs = new ConcurrentHashMap<>();
+    private static final Map<SpecKey, RequestSpecification> authenticatedSpecs = new ConcurrentHashMap<>();
+
+    private record SpecKey(String baseUri, String token) {
+    }
 
     public static RequestSpecification getUnauthenticatedRequestSpec() {
-        return new RequestSpecBuilder()
-                .setBaseUri(BASE_URI)
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .log(LogDetail.ALL)
-                .build();
+        return getUnauthenticatedRequestSpec(BASE_URI);
+    }
+
+    public static RequestSpecification getUnauthenticatedRequestSpec(String baseUri) {
+        return unauthenticatedSpecs.computeIfAbsent(baseUri, uri -> baseSpecBuilder(uri).build());
     }
 
     public static RequestSpecification getAuthenticatedRequestSpec() {
+        return getAuthenticatedRequestSpec(BASE_URI);
+    }
+
+    public static RequestSpecification getAuthenticatedRequestSpec(String baseUri) {
+        String accessToken = getAccessToken();
         if (accessToken == null || accessToken.isEmpty()) {
             throw new IllegalStateException("Access Token is not set. Please log in first.");
         }
-        return new RequestSpecBuilder()
-                .setBaseUri(BASE_URI)
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addHeader("Authorization", "Bearer " + accessToken)
-                .log(LogDetail.ALL)
-                .build();
+        if (authenticatedSpecs.size() >= MAX_CACHED_SPECS) {
+            // Refreshed tokens leave stale entries behind; start over rather than grow without bound
+            authenticatedSpecs.clear();
+        }
+        return authenticatedSpecs.computeIfAbsent(new SpecKey(baseUri, accessToken), key -> baseSpecBuilder(key.baseUri())
+                .addHeader("Authorization", "Bearer " + key.token())
+                .build());
     }
 
-    public static Response logAndExtractResponse(Response response, int expectedStatusCode, boolean logAll) {
-        if (logAll) {
-            response.then().log().all();
+    private static RequestSpecBuilder baseSpecBuilder(String baseUri) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON);
+        if (ExchangeLog.isEnabled()) {
+            builder.addFilter(ExchangeCaptureFilter.INSTANCE);
         } else {
-            response.then().log().ifError();
+            builder.log(LogDetail.ALL);
         }
-        response.then().statusCode(expectedStatusCode);
-        return response;
+        if (TrafficLog.isEnabled()) {
+            builder.addFilter(TrafficCaptureFilter.INSTANCE);
+        }
+        if (ContractValidator.isEnabled()) {
+            builder.addFilter(ContractFilter.INSTANCE);
+        }
+        // Always present: a recording may be started from outside (jcmd JFR.start), and it costs a flag check until then
+        builder.addFilter(ApiCallFilter.INSTANCE);
+        if (LatencyRegistry.isEnabled()) {
+            builder.addFilter(TimingFilter.INSTANCE);
+        }
+        return builder;
+    }
+
+    public static Response logAndExtractResponse(Response response, int expectedStatusCode, boolean logAll) {
+        return logAndVerify(response, logAll, () -> response.then().statusCode(expectedStatusCode));
     }
 
     public static Response logAndExtractResponse(Response response, org.hamcrest.Matcher<Integer> statusCodeMatcher, boolean logAll) {
+        return logAndVerify(response, logAll, () -> response.then().statusCode(statusCodeMatcher));
+    }
+
+    // With log.mode=failures nothing is printed here; the exchange ring is dumped only if the status check fails
+    private static Response logAndVerify(Response response, boolean logAll, Runnable statusCheck) {
+        releaseConnection(response);
+        if (ExchangeLog.isEnabled()) {
+            ExchangeLog.attachResponseBody(response.asByteArray());
+            try {
+                statusCheck.run();
+            } catch (AssertionError e) {
+                ExchangeLog.dumpCurrentThread("Status check failed: " + e.getMessage().trim().replaceAll("\\s+", " "));
+                throw e;
+            }
+            ExchangeLog.sampleLast();
+            return response;
+        }
         if (logAll) {
             response.then().log().all();
         } else {
             response.then().log().ifError();
         }
-        response.then().statusCode(statusCodeMatcher);
+        statusCheck.run();
         return response;
     }
-}
\ No newline at end of file
+
+    // Buffers the body (RestAssured caches it) so the pooled connection goes back to the pool even if no caller reads it
+    private static void releaseConnection(Response response) {
+        response.asByteArray();
+    }
+}
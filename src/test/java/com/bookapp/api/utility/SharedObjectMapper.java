@@ -0,0 +1,72 @@
+package com.bookapp.api.utility;
+
+import com.bookapp.model.book.Book;
+import com.bookapp.model.user.AuthResponse;
+import com.bookapp.model.user.User;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The one ObjectMapper used for every request and response body.
+ * <p>
+ * Jackson caches serializers and deserializers per mapper, so handing RestAssured
+ * a new mapper per mapping threw that work away on every call. The mapper is
+ * configured once and is thread-safe from then on. Readers and writers for the
+ * models are resolved up front. Set json.mapper.blackbird=true to register the
+ * Blackbird module, which replaces reflective property access with generated
+ * lambdas.
+ */
+public final class SharedObjectMapper {
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    public static final ObjectReader BOOK_READER = MAPPER.readerFor(Book.class);
+    public static final ObjectReader BOOK_ARRAY_READER = MAPPER.readerFor(Book[].class);
+    public static final ObjectReader USER_READER = MAPPER.readerFor(User.class);
+    public static final ObjectReader AUTH_RESPONSE_READER = MAPPER.readerFor(AuthResponse.class);
+
+    public static final ObjectWriter BOOK_WRITER = MAPPER.writerFor(Book.class);
+    public static final ObjectWriter USER_WRITER = MAPPER.writerFor(User.class);
+
+    private SharedObjectMapper() {
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (ConfigLoader.getBooleanProperty("json.mapper.blackbird", false)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+
+    public static ObjectMapper get() {
+        return MAPPER;
+    }
+
+    public static Book readBook(byte[] json) {
+        return read(BOOK_READER, json);
+    }
+
+    public static Book[] readBooks(byte[] json) {
+        return read(BOOK_ARRAY_READER, json);
+    }
+
+    public static AuthResponse readAuthResponse(byte[] json) {
+        return read(AUTH_RESPONSE_READER, json);
+    }
+
+    private static <T> T read(ObjectReader reader, byte[] json) {
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse response body", e);
+        }
+    }
+}
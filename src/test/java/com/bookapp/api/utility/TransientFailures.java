@@ -0,0 +1,93 @@
+package com.bookapp.api.utility;
+
+import com.bookapp.api.resilience.CircuitOpenException;
+import io.restassured.response.Response;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies failures raised by the service helpers. Status mismatches surface as
+ * AssertionErrors from {@link RequestHelper#logAndExtractResponse}, network
+ * problems as (wrapped) IOExceptions.
+ */
+public final class TransientFailures {
+
+    // RestAssured: "Expected status code <200> but was <503>."
+    private static final Pattern ACTUAL_STATUS = Pattern.compile("but was <(\\d{3})>");
+
+    private TransientFailures() {
+    }
+
+    /** Returns the HTTP status that caused the failure, or -1 if there was none. */
+    public static int statusOf(Throwable failure) {
+        if (failure instanceof AssertionError && failure.getMessage() != null) {
+            Matcher matcher = ACTUAL_STATUS.matcher(failure.getMessage());
+            if (matcher.find()) {
+                return Integer.parseInt(matcher.group(1));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether fewer body bytes arrived than the Content-Length announced. RestAssured
+     * returns such a body as if it were complete when the connection closes early.
+     */
+    public static boolean isTruncated(Response response) {
+        String declared = response.header("Content-Length");
+        if (declared == null) {
+            return false;
+        }
+        try {
+            return response.asByteArray().length < Long.parseLong(declared.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /** 5xx, 429, I/O failures and an open circuit breaker are worth retrying; anything else will fail the same way again. */
+    public static boolean isTransient(Throwable failure) {
+        if (failure instanceof CircuitOpenException) {
+            return true;
+        }
+        int status = statusOf(failure);
+        if (status != -1) {
+            return status >= 500 || status == 429;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the failed call certainly was not applied, so even a non-idempotent create
+     * can be sent again: the connection was never established, the breaker rejected it,
+     * or the service refused it with 429/503. A reset, timeout or 500 after the request
+     * went out may follow a create that did happen.
+     */
+    public static boolean isSafeToRepeat(Throwable failure) {
+        if (failure instanceof CircuitOpenException) {
+            return true;
+        }
+        int status = statusOf(failure);
+        if (status != -1) {
+            return status == 429 || status == 503;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                    || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
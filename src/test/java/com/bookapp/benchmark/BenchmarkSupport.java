@@ -0,0 +1,21 @@
+package com.bookapp.benchmark;
+
+import com.bookapp.api.base.TestBaseSimplified;
+
+final class BenchmarkSupport {
+
+    static final String SAMPLE_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9"
+            + ".eyJzdWIiOiJiZW5jaEBleGFtcGxlLmNvbSIsImV4cCI6NDEwMjQ0NDgwMH0.c2lnbmF0dXJl";
+
+    private BenchmarkSupport() {
+    }
+
+    // Runs TestBaseSimplified's static block, which installs the suite's RestAssured config
+    static void initializeTestBase() {
+        try {
+            Class.forName(TestBaseSimplified.class.getName(), true, BenchmarkSupport.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookapp.benchmark;
+
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.model.book.Book;
+import com.bookapp.model.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data generation on the create hot path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadGenerationBenchmark {
+
+    private BookApiFactory bookApiFactory;
+
+    @Setup
+    public void setup() {
+        bookApiFactory = new BookApiFactory();
+    }
+
+    @Benchmark
+    public Book generateUniqueBookPayload() {
+        return bookApiFactory.generateUniqueBookPayload();
+    }
+
+    @Benchmark
+    public User generateUniqueUserPayload() {
+        return bookApiFactory.generateUniqueUserPayload();
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookapp.benchmark;
+
+import com.bookapp.api.utility.RequestHelper;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestSpec construction in {@link RequestHelper}, against building the spec
+ * from scratch on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestSpecBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.initializeTestBase();
+        RequestHelper.setAccessToken(BenchmarkSupport.SAMPLE_TOKEN);
+    }
+
+    @Benchmark
+    public RequestSpecification unauthenticatedSpec() {
+        return RequestHelper.getUnauthenticatedRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification authenticatedSpec() {
+        return RequestHelper.getAuthenticatedRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification authenticatedSpecUncached() {
+        return new RequestSpecBuilder()
+                .setBaseUri(RequestHelper.BASE_URI)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addHeader("Authorization", "Bearer " + BenchmarkSupport.SAMPLE_TOKEN)
+                .log(LogDetail.ALL)
+                .build();
+    }
+}
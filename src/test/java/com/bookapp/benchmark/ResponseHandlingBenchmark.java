@@ -0,0 +1,58 @@
+package com.bookapp.benchmark;
+
+import com.bookapp.api.utility.RequestHelper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestHelper#logAndExtractResponse(Response, int, boolean)} under each
+ * {@code log.mode} and both per-call logging flags. stdout is swapped for a
+ * discarding stream so the numbers show the formatting cost rather than the speed
+ * of the terminal. The mode is read once per JVM, and JMH forks per parameter set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseHandlingBenchmark {
+
+    @Param({"all", "failures"})
+    public String logMode;
+
+    @Param({"true", "false"})
+    public boolean logAll;
+
+    private PrintStream originalOut;
+    private String body;
+
+    @Setup
+    public void setup() {
+        System.setProperty("log.mode", logMode);
+        BenchmarkSupport.initializeTestBase();
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        body = "{\"id\":42,\"name\":\"The Benchmark Book 1234\",\"author\":\"Jane Doe\","
+                + "\"published_year\":1999,\"book_summary\":\"A sentence long enough to look like lorem ipsum.\"}";
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public Response logAndExtractResponse() {
+        Response response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType(ContentType.JSON)
+                .setBody(body)
+                .build();
+        return RequestHelper.logAndExtractResponse(response, 200, logAll);
+    }
+}
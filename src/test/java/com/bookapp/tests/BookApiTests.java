@@ -1,11 +1,14 @@
 package com.bookapp.tests;
 
+import com.bookapp.api.base.ResourceLocks;
+import com.bookapp.api.base.SharedTestUser;
 import com.bookapp.api.base.TestBaseSimplified;
 import com.bookapp.api.factory.BookApiFactory;
 import com.bookapp.api.utility.RequestHelper;
 import com.bookapp.model.book.Book;
-import com.bookapp.model.user.User;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
@@ -15,28 +18,32 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+/**
+ * The class signs up and logs in one user; each test binds its token to whatever
+ * thread runs it and works only on the books it created, so the class is safe to run
+ * with JUnit parallel execution (mvn test -Pparallel).
+ */
 @Epic("Book Application API Testing")
 @Feature("Book Management Operations")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class BookApiTests extends TestBaseSimplified {
 
-    private static BookApiFactory bookApiFactory;
-    private static User testUser;
-    private static List<Integer> createdBookIds;
+    private static SharedTestUser sharedUser;
+
+    private BookApiFactory bookApiFactory;
+    private final List<Integer> createdBookIds = new ArrayList<>();
 
     @BeforeAll
-    static void setupAuthenticationAndFactory() {
-        bookApiFactory = new BookApiFactory();
-        createdBookIds = new ArrayList<>();
+    static void setupAuthentication() {
+        sharedUser = SharedTestUser.signUp();
+    }
 
-        System.out.println("Setting up global test user and obtaining access token...");
-        testUser = bookApiFactory.signupUniqueUser();
-        bookApiFactory.loginAndGetToken(testUser);
-        System.out.println("Global test user setup complete. Token obtained.");
+    @BeforeEach
+    void setupFactory() {
+        bookApiFactory = new BookApiFactory();
+        sharedUser.bindToCurrentThread();
     }
 
     @Test
-    @Order(1)
     @DisplayName("Verify Health endpoint is accessible")
     @Story("Health check verifies API availability")
     @Tag("smoke")
@@ -45,10 +52,10 @@ public class BookApiTests extends TestBaseSimplified {
     }
 
     @Test
-    @Order(2)
     @DisplayName("Verify that a unique book can be created successfully by authenticated user")
     @Story("As an authenticated user, I can add new books to the system")
     @Tag("sanity")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ)
     void testCreateBookSuccessfully() {
         Book book = bookApiFactory.createAndVerifyUniqueBook();
         createdBookIds.add(book.getId()); // Store ID for cleanup
@@ -56,29 +63,51 @@ public class BookApiTests extends TestBaseSimplified {
     }
 
     @Test
-    @Order(3)
     @DisplayName("Verify all books can be retrieved by an authenticated user")
     @Story("As an authenticated user, I can view all books")
     @Tag("sanity")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ)
     void testGetAllBooksAuthenticated() {
-        if (createdBookIds.isEmpty()) {
-            Book book = bookApiFactory.createAndVerifyUniqueBook();
-            createdBookIds.add(book.getId());
-        }
-        bookApiFactory.getAllBooksAndAssertCount(1);
+        Book book = bookApiFactory.createAndVerifyUniqueBook();
+        createdBookIds.add(book.getId());
+        List<Book> books = bookApiFactory.getAllBooksAndAssertCount(1);
+        assertThat(books).extracting(Book::getId).contains(book.getId());
+    }
+
+    @Test
+    @DisplayName("Verify all books can be streamed by an authenticated user")
+    @Story("As an authenticated user, I can page through a catalog of any size")
+    @Tag("regression")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ)
+    void testStreamAllBooksAuthenticated() {
+        Book book = bookApiFactory.createAndVerifyUniqueBook();
+        createdBookIds.add(book.getId());
+        bookApiFactory.streamAllBooksAndAssertCount(1);
+        assertThat(bookApiFactory.countBooksMatching(b -> book.getId().equals(b.getId())))
+                .as("Streamed catalog should contain the created book exactly once")
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify books can be created concurrently through the async client")
+    @Story("As an authenticated user, I can add many books at once without blocking a thread per request")
+    @Tag("regression")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ)
+    void testCreateBooksConcurrentlyWithAsyncClient() {
+        List<Book> books = bookApiFactory.createBooksConcurrentlyAndVerify(20);
+        books.forEach(book -> createdBookIds.add(book.getId()));
+        assertThat(books).extracting(Book::getId).doesNotHaveDuplicates();
     }
 
     @Test
-    @Order(4)
     @DisplayName("Verify an existing book can be updated by an authenticated user")
     @Story("As an authenticated user, I can update existing book details")
     @Tag("sanity")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ)
     void testUpdateBook() {
-        if (createdBookIds.isEmpty()) {
-            Book book = bookApiFactory.createAndVerifyUniqueBook();
-            createdBookIds.add(book.getId());
-        }
-        Integer bookIdToUpdate = createdBookIds.get(0);
+        Book book = bookApiFactory.createAndVerifyUniqueBook();
+        createdBookIds.add(book.getId());
+        Integer bookIdToUpdate = book.getId();
         String newName = "Updated Name " + System.currentTimeMillis();
         Integer newPublishedYear = 2025;
         String newSummary = "Updated summary about the amazing book.";
@@ -90,7 +119,6 @@ public class BookApiTests extends TestBaseSimplified {
     }
 
     @Test
-    @Order(5)
     @DisplayName("Verify creating a book with invalid data (e.g., missing name) fails for authenticated user")
     @Story("As an authenticated user, I cannot add a book without mandatory fields")
     @Tag("regression")
@@ -99,43 +127,49 @@ public class BookApiTests extends TestBaseSimplified {
     }
 
     @Test
-    @Order(6)
     @DisplayName("Verify an existing book can be deleted by an authenticated user")
     @Story("As an authenticated user, I can remove books from the system")
     @Tag("sanity")
+    @ResourceLock(value = ResourceLocks.BOOK_IDS, mode = ResourceAccessMode.READ_WRITE)
     void testDeleteBook() {
         Book bookToDelete = bookApiFactory.createAndVerifyUniqueBook();
         bookApiFactory.deleteAndVerifyBook(bookToDelete.getId());
     }
 
     @Test
-    @Order(7)
     @DisplayName("Verify accessing authenticated endpoints without a token fails")
     @Story("As an unauthenticated user, I cannot access secured endpoints")
     @Tag("regression")
     void testAccessAuthEndpointUnauthenticated() {
-        String originalToken = RequestHelper.getAccessToken();
-        RequestHelper.setAccessToken(null); // Simulate no token
+        RequestHelper.unbindAccessToken(); // Simulate no token on this thread
         try {
             bookApiFactory.attemptAccessAuthEndpointUnauthenticated();
         } finally {
-            RequestHelper.setAccessToken(originalToken);
+            sharedUser.bindToCurrentThread();
         }
     }
 
+    @AfterEach
+    void cleanup() {
+        try {
+            bookApiFactory.verifyDeferredExpectations(); // no-op unless verify.level=deferred
+        } finally {
+            for (Integer bookId : createdBookIds) {
+                try {
+                    bookApiFactory.deleteBook(bookId);
+                    System.out.println("Cleaned up book: " + bookId);
+                } catch (AssertionError e) {
+                    System.err.println("Failed to clean up book " + bookId + ": " + e.getMessage());
+                }
+            }
+            RequestHelper.unbindAccessToken();
+        }
+    }
 
     @AfterAll
-    static void cleanup() {
-        System.out.println("Cleaning up " + createdBookIds.size() + " books...");
-        for (Integer bookId : createdBookIds) {
-            try {
-                bookApiFactory.deleteAndVerifyBook(bookId);
-                System.out.println("Cleaned up book: " + bookId);
-            } catch (AssertionError e) {
-                System.err.println("Failed to clean up book " + bookId + ": " + e.getMessage());
-            }
+    static void cleanupUser() {
+        if (sharedUser != null) {
+            sharedUser.cleanup();
         }
-        bookApiFactory.cleanupUser(testUser);
-        System.out.println("Cleanup complete.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.capacity.CapacityFinder;
+import com.bookapp.api.capacity.CapacityReport;
+import com.bookapp.api.capacity.CapacitySettings;
+import com.bookapp.api.capacity.CapacityWindow;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.OperationMix;
+import com.bookapp.api.utility.ConfigLoader;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Capacity")
+@Tag("capacity")
+@EnabledIfSystemProperty(named = "capacity.enabled", matches = "true")
+@Isolated // The search owns the service and the client for its whole run
+public class BookCapacityTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static TokenPool tokenPool;
+    private static CapacityFinder capacityFinder;
+
+    @BeforeAll
+    static void setupAuthenticationAndFinder() {
+        sharedUser = SharedTestUser.signUp();
+        BookApiFactory bookApiFactory = sharedUser.getBookApiFactory();
+
+        BookApiServiceHelper bookApiServiceHelper = new BookApiServiceHelper();
+        tokenPool = TokenPool.fromConfig(bookApiServiceHelper, bookApiFactory::generateUniqueUserPayload).initialize();
+        capacityFinder = new CapacityFinder(bookApiServiceHelper, bookApiFactory::generateUniqueBookPayload,
+                CapacitySettings.fromConfig())
+                .withTokenPool(tokenPool);
+    }
+
+    @Test
+    @DisplayName("Find the maximum throughput the book service sustains within the p99 SLO")
+    @Story("As a capacity planner, I get the knee of the throughput curve for each server build")
+    void testFindMaximumSustainableThroughput() {
+        CapacityReport report = capacityFinder.run(OperationMix.fromConfig());
+        System.out.println(report.format());
+        report.writeCsv(Path.of(ConfigLoader.getProperty("capacity.report.file", "target/capacity/capacity-windows.csv")));
+        report.attachToAllure();
+
+        CapacityWindow knee = report.getKnee().orElse(null);
+        assertThat(knee).as("Some concurrency level should meet the p99 SLO of %.0f ms",
+                report.getSettings().getSloP99Millis()).isNotNull();
+        double minThroughput = ConfigLoader.getDoubleProperty("capacity.min.throughput", 0);
+        assertThat(knee.getThroughput()).as("Throughput at the knee (req/s)").isGreaterThanOrEqualTo(minThroughput);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (capacityFinder != null) {
+            System.out.println("Cleaned up " + capacityFinder.cleanup() + " books created by the capacity search.");
+        }
+        if (tokenPool != null) {
+            tokenPool.close();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
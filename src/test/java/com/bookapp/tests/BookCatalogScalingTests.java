@@ -0,0 +1,105 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.scaling.ScalingBenchmark;
+import com.bookapp.api.scaling.ScalingPoint;
+import com.bookapp.api.scaling.ScalingReport;
+import com.bookapp.api.scaling.ScalingSettings;
+import com.bookapp.api.seed.SeedSettings;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how the list and per-book endpoints scale, first with the length of
+ * book_summary (on a few hundred probe books), then with the number of books in the
+ * catalog. GET /books/ is expected to fall over at some point; that is recorded in
+ * the curves rather than failing the run. Per-book calls must keep succeeding.
+ */
+@Epic("Book Application API Testing")
+@Feature("Catalog Scaling")
+@Tag("scaling")
+@EnabledIfSystemProperty(named = "scaling.enabled", matches = "true")
+@Isolated // Grows the shared catalog and times every call
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class BookCatalogScalingTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static ScalingSettings settings;
+    private static ScalingBenchmark benchmark;
+    private static ScalingReport report;
+
+    @BeforeAll
+    static void setupBenchmark() {
+        sharedUser = SharedTestUser.signUp();
+        BookApiServiceHelper bookApiServiceHelper = new BookApiServiceHelper();
+        settings = ScalingSettings.fromConfig();
+        benchmark = new ScalingBenchmark(sharedUser.getBookApiFactory(), bookApiServiceHelper, settings, SeedSettings.fromConfig());
+        report = new ScalingReport();
+    }
+
+    static Stream<Integer> summarySizes() {
+        return ScalingSettings.fromConfig().getSummarySizes().stream();
+    }
+
+    static Stream<Integer> catalogStages() {
+        return ScalingSettings.fromConfig().getCatalogStages().stream();
+    }
+
+    @ParameterizedTest(name = "book_summary of {0} characters")
+    @MethodSource("summarySizes")
+    @Order(1)
+    @Story("As a performance engineer, I can see how response size and latency grow with book_summary")
+    void testLatencyAsSummariesGrow(int summaryChars) {
+        assertPerBookCallsSucceeded(benchmark.sweepSummary(summaryChars));
+    }
+
+    @ParameterizedTest(name = "catalog of {0} books")
+    @MethodSource("catalogStages")
+    @Order(2)
+    @Story("As a performance engineer, I can see where the unpaged list endpoint falls over as the catalog grows")
+    void testLatencyAsCatalogGrows(int catalogSize) {
+        List<ScalingPoint> points = benchmark.growCatalogTo(catalogSize);
+        assertThat(benchmark.getCatalogSize()).as("Books in the catalog after seeding").isGreaterThanOrEqualTo(catalogSize);
+        assertPerBookCallsSucceeded(points);
+    }
+
+    private static void assertPerBookCallsSucceeded(List<ScalingPoint> points) {
+        report.addAll(points);
+        for (ScalingPoint point : points) {
+            if (!point.getEndpoint().equals(ScalingBenchmark.LIST)) {
+                assertThat(point.getErrors()).as("Failed %s calls at %d books", point.getEndpoint(), point.getCatalogSize())
+                        .isZero();
+            }
+        }
+    }
+
+    @AfterAll
+    static void publishCurves() {
+        if (benchmark != null) {
+            benchmark.removeProbes();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+        if (report == null || report.getPoints().isEmpty()) {
+            return;
+        }
+        System.out.println("Catalog scaling:\n" + report.format());
+        report.write(settings.getOutputDirectory());
+        System.out.println("Scaling curves written to " + settings.getOutputDirectory().toAbsolutePath());
+        report.publishToAllure();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.consistency.ConsistencyChecker;
+import com.bookapp.api.consistency.ConsistencyReport;
+import com.bookapp.api.consistency.ConsistencyWorkload;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.helper.AsyncBookApiServiceHelper;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Consistency")
+@Tag("consistency")
+@EnabledIfSystemProperty(named = "consistency.enabled", matches = "true")
+@Isolated // Other tests touching the same IDs would show up as unexplained writes
+public class BookConsistencyTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static BookApiFactory bookApiFactory;
+    private static ConsistencyWorkload workload;
+
+    @BeforeAll
+    static void setupAuthenticationAndWorkload() {
+        sharedUser = SharedTestUser.signUp();
+        bookApiFactory = sharedUser.getBookApiFactory();
+        workload = ConsistencyWorkload.fromConfig(new AsyncBookApiServiceHelper().withAccessToken(sharedUser.getAccessToken()),
+                bookApiFactory::generateUniqueBookPayload);
+    }
+
+    @Test
+    @DisplayName("Concurrent GET/PUT/DELETE on shared books is linearizable")
+    @Story("As a service owner, I want lost updates, stale reads and resurrected deletes caught before production")
+    void testConcurrentCrudIsLinearizable() throws InterruptedException {
+        workload.run();
+        ConsistencyReport report = ConsistencyChecker.check(workload.getHistory(), workload.getInitialValues());
+        System.out.println(report.format());
+        report.attachToAllure();
+
+        assertThat(report.getAnomalies())
+                .as("Book histories that no sequential execution explains:\n" + report.format())
+                .isEmpty();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (workload != null) {
+            workload.cleanup();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
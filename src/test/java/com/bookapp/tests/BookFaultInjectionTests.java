@@ -0,0 +1,170 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.fault.FaultProxy;
+import com.bookapp.api.fault.FaultSettings;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.resilience.CircuitBreaker;
+import com.bookapp.api.resilience.CircuitOpenException;
+import com.bookapp.api.resilience.Resilience;
+import com.bookapp.api.utility.ConfigLoader;
+import com.bookapp.api.utility.TransientFailures;
+import com.bookapp.model.book.Book;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Runs the blocking helper through the {@link FaultProxy} (the faults profile sets
+ * fault.proxy.enabled) and checks that timeouts, retries and the circuit breaker keep
+ * failures bounded. The breaker is process-wide, so the outage test runs last.
+ */
+@Epic("Book Application API Testing")
+@Feature("Client Resilience")
+@Tag("faults")
+@EnabledIfSystemProperty(named = "faults.enabled", matches = "true")
+@Isolated // Faults apply to every request in the JVM
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class BookFaultInjectionTests extends TestBaseSimplified {
+
+    private static final int DEGRADED_CALLS = ConfigLoader.getIntegerProperty("faults.calls", 200);
+    private static final long READ_TIMEOUT_MS = ConfigLoader.getLongProperty("http.read.timeout.ms", 30_000);
+    private static final int MAX_ATTEMPTS = ConfigLoader.getIntegerProperty("http.retry.max.attempts", 1);
+    private static final long MAX_BACKOFF_MS = ConfigLoader.getLongProperty("http.retry.max.ms", 1000);
+    private static final long BREAKER_OPEN_MS = ConfigLoader.getLongProperty("http.breaker.open.ms", 5000);
+
+    private static final FaultSettings DEGRADED = new FaultSettings(20, 30, 0, 0.05, 0.05);
+
+    private static FaultProxy proxy;
+    private static SharedTestUser sharedUser;
+    private static BookApiFactory bookApiFactory;
+    private static BookApiServiceHelper helper;
+    private static Book book;
+
+    @BeforeAll
+    static void setupProxyAndBook() {
+        // The first request loads RequestHelper, which starts the shared proxy
+        sharedUser = SharedTestUser.signUp();
+        bookApiFactory = sharedUser.getBookApiFactory();
+        helper = new BookApiServiceHelper();
+        proxy = FaultProxy.shared();
+        assertThat(proxy).as("The faults profile runs with fault.proxy.enabled=true").isNotNull();
+        proxy.setFaults(FaultSettings.NONE);
+        book = bookApiFactory.createAndVerifyUniqueBook();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Idempotent calls succeed and tail latency stays bounded on a lossy, jittery network")
+    @Story("As a test author, I want retries to absorb resets and truncated bodies without unbounded waits")
+    void testTailLatencyIsContainedUnderDegradedNetwork() {
+        proxy.setFaults(DEGRADED);
+        Histogram latency = new Histogram(3);
+        int failures = 0;
+        long retriesBefore = Resilience.getRetries();
+        for (int i = 0; i < DEGRADED_CALLS; i++) {
+            long start = System.nanoTime();
+            try {
+                helper.getBookById(book.getId());
+            } catch (Exception | AssertionError e) { // RestAssured rethrows IOExceptions undeclared
+                failures++;
+            }
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+        proxy.setFaults(FaultSettings.NONE);
+
+        long boundMillis = worstCaseMillis(DEGRADED.getLatencyMillis() + DEGRADED.getJitterMillis());
+        System.out.printf("Degraded network (%s): %d calls, %d failed, %d retries, p50 %.1f ms, p99 %.1f ms, max %.1f ms "
+                        + "(bound %d ms)%nProxy: %s%nClient: %s%n", DEGRADED.describe(), DEGRADED_CALLS, failures,
+                Resilience.getRetries() - retriesBefore, latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0, latency.getMaxValue() / 1000.0, boundMillis,
+                proxy.stats(), Resilience.stats());
+
+        assertThat(failures).as("GETs still failing after %d attempts", MAX_ATTEMPTS)
+                .isLessThanOrEqualTo(DEGRADED_CALLS / 100);
+        assertThat(latency.getMaxValue() / 1000).as("Slowest call (ms)").isLessThanOrEqualTo(boundMillis);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("A response slower than the read timeout fails within the retry budget instead of stalling")
+    @Story("As a test author, I want a hung server to cost a bounded amount of time per call")
+    void testSlowResponseTimesOutInsteadOfStalling() {
+        long delay = READ_TIMEOUT_MS + 1000;
+        proxy.setFaults(FaultSettings.NONE.withLatency(delay, 0));
+        long start = System.nanoTime();
+        Throwable failure;
+        try {
+            failure = catchThrowable(() -> helper.getBookById(book.getId()));
+        } finally {
+            proxy.setFaults(FaultSettings.NONE);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("Stalled server: failed after " + elapsedMillis + " ms with " + failure);
+
+        assertThat(failure).as("Call against a stalled server").isNotNull();
+        assertThat(TransientFailures.isTransient(failure)).as("Timeout is classified as transient").isTrue();
+        assertThat(elapsedMillis).as("Time spent on a stalled call (ms)").isLessThanOrEqualTo(worstCaseMillis(0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("The circuit breaker fails fast during an outage and closes again once the service recovers")
+    @Story("As a test author, I want an outage to fail calls immediately rather than each one timing out")
+    void testCircuitBreakerFailsFastDuringOutageAndRecovers() throws InterruptedException {
+        CircuitBreaker breaker = Resilience.getBreaker();
+        Assumptions.assumeTrue(breaker != null, "http.breaker.enabled=false");
+        proxy.setFaults(FaultSettings.NONE.withResetRate(1.0));
+        Throwable rejection = null;
+        for (int i = 0; i < 100 && rejection == null; i++) {
+            Throwable failure = catchThrowable(() -> helper.getBookById(book.getId()));
+            if (failure instanceof CircuitOpenException) {
+                rejection = failure;
+            }
+        }
+        assertThat(rejection).as("Breaker should open while every connection is reset").isNotNull();
+
+        long start = System.nanoTime();
+        assertThat(catchThrowable(() -> helper.getBookById(book.getId()))).isInstanceOf(CircuitOpenException.class);
+        long rejectMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        System.out.println("Outage: " + rejection.getMessage() + "; a rejected call took " + rejectMicros + " us");
+
+        proxy.setFaults(FaultSettings.NONE);
+        TimeUnit.MILLISECONDS.sleep(BREAKER_OPEN_MS + 100);
+        for (int i = 0; i < 10 && breaker.getState() != CircuitBreaker.State.CLOSED; i++) {
+            helper.getBookById(book.getId());
+        }
+        System.out.println("Recovered: " + Resilience.stats());
+        assertThat(rejectMicros).as("Rejected call (us)").isLessThan(TimeUnit.MILLISECONDS.toMicros(50));
+        assertThat(breaker.getState()).as("Breaker after the service recovered").isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    // Every attempt may wait out the read timeout plus the injected delay, and back off in between
+    private static long worstCaseMillis(long injectedDelayMillis) {
+        return MAX_ATTEMPTS * (READ_TIMEOUT_MS + injectedDelayMillis) + (MAX_ATTEMPTS - 1) * MAX_BACKOFF_MS + 1000;
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (proxy != null) {
+            proxy.setFaults(FaultSettings.NONE);
+        }
+        if (book != null) {
+            bookApiFactory.deleteBook(book.getId());
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
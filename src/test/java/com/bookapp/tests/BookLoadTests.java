@@ -0,0 +1,75 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.LoadEngine;
+import com.bookapp.api.load.LoadProfile;
+import com.bookapp.api.load.LoadReport;
+import com.bookapp.api.load.OperationMix;
+import com.bookapp.api.utility.ConfigLoader;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Load")
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+@Isolated // Latency numbers are meaningless if functional tests share the JVM
+public class BookLoadTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static BookApiFactory bookApiFactory;
+    private static TokenPool tokenPool;
+    private static LoadEngine loadEngine;
+
+    @BeforeAll
+    static void setupAuthenticationAndEngine() {
+        sharedUser = SharedTestUser.signUp();
+        bookApiFactory = sharedUser.getBookApiFactory();
+
+        BookApiServiceHelper bookApiServiceHelper = new BookApiServiceHelper();
+        tokenPool = TokenPool.fromConfig(bookApiServiceHelper, bookApiFactory::generateUniqueUserPayload).initialize();
+
+        loadEngine = new LoadEngine(bookApiServiceHelper, bookApiFactory::generateUniqueBookPayload,
+                ConfigLoader.getIntegerProperty("load.virtual.users", 200))
+                .withProgressInterval(ConfigLoader.getLongProperty("load.report.interval.seconds", 10))
+                .withDrainTimeout(ConfigLoader.getLongProperty("load.drain.timeout.seconds", 60))
+                .withTokenPool(tokenPool);
+    }
+
+    @Test
+    @DisplayName("Book service sustains the configured arrival rate within the error budget")
+    @Story("As a release owner, I can verify the book service holds up under production-like traffic")
+    void testSustainedArrivalRate() {
+        LoadReport report = loadEngine.run(LoadProfile.fromConfig(), OperationMix.fromConfig());
+        System.out.println(report.format());
+        report.attachToAllure();
+
+        double maxErrorRate = ConfigLoader.getDoubleProperty("load.max.error.rate", 0.01);
+        assertThat(report.getErrorRate())
+                .as("Error rate should stay within " + maxErrorRate)
+                .isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (loadEngine != null) {
+            System.out.println("Cleaned up " + loadEngine.cleanup() + " books created by the load run.");
+        }
+        if (tokenPool != null) {
+            tokenPool.close();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.perf.GateReport;
+import com.bookapp.api.perf.PerfGateSettings;
+import com.bookapp.api.perf.PerfResult;
+import com.bookapp.api.perf.PerformanceProbe;
+import com.bookapp.api.perf.RegressionGate;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Performance Regression")
+@Tag("perf")
+@EnabledIfSystemProperty(named = "perf.gate.enabled", matches = "true")
+@Isolated // Other tests hitting the service at the same time would skew the measurement
+public class BookPerformanceGateTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static BookApiFactory bookApiFactory;
+    private static PerfGateSettings settings;
+
+    @BeforeAll
+    static void setupAuthentication() {
+        sharedUser = SharedTestUser.signUp();
+        bookApiFactory = sharedUser.getBookApiFactory();
+        settings = PerfGateSettings.fromConfig();
+    }
+
+    @Test
+    @DisplayName("Book operations stay within tolerance of the performance baseline")
+    @Story("As a release owner, I want a slower book service to fail the build even when every functional test passes")
+    void testNoPerformanceRegression() {
+        PerfResult current = new PerformanceProbe(new BookApiServiceHelper(),
+                bookApiFactory::generateUniqueBookPayload, settings).run();
+        current.write(settings.getResultFile());
+        System.out.println("Performance result written to " + settings.getResultFile().toAbsolutePath());
+
+        if (settings.isUpdateBaseline()) {
+            current.write(settings.getBaselineFile());
+            String message = "Recorded a new performance baseline at " + settings.getBaselineFile().toAbsolutePath()
+                    + "; nothing to compare against on this run.";
+            System.out.println(message);
+            Allure.addAttachment("Performance baseline", "text/plain", message);
+            return;
+        }
+        // A baseline recorded on the spot could never fail, so a missing one fails the gate instead
+        assertThat(settings.getBaselineFile())
+                .as("No performance baseline at %s; record one with -Dperf.baseline.update=true and check it in",
+                        settings.getBaselineFile().toAbsolutePath())
+                .exists();
+
+        PerfResult baseline = PerfResult.read(settings.getBaselineFile());
+        assertThat(current.getBaseUri())
+                .as("The baseline at %s was recorded against %s; re-record it against this target with -Dperf.baseline.update=true",
+                        settings.getBaselineFile(), baseline.getBaseUri())
+                .isEqualTo(baseline.getBaseUri());
+
+        GateReport report = new RegressionGate(settings).compare(baseline, current);
+        System.out.println(report.format());
+        report.attachToAllure();
+
+        assertThat(report.hasRegressions())
+                .as("Performance regressed against " + settings.getBaselineFile() + ":\n" + report.formatRegressions())
+                .isFalse();
+        assertThat(report.isInconclusive())
+                .as("Too noisy to judge; rerun on a quieter machine or raise perf.iterations:\n" + report.formatInconclusive())
+                .isFalse();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.factory.TestDataGenerator;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.reconcile.ExpectedCatalog;
+import com.bookapp.api.reconcile.ReconciliationReport;
+import com.bookapp.api.seed.SeedReport;
+import com.bookapp.api.seed.SeedSettings;
+import com.bookapp.api.seed.SeedingPipeline;
+import com.bookapp.api.utility.ConfigLoader;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Bulk Data Seeding")
+@Tag("seed")
+@EnabledIfSystemProperty(named = "seed.enabled", matches = "true")
+@Isolated
+public class BookSeedingTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static BookApiFactory bookApiFactory;
+    private static BookApiServiceHelper bookApiServiceHelper;
+    private static final boolean RECONCILE = ConfigLoader.getBooleanProperty("seed.reconcile", true);
+
+    private static SeedSettings seedSettings;
+
+    @BeforeAll
+    static void setupAuthenticationAndSettings() {
+        sharedUser = SharedTestUser.signUp();
+        bookApiFactory = sharedUser.getBookApiFactory();
+        bookApiServiceHelper = new BookApiServiceHelper();
+        seedSettings = SeedSettings.fromConfig();
+    }
+
+    @Test
+    @DisplayName("Seed the configured number of users")
+    @Story("As a performance engineer, I can preload thousands of users")
+    void testSeedUsers() {
+        long count = ConfigLoader.getLongProperty("seed.users", 100);
+        SeedReport report = SeedingPipeline.users(bookApiServiceHelper, bookApiFactory::generateUniqueUserPayload, seedSettings).run(count);
+        System.out.println(report.format());
+        report.attachToAllure();
+        assertThat(report.getFailed()).as("No user should fail to seed").isZero();
+    }
+
+    @Test
+    @DisplayName("Seed the configured number of books")
+    @Story("As a performance engineer, I can preload a production-sized catalog")
+    void testSeedBooks() {
+        long count = ConfigLoader.getLongProperty("seed.books", 1000);
+        ExpectedCatalog expected = RECONCILE ? new ExpectedCatalog((int) Math.min(count, Integer.MAX_VALUE)) : null;
+        SeedReport report = SeedingPipeline.books(bookApiServiceHelper, bookApiFactory::generateUniqueBookPayload, seedSettings, expected).run(count);
+        System.out.println(report.format());
+        report.attachToAllure();
+        assertThat(report.getFailed()).as("No book should fail to seed").isZero();
+
+        if (expected != null) {
+            // Extras are only reported: a fixed data.run.id also claims books seeded by earlier runs
+            ReconciliationReport reconciliation = expected.reconcile(bookApiServiceHelper.streamAllBooks(), TestDataGenerator.shared()::generated);
+            System.out.println(reconciliation.format());
+            reconciliation.attachToAllure();
+            assertThat(reconciliation.getMissing()).as("Seeded books missing from GET /books/").isZero();
+            assertThat(reconciliation.getMismatched()).as("Seeded books listed with other content").isZero();
+        }
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
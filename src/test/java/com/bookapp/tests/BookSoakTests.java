@@ -0,0 +1,78 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.factory.BookApiFactory;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.load.LoadEngine;
+import com.bookapp.api.soak.SoakReport;
+import com.bookapp.api.soak.SoakRunner;
+import com.bookapp.api.soak.SoakSettings;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Endurance")
+@Tag("soak")
+@EnabledIfSystemProperty(named = "soak.enabled", matches = "true")
+@Isolated // Heap and latency trends are meaningless if functional tests share the JVM
+public class BookSoakTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static SoakSettings settings;
+    private static TokenPool tokenPool;
+    private static LoadEngine loadEngine;
+    private static SoakRunner soakRunner;
+
+    @BeforeAll
+    static void setupAuthenticationAndRunner() {
+        sharedUser = SharedTestUser.signUp();
+        BookApiFactory bookApiFactory = sharedUser.getBookApiFactory();
+
+        settings = SoakSettings.fromConfig();
+        BookApiServiceHelper bookApiServiceHelper = new BookApiServiceHelper();
+        tokenPool = TokenPool.fromConfig(bookApiServiceHelper, bookApiFactory::generateUniqueUserPayload).initialize();
+        loadEngine = new LoadEngine(bookApiServiceHelper, bookApiFactory::generateUniqueBookPayload, settings.getVirtualUsers())
+                .withProgressInterval(0) // the soak prints one line per window instead
+                .withTokenPool(tokenPool);
+        soakRunner = new SoakRunner(loadEngine, tokenPool, bookApiServiceHelper, settings);
+    }
+
+    @Test
+    @DisplayName("Book service holds steady latency, throughput and payload size over a long run")
+    @Story("As a release owner, I can see slow leaks in the service or the client before they reach production")
+    void testSteadyStateOverTime() throws InterruptedException {
+        SoakReport report = soakRunner.run();
+        System.out.println(report.format());
+        report.attachToAllure();
+
+        assertThat(report.getLoad().getErrorRate())
+                .as("Error rate should stay within " + settings.getMaxErrorRate())
+                .isLessThanOrEqualTo(settings.getMaxErrorRate());
+        assertThat(report.getDrifting())
+                .as("Metrics drifting over the soak:\n" + report.format())
+                .isEmpty();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (loadEngine != null) {
+            // The token from setup has long expired by now
+            sharedUser.login();
+            System.out.println("Cleaned up " + loadEngine.cleanup() + " books created by the soak.");
+        }
+        if (tokenPool != null) {
+            tokenPool.close();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}
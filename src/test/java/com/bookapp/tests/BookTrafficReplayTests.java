@@ -0,0 +1,61 @@
+package com.bookapp.tests;
+
+import com.bookapp.api.auth.TokenPool;
+import com.bookapp.api.base.SharedTestUser;
+import com.bookapp.api.base.TestBaseSimplified;
+import com.bookapp.api.helper.BookApiServiceHelper;
+import com.bookapp.api.traffic.ReplayReport;
+import com.bookapp.api.traffic.ReplaySettings;
+import com.bookapp.api.traffic.TrafficReplayer;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("Book Application API Testing")
+@Feature("Book Service Traffic Replay")
+@Tag("replay")
+@EnabledIfSystemProperty(named = "replay.enabled", matches = "true")
+@Isolated // Latency comparisons are meaningless if functional tests share the JVM
+public class BookTrafficReplayTests extends TestBaseSimplified {
+
+    private static SharedTestUser sharedUser;
+    private static ReplaySettings settings;
+    private static TokenPool tokenPool;
+
+    @BeforeAll
+    static void setupAuthentication() {
+        sharedUser = SharedTestUser.signUp();
+
+        settings = ReplaySettings.fromConfig();
+        tokenPool = TokenPool.fromConfig(new BookApiServiceHelper(), sharedUser.getBookApiFactory()::generateUniqueUserPayload).initialize();
+    }
+
+    @Test
+    @DisplayName("Captured traffic replays against the current build with matching statuses")
+    @Story("As a release owner, I can replay real traffic against a new build and compare latency profiles")
+    void testReplayCapturedSession() {
+        ReplayReport report = new TrafficReplayer(tokenPool, settings).replay();
+        System.out.println(report.format());
+        report.write(settings.getReportFile());
+        report.attachToAllure();
+
+        assertThat(report.getStatusMismatchRate())
+                .as("Replayed requests answered differently from the capture:\n" + report.format())
+                .isLessThanOrEqualTo(settings.getMaxStatusMismatchRate());
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (tokenPool != null) {
+            tokenPool.close();
+        }
+        if (sharedUser != null) {
+            sharedUser.cleanup();
+        }
+    }
+}